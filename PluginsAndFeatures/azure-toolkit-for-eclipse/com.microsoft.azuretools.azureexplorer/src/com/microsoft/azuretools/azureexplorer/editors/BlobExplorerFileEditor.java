@@ -30,10 +30,8 @@ import static com.microsoft.azuretools.telemetry.TelemetryConstants.BLOB_UPLOAD;
 import static com.microsoft.azuretools.telemetry.TelemetryConstants.STORAGE;
 
 import com.microsoft.tooling.msservices.serviceexplorer.WrappedTelemetryNodeActionListener;
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -676,7 +674,6 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                 monitor.beginTask("Uploading blob...", IProgressMonitor.UNKNOWN);
                 try {
                     final BlobDirectory blobDirectory = directoryQueue.peekLast();
-                    final BufferedInputStream bufferedInputStream = new BufferedInputStream(new FileInputStream(selectedFile));
                     monitor.subTask("0% uploaded");
                     try {
                         final CallableSingleArg<Void, Long> callable = new CallableSingleArg<Void, Long>() {
@@ -695,17 +692,10 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
                                     connectionString,
                                     blobContainer,
                                     path,
-                                    bufferedInputStream,
-                                    callable,
-                                    1024 * 1024,
-                                    selectedFile.length());
+                                    selectedFile,
+                                    callable);
                         } catch (AzureCmdException e) {
                             e.printStackTrace();
-                        } finally {
-                            try {
-                                bufferedInputStream.close();
-                            } catch (IOException ignored) {
-                            }
                         }
 //                        while (!future.isDone()) {
 //                            Thread.sleep(500);
@@ -713,7 +703,6 @@ public class BlobExplorerFileEditor extends EditorPart implements TelemetryPrope
 
                         if (monitor.isCanceled()) {
 //                                future.cancel(true);
-                            bufferedInputStream.close();
 
                             for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, blobDirectory)) {
                                 if (blobItem instanceof BlobFile && blobItem.getPath().equals(path)) {
@@ -27,12 +27,14 @@ import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
 import com.microsoft.azuretools.azureexplorer.Activator;
 import com.microsoft.azuretools.core.components.AzureListenerWrapper;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisValueData;
 import com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache.RedisExplorerMvpView;
 import com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache.RedisExplorerPresenter;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Comparator;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.swt.SWT;
@@ -75,6 +77,9 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     // Local variables
     private String currentCursor;
     private String lastChosenKey;
+    private boolean hasMoreValue;
+    // the keys shown in the key list, whose items also show the key metadata
+    private final java.util.List<String> shownKeys = new ArrayList<String>();
 
     // Constants
     private static final String[] LIST_TITLE = new String[] { "Index", "Item" };
@@ -85,6 +90,8 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     private static final String DEFAULT_SCAN_PATTERN = "*";
     private static final String ACTION_GET = "GET";
     private static final String ACTION_SCAN = "SCAN";
+    private static final String[] SCAN_COUNTS = new String[] { "50", "500", "1000", "10000" };
+    private static final String KEY_ITEM_FORMAT = "%s  (%s)";
 
     private static final int NO_MARGIN = 0;
     private static final int PROGRESS_MARGIN_TOP = 2;
@@ -95,12 +102,18 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     private Combo cbDatabase;
     private Text txtKeyPattern;
     private Button btnSearch;
+    private Combo cbScanCount;
     private List lstKey;
     private Composite cmpoInnerValue;
     private Composite cmpoStringValue;
     private Table tblInnerValue;
     private Text txtStringValue;
     private Button btnScanMoreKey;
+    private Button btnLoadMoreValue;
+    private Composite cmpoScoreRange;
+    private Text txtMinScore;
+    private Text txtMaxScore;
+    private Button btnFilterScore;
     private Combo cbActionType;
     private ProgressBar progressBar;
     private Label lblKeyValue;
@@ -164,6 +177,16 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         btnSearch.setEnabled(false);
         btnSearch.setImage(Activator.getImageDescriptor(SEARCH_ICON_PATH).createImage());
 
+        Label lblScanCount = new Label(cmpoKeyArea, SWT.NONE);
+        lblScanCount.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1));
+        lblScanCount.setText("Scan count :");
+
+        cbScanCount = new Combo(cmpoKeyArea, SWT.READ_ONLY);
+        cbScanCount.setEnabled(false);
+        cbScanCount.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, false, false, 2, 1));
+        cbScanCount.setItems(SCAN_COUNTS);
+        cbScanCount.select(0);
+
         lstKey = new List(cmpoKeyArea, SWT.BORDER | SWT.V_SCROLL);
         lstKey.setEnabled(false);
         lstKey.setLayoutData(new GridData(SWT.FILL, SWT.FILL, false, true, 3, 1));
@@ -216,11 +239,43 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         cmpoInnerValueLayout.marginWidth = NO_MARGIN;
         cmpoInnerValue.setLayout(cmpoInnerValueLayout);
 
+        cmpoScoreRange = new Composite(cmpoInnerValue, SWT.NONE);
+        GridData cmpoScoreRangeData = new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1);
+        cmpoScoreRangeData.exclude = true;
+        cmpoScoreRange.setLayoutData(cmpoScoreRangeData);
+        cmpoScoreRange.setVisible(false);
+        GridLayout cmpoScoreRangeLayout = new GridLayout(5, false);
+        cmpoScoreRangeLayout.marginHeight = NO_MARGIN;
+        cmpoScoreRangeLayout.marginWidth = NO_MARGIN;
+        cmpoScoreRange.setLayout(cmpoScoreRangeLayout);
+
+        Label lblScore = new Label(cmpoScoreRange, SWT.NONE);
+        lblScore.setText("Score :");
+
+        txtMinScore = new Text(cmpoScoreRange, SWT.BORDER);
+        txtMinScore.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+        txtMinScore.setMessage("-inf");
+
+        Label lblScoreTo = new Label(cmpoScoreRange, SWT.NONE);
+        lblScoreTo.setText("to");
+
+        txtMaxScore = new Text(cmpoScoreRange, SWT.BORDER);
+        txtMaxScore.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+        txtMaxScore.setMessage("+inf");
+
+        btnFilterScore = new Button(cmpoScoreRange, SWT.NONE);
+        btnFilterScore.setText("Filter");
+
         tblInnerValue = new Table(cmpoInnerValue, SWT.BORDER | SWT.FULL_SELECTION);
         tblInnerValue.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 1, 1));
         tblInnerValue.setHeaderVisible(true);
         tblInnerValue.setLinesVisible(true);
 
+        btnLoadMoreValue = new Button(cmpoInnerValue, SWT.NONE);
+        btnLoadMoreValue.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, false, false, 1, 1));
+        btnLoadMoreValue.setEnabled(false);
+        btnLoadMoreValue.setText("Load More");
+
         cmpoStringValue = new Composite(cmpoValue, SWT.NONE);
         cmpoStringValue.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 2, 1));
         cmpoStringValue.setVisible(false);
@@ -266,12 +321,13 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         lstKey.addListener(SWT.Selection, new AzureListenerWrapper(INSIGHT_NAME, "lstKey", null) {
             @Override
             protected void handleEventFunc(Event event) {
-                String selectedKey = lstKey.getItem(lstKey.getSelectionIndex());
+                String selectedKey = shownKeys.get(lstKey.getSelectionIndex());
                 if (selectedKey.equals(lastChosenKey)) {
                     return;
                 }
                 setWidgetEnableStatus(false);
                 lastChosenKey = selectedKey;
+                clearScoreRange();
                 redisExplorerPresenter.onkeySelect(cbDatabase.getSelectionIndex(), selectedKey);
             }
         });
@@ -287,8 +343,25 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
             @Override
             protected void handleEventFunc(Event event) {
                 setWidgetEnableStatus(false);
-                redisExplorerPresenter.onKeyList(cbDatabase.getSelectionIndex(),
-                        currentCursor, txtKeyPattern.getText());
+                redisExplorerPresenter.onKeyInfoList(cbDatabase.getSelectionIndex(),
+                        currentCursor, txtKeyPattern.getText(), getScanCount());
+            }
+        });
+
+        btnLoadMoreValue.addListener(SWT.Selection, new AzureListenerWrapper(INSIGHT_NAME, "btnLoadMoreValue", null) {
+            @Override
+            protected void handleEventFunc(Event event) {
+                setWidgetEnableStatus(false);
+                redisExplorerPresenter.onLoadMoreValues();
+            }
+        });
+
+        btnFilterScore.addListener(SWT.Selection, new AzureListenerWrapper(INSIGHT_NAME, "btnFilterScore", null) {
+            @Override
+            protected void handleEventFunc(Event event) {
+                setWidgetEnableStatus(false);
+                redisExplorerPresenter.onZSetScoreRangeSelect(cbDatabase.getSelectionIndex(), lblKeyValue.getText(),
+                        txtMinScore.getText(), txtMaxScore.getText());
             }
         });
 
@@ -327,10 +400,12 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     @Override
     public void showScanResult(RedisScanResult result) {
         lstKey.removeAll();
-        java.util.List<String> keys = result.getKeys();
-        Collections.sort(keys);
-        for (String key : keys) {
-            lstKey.add(key);
+        shownKeys.clear();
+        java.util.List<RedisKeyInfo> keyInfos = new ArrayList<RedisKeyInfo>(result.getKeyInfos());
+        keyInfos.sort(Comparator.comparing(RedisKeyInfo::getKey));
+        for (RedisKeyInfo keyInfo : keyInfos) {
+            shownKeys.add(keyInfo.getKey());
+            lstKey.add(String.format(KEY_ITEM_FORMAT, keyInfo.getKey(), keyInfo.getDescription()));
         }
         currentCursor = result.getNextCursor();
         setWidgetEnableStatus(true);
@@ -340,6 +415,8 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     @Override
     public void updateKeyList() {
         lstKey.removeAll();
+        shownKeys.clear();
+        shownKeys.add(txtKeyPattern.getText());
         lstKey.add(txtKeyPattern.getText());
         lstKey.select(0);
     }
@@ -347,8 +424,9 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     @Override
     public void showContent(RedisValueData val) {
         RedisKeyType type = val.getKeyType();
+        hasMoreValue = val.hasMore();
         lblTypeValue.setText(type.toString());
-        lblKeyValue.setText(lstKey.getItem(lstKey.getSelectionIndex()));
+        lblKeyValue.setText(shownKeys.get(lstKey.getSelectionIndex()));
         if (type.equals(RedisKeyType.STRING)) {
             if (val.getRowData().size() > 0 && val.getRowData().get(0).length > 0) {
                 txtStringValue.setText(val.getRowData().get(0)[0]);
@@ -396,11 +474,25 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
                 cols[i].pack();
             }
             tblInnerValue.setRedraw(true);
+            setScoreRangeVisible(type.equals(RedisKeyType.ZSET));
             setValueCompositeVisiable(true);
         }
         setWidgetEnableStatus(true);
     }
 
+    @Override
+    public void appendContent(RedisValueData val) {
+        hasMoreValue = val.hasMore();
+        tblInnerValue.setRedraw(false);
+        // keep the rows already shown, only the new page is added
+        for (String[] data : val.getRowData()) {
+            TableItem item = new TableItem(tblInnerValue, SWT.NONE);
+            item.setText(data);
+        }
+        tblInnerValue.setRedraw(true);
+        setWidgetEnableStatus(true);
+    }
+
     @Override
     public void onErrorWithException(String message, Exception ex) {
         RedisExplorerMvpView.super.onErrorWithException(message, ex);
@@ -416,6 +508,7 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     @Override
     public void getKeyFail() {
         lstKey.removeAll();
+        shownKeys.clear();
         setWidgetEnableStatus(true);
         clearValueArea();
     }
@@ -478,7 +571,7 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
     }
 
     private void onDataBaseSelect() {
-        redisExplorerPresenter.onDbSelect(cbDatabase.getSelectionIndex());
+        redisExplorerPresenter.onDbSelect(cbDatabase.getSelectionIndex(), getScanCount());
     }
 
     private void setValueCompositeVisiable(boolean showTable) {
@@ -494,18 +587,37 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         cbDatabase.setEnabled(enabled);
         txtKeyPattern.setEditable(enabled);
         btnSearch.setEnabled(enabled);
+        cbScanCount.setEnabled(enabled);
         lstKey.setEnabled(enabled);
         cbActionType.setEnabled(enabled);
         btnScanMoreKey.setEnabled(enabled && cbActionType.getText().equals(ACTION_SCAN));
+        btnLoadMoreValue.setEnabled(enabled && hasMoreValue);
+        btnFilterScore.setEnabled(enabled);
+    }
+
+    private void setScoreRangeVisible(boolean visible) {
+        ((GridData) cmpoScoreRange.getLayoutData()).exclude = !visible;
+        cmpoScoreRange.setVisible(visible);
+        cmpoInnerValue.layout();
+    }
+
+    private void clearScoreRange() {
+        txtMinScore.setText("");
+        txtMaxScore.setText("");
     }
 
     private void clearValueArea() {
         lblKeyValue.setText("");
         lblTypeValue.setText("");
+        hasMoreValue = false;
         cmpoInnerValue.setVisible(false);
         cmpoStringValue.setVisible(false);
     }
 
+    private int getScanCount() {
+        return Integer.parseInt(cbScanCount.getText());
+    }
+
     private void onBtnSearchClick() {
         setWidgetEnableStatus(false);
         String actionType = cbActionType.getText();
@@ -514,9 +626,10 @@ public class RedisExplorerEditor extends EditorPart implements RedisExplorerMvpV
         if (actionType.equals(ACTION_GET)) {
             redisExplorerPresenter.onGetKeyAndValue(dbIdx, key);
         } else if (actionType.equals(ACTION_SCAN)) {
-            redisExplorerPresenter.onKeyList(dbIdx, SCAN_POINTER_START, key);
+            redisExplorerPresenter.onKeyInfoList(dbIdx, SCAN_POINTER_START, key, getScanCount());
             currentCursor = SCAN_POINTER_START;
         }
         lastChosenKey = "";
+        clearScoreRange();
     }
 }
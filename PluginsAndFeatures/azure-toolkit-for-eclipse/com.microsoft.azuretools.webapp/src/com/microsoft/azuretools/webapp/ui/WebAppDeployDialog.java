@@ -120,6 +120,7 @@ public class WebAppDeployDialog extends AppServiceBaseDialog {
     private Table table;
     private Link browserAppServiceDetails;
     private Button btnDeployToRoot;
+    private Button btnDeployChangedFiles;
     private Button btnDelete;
     private Button btnDeployToSlot;
     private Combo comboSlot;
@@ -299,11 +300,18 @@ public class WebAppDeployDialog extends AppServiceBaseDialog {
         btnDeployToRoot.setSelection(true);
         btnDeployToRoot.setText("Deploy to root");
 
+        btnDeployChangedFiles = new Button(composite, SWT.CHECK);
+        btnDeployChangedFiles.setSelection(false);
+        btnDeployChangedFiles.setText("Deploy changed files only");
+        btnDeployChangedFiles.setToolTipText(
+                "Upload only the files of the war changed since the last deployment from this machine");
+
         int size = btnDeployToRoot.computeSize(SWT.DEFAULT, SWT.DEFAULT).x;
         btnCreate.setLayoutData(new RowData(size, SWT.DEFAULT));
         btnDelete.setLayoutData(new RowData(size, SWT.DEFAULT));
         btnRefresh.setLayoutData(new RowData(size, SWT.DEFAULT));
         btnDeployToRoot.setLayoutData(new RowData(size, SWT.DEFAULT));
+        btnDeployChangedFiles.setLayoutData(new RowData(SWT.DEFAULT, SWT.DEFAULT));
     }
 
     private void createAppDetailGroup(Composite container) {
@@ -337,6 +345,10 @@ public class WebAppDeployDialog extends AppServiceBaseDialog {
                 btnDeployToRoot.setSelection(true);
                 btnDeployToRoot.setVisible(false);
                 ((RowData) btnDeployToRoot.getLayoutData()).exclude = true;
+                // a jar is deployed as a whole
+                btnDeployChangedFiles.setSelection(false);
+                btnDeployChangedFiles.setVisible(false);
+                ((RowData) btnDeployChangedFiles.getLayoutData()).exclude = true;
             }
         } catch (Exception e) {
             LOG.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "WebAppDeployDialog", e));
@@ -899,6 +911,7 @@ public class WebAppDeployDialog extends AppServiceBaseDialog {
         String deploymentName = UUID.randomUUID().toString();
         AzureDeploymentProgressNotification.createAzureDeploymentProgressNotification(deploymentName, jobDescription);
         boolean isDeployToRoot = btnDeployToRoot.getSelection();
+        boolean isDeployChangedFiles = btnDeployChangedFiles.getSelection();
 
         Job job = new Job(jobDescription) {
             @Override
@@ -941,7 +954,7 @@ public class WebAppDeployDialog extends AppServiceBaseDialog {
                     monitor.setTaskName(message);
                     AzureDeploymentProgressNotification.notifyProgress(this, deploymentName, sitePath, 30, message);
                     WebAppUtils.deployArtifactsToAppService(webApp, new File(artifactPath),
-                            isDeployToRoot, new UpdateProgressIndicator(monitor));
+                            isDeployToRoot, isDeployChangedFiles, new UpdateProgressIndicator(monitor));
 
                     if (monitor.isCanceled()) {
                         AzureDeploymentProgressNotification.notifyProgress(this, deploymentName, null, -1,
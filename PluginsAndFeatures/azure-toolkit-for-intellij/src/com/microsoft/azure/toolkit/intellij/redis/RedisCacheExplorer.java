@@ -8,6 +8,7 @@ package com.microsoft.azure.toolkit.intellij.redis;
 import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 
 import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisValueData;
 import com.microsoft.azure.toolkit.intellij.common.BaseEditor;
@@ -26,8 +27,9 @@ import javax.swing.table.DefaultTableModel;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Collections;
 
 
 public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpView {
@@ -37,6 +39,7 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
 
     private String currentCursor;
     private String lastChosenKey;
+    private boolean hasMoreValue;
 
     private final RedisExplorerPresenter<RedisCacheExplorer> redisExplorerPresenter;
 
@@ -53,14 +56,22 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
     private static final String DEFAULT_SCAN_PATTERN = "*";
     private static final String ACTION_GET = "GET";
     private static final String ACTION_SCAN = "SCAN";
+    private static final String[] SCAN_COUNTS = new String[]{"50", "500", "1000", "10000"};
+    private static final String KEY_ITEM_FORMAT = "%s  (%s)";
 
     private JPanel pnlMain;
     private JComboBox cbDatabase;
     private JComboBox cbActionType;
     private JTextField txtKeyPattern;
+    private JComboBox cbScanCount;
     private JButton btnSearch;
     private JList lstKey;
     private JButton btnScanMore;
+    private JButton btnLoadMore;
+    private JPanel pnlScoreRange;
+    private JTextField txtMinScore;
+    private JTextField txtMaxScore;
+    private JButton btnFilterScore;
     private JTable tblInnerValue;
     private JTextArea txtStringValue;
     private JLabel lblTypeValue;
@@ -86,6 +97,22 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         cbActionType.addItem(ACTION_SCAN);
         cbActionType.addItem(ACTION_GET);
 
+        for (String scanCount : SCAN_COUNTS) {
+            cbScanCount.addItem(scanCount);
+        }
+        lstKey.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
+                                                          boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof RedisKeyInfo) {
+                    RedisKeyInfo keyInfo = (RedisKeyInfo) value;
+                    setText(String.format(KEY_ITEM_FORMAT, keyInfo.getKey(), keyInfo.getDescription()));
+                }
+                return this;
+            }
+        });
+
         splitPane.setResizeWeight(SPLIT_PANE_WEIGHT);
         splitPane.setDividerSize(SPLIT_PANE_DIVIDER_SIZE);
 
@@ -114,12 +141,13 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         lstKey.addListSelectionListener(new AzureListSelectionListenerWrapper(INSIGHT_NAME, "lstKey", null) {
             @Override
             public void valueChangedFunc(ListSelectionEvent event) {
-                String selectedKey = (String) lstKey.getSelectedValue();
+                String selectedKey = getSelectedKey();
                 if (selectedKey == null || selectedKey.equals(lastChosenKey)) {
                     return;
                 }
                 RedisCacheExplorer.this.setWidgetEnableStatus(false);
                 lastChosenKey = selectedKey;
+                clearScoreRange();
                 redisExplorerPresenter.onkeySelect(cbDatabase.getSelectedIndex(), selectedKey);
             }
         });
@@ -135,8 +163,25 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
             @Override
             public void actionPerformedFunc(ActionEvent event) {
                 RedisCacheExplorer.this.setWidgetEnableStatus(false);
-                redisExplorerPresenter.onKeyList(cbDatabase.getSelectedIndex(),
-                        currentCursor, txtKeyPattern.getText());
+                redisExplorerPresenter.onKeyInfoList(cbDatabase.getSelectedIndex(),
+                        currentCursor, txtKeyPattern.getText(), getScanCount());
+            }
+        });
+
+        btnLoadMore.addActionListener(new AzureActionListenerWrapper(INSIGHT_NAME, "btnLoadMore", null) {
+            @Override
+            public void actionPerformedFunc(ActionEvent event) {
+                RedisCacheExplorer.this.setWidgetEnableStatus(false);
+                redisExplorerPresenter.onLoadMoreValues();
+            }
+        });
+
+        btnFilterScore.addActionListener(new AzureActionListenerWrapper(INSIGHT_NAME, "btnFilterScore", null) {
+            @Override
+            public void actionPerformedFunc(ActionEvent event) {
+                RedisCacheExplorer.this.setWidgetEnableStatus(false);
+                redisExplorerPresenter.onZSetScoreRangeSelect(cbDatabase.getSelectedIndex(), lblKeyValue.getText(),
+                        txtMinScore.getText(), txtMaxScore.getText());
             }
         });
 
@@ -189,10 +234,10 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
     public void showScanResult(RedisScanResult result) {
         lstKey.removeAll();
         DefaultListModel listModel = new DefaultListModel();
-        List<String> keys = result.getKeys();
-        Collections.sort(keys);
-        for (String key : keys) {
-            listModel.addElement(key);
+        List<RedisKeyInfo> keyInfos = new ArrayList<>(result.getKeyInfos());
+        keyInfos.sort(Comparator.comparing(RedisKeyInfo::getKey));
+        for (RedisKeyInfo keyInfo : keyInfos) {
+            listModel.addElement(keyInfo);
         }
         lstKey.setModel(listModel);
         currentCursor = result.getNextCursor();
@@ -203,8 +248,9 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
     @Override
     public void showContent(RedisValueData val) {
         RedisKeyType type = val.getKeyType();
+        hasMoreValue = val.hasMore();
         lblTypeValue.setText(type.toString());
-        lblKeyValue.setText((String) lstKey.getSelectedValue());
+        lblKeyValue.setText(getSelectedKey());
         if (type.equals(RedisKeyType.STRING)) {
             if (val.getRowData().size() > 0 && val.getRowData().get(0).length > 0) {
                 txtStringValue.setText(val.getRowData().get(0)[0]);
@@ -233,11 +279,23 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
 
             ReadOnlyTableModel tableModel = new ReadOnlyTableModel(data, columnNames);
             setValueCompositeVisible(true);
+            pnlScoreRange.setVisible(type.equals(RedisKeyType.ZSET));
             tblInnerValue.setModel(tableModel);
         }
         setWidgetEnableStatus(true);
     }
 
+    @Override
+    public void appendContent(RedisValueData val) {
+        hasMoreValue = val.hasMore();
+        // keep the rows already shown, only the new page is added
+        ReadOnlyTableModel tableModel = (ReadOnlyTableModel) tblInnerValue.getModel();
+        for (String[] data : val.getRowData()) {
+            tableModel.addRow(data);
+        }
+        setWidgetEnableStatus(true);
+    }
+
     @Override
     public void updateKeyList() {
         DefaultListModel listModel = (DefaultListModel) lstKey.getModel();
@@ -261,8 +319,14 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         setWidgetEnableStatus(true);
     }
 
+    @Override
+    public void onError(String message) {
+        RedisExplorerMvpView.super.onError(message);
+        setWidgetEnableStatus(true);
+    }
+
     private void onDataBaseSelect() {
-        redisExplorerPresenter.onDbSelect(cbDatabase.getSelectedIndex());
+        redisExplorerPresenter.onDbSelect(cbDatabase.getSelectedIndex(), getScanCount());
     }
 
     private void setWidgetEnableStatus(boolean enabled) {
@@ -270,25 +334,48 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         cbDatabase.setEnabled(enabled);
         txtKeyPattern.setEnabled(enabled);
         btnSearch.setEnabled(enabled);
+        cbScanCount.setEnabled(enabled);
         lstKey.setEnabled(enabled);
         cbActionType.setEnabled(enabled);
         String actionType = (String) cbActionType.getSelectedItem();
         btnScanMore.setEnabled(enabled && actionType.equals(ACTION_SCAN));
+        btnLoadMore.setEnabled(enabled && hasMoreValue);
+        btnFilterScore.setEnabled(enabled);
     }
 
     private void clearValueArea() {
         lblKeyValue.setText("");
         lblTypeValue.setText("");
+        hasMoreValue = false;
         pnlInnerValue.setVisible(false);
+        btnLoadMore.setVisible(false);
+        pnlScoreRange.setVisible(false);
         pnlStringValue.setVisible(false);
     }
 
+    private void clearScoreRange() {
+        txtMinScore.setText("");
+        txtMaxScore.setText("");
+    }
+
     private void setValueCompositeVisible(boolean showTable) {
         pnlInnerValue.setVisible(showTable);
+        btnLoadMore.setVisible(showTable);
+        pnlScoreRange.setVisible(false);
         pnlStringValue.setVisible(!showTable);
 
     }
 
+    private int getScanCount() {
+        return Integer.parseInt((String) cbScanCount.getSelectedItem());
+    }
+
+    // the list holds the scanned keys with their metadata, or the key typed in for a GET
+    private String getSelectedKey() {
+        Object selected = lstKey.getSelectedValue();
+        return selected == null ? null : selected.toString();
+    }
+
     private void onBtnSearchClick() {
         setWidgetEnableStatus(false);
         String actionType = (String) cbActionType.getSelectedItem();
@@ -297,10 +384,11 @@ public class RedisCacheExplorer extends BaseEditor implements RedisExplorerMvpVi
         if (actionType.equals(ACTION_GET)) {
             redisExplorerPresenter.onGetKeyAndValue(dbIdx, key);
         } else if (actionType.equals(ACTION_SCAN)) {
-            redisExplorerPresenter.onKeyList(dbIdx, SCAN_POINTER_START, key);
+            redisExplorerPresenter.onKeyInfoList(dbIdx, SCAN_POINTER_START, key, getScanCount());
             currentCursor = SCAN_POINTER_START;
         }
         lastChosenKey = "";
+        clearScoreRange();
     }
 
     private class ReadOnlyTableModel extends DefaultTableModel {
@@ -685,7 +685,9 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
             try {
                 final BlobDirectory blobDirectory = directoryQueue.peekLast();
 
-                final BufferedInputStream bufferedInputStream = new BufferedInputStream(new FileInputStream(selectedFile));
+                if (!selectedFile.canRead()) {
+                    throw new FileNotFoundException(selectedFile.getPath());
+                }
 
                 progressIndicator.setIndeterminate(false);
                 progressIndicator.setText("Uploading blob...");
@@ -707,21 +709,12 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
                     Future<Void> future = ApplicationManager.getApplication().executeOnPooledThread(new Callable<Void>() {
                         @Override
                         public Void call() throws AzureCmdException {
-                            try {
-                                StorageClientSDKManager.getManager().uploadBlobFileContent(
-                                    connectionString,
-                                    blobContainer,
-                                    path,
-                                    bufferedInputStream,
-                                    callable,
-                                    1024 * 1024,
-                                    selectedFile.length());
-                            } finally {
-                                try {
-                                    bufferedInputStream.close();
-                                } catch (IOException ignored) {
-                                }
-                            }
+                            StorageClientSDKManager.getManager().uploadBlobFileContent(
+                                connectionString,
+                                blobContainer,
+                                path,
+                                selectedFile,
+                                callable);
 
                             return null;
                         }
@@ -733,7 +726,6 @@ public class BlobExplorerFileEditor implements FileEditor, TelemetryProperties {
 
                         if (progressIndicator.isCanceled()) {
                             future.cancel(true);
-                            bufferedInputStream.close();
 
                             for (BlobItem blobItem : StorageClientSDKManager.getManager().getBlobItems(connectionString, blobDirectory)) {
                                 if (blobItem instanceof BlobFile && blobItem.getPath().equals(path)) {
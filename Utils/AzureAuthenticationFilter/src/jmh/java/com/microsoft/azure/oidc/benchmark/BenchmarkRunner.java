@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks at each thread count and compare the scores with a baseline from a previous release.
+ *
+ * The arguments are the report directory and, optionally, the baseline scores file. The report directory gets the
+ * JMH JSON result of each thread count, the {@code scores.properties} of this run to be kept as the next baseline,
+ * and the {@code regressions.txt} listing the scores worse than the baseline by more than the threshold. The process
+ * exits with 1 when any regression is found.
+ *
+ * The system properties {@code jmh.include} (the benchmark regex), {@code jmh.threads} (comma separated thread
+ * counts, "1,4,16" by default) and {@code jmh.regressionThreshold} (0.10 by default) tune the run.
+ */
+public final class BenchmarkRunner {
+    private static final String SCORES_FILE = "scores.properties";
+    private static final String REGRESSIONS_FILE = "regressions.txt";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkRunner <report directory> [<baseline scores file>]");
+            System.exit(2);
+        }
+        final File reportDirectory = new File(args[0]);
+        if (!reportDirectory.isDirectory() && !reportDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + reportDirectory);
+        }
+        final String include = System.getProperty("jmh.include", BenchmarkRunner.class.getPackage().getName());
+        final double threshold = Double.parseDouble(System.getProperty("jmh.regressionThreshold", "0.10"));
+
+        final Map<String, Double> scores = new TreeMap<String, Double>();
+        for (final String threadsString : System.getProperty("jmh.threads", "1,4,16").split(",")) {
+            final int threads = Integer.parseInt(threadsString.trim());
+            final Options options = new OptionsBuilder().include(include).threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(reportDirectory, String.format("jmh-threads-%d.json", threads)).getPath())
+                    .build();
+            for (final RunResult result : new Runner(options).run()) {
+                scores.put(getScoreKey(result, threads), result.getPrimaryResult().getScore());
+            }
+        }
+
+        final Properties current = new Properties();
+        for (final Map.Entry<String, Double> score : scores.entrySet()) {
+            current.setProperty(score.getKey(), String.valueOf(score.getValue()));
+        }
+        try (final OutputStream output = new FileOutputStream(new File(reportDirectory, SCORES_FILE))) {
+            current.store(output, "JMH primary scores, keyed by benchmark, mode, threads and parameters");
+        }
+
+        if (args.length < 2) {
+            return;
+        }
+        final Properties baseline = new Properties();
+        try (final InputStream input = new FileInputStream(args[1])) {
+            baseline.load(input);
+        }
+        final List<String> regressions = getRegressions(baseline, scores, threshold);
+        try (final PrintWriter writer = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(new File(reportDirectory, REGRESSIONS_FILE)), "UTF-8"))) {
+            for (final String regression : regressions) {
+                writer.println(regression);
+            }
+        }
+        for (final String regression : regressions) {
+            System.err.println("REGRESSION " + regression);
+        }
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static String getScoreKey(final RunResult result, final int threads) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(result.getParams().getBenchmark());
+        builder.append('|').append(result.getParams().getMode().shortLabel());
+        builder.append("|threads=").append(threads);
+        for (final String paramKey : result.getParams().getParamsKeys()) {
+            builder.append('|').append(paramKey).append('=').append(result.getParams().getParam(paramKey));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A throughput score regresses when it drops, and a latency score when it rises, by more than the threshold.
+     */
+    private static List<String> getRegressions(final Properties baseline, final Map<String, Double> scores,
+            final double threshold) {
+        final List<String> regressions = new ArrayList<String>();
+        for (final Map.Entry<String, Double> score : scores.entrySet()) {
+            final String baselineString = baseline.getProperty(score.getKey());
+            if (baselineString == null) {
+                continue;
+            }
+            final double baselineScore = Double.parseDouble(baselineString);
+            if (baselineScore <= 0) {
+                continue;
+            }
+            final double change = (score.getValue() - baselineScore) / baselineScore;
+            final Boolean isThroughput = score.getKey().contains("|" + Mode.Throughput.shortLabel() + "|");
+            final Boolean isRegression = isThroughput ? change < -threshold : change > threshold;
+            if (isRegression) {
+                regressions.add(String.format("%s baseline=%.3f current=%.3f change=%+.1f%%", score.getKey(),
+                        baselineScore, score.getValue(), change * 100));
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.filter.helper.AuthenticationHelper;
+import com.microsoft.azure.oidc.filter.helper.impl.SimpleAuthenticationHelper;
+import com.microsoft.azure.oidc.filter.impl.SimpleAuthenticationFilter;
+
+/**
+ * The per-request cost of the filter for an authenticated user on an authorised URI.
+ *
+ * The cache state is one of:
+ * <ul>
+ * <li>warm: the same token for every request, served by the token and role caches</li>
+ * <li>cold: more distinct users than the security cache size, so most requests are validated and looked up again</li>
+ * <li>expiring: a few tokens with a token cache max age of one second, so they are validated again every second</li>
+ * </ul>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+    private static final String TOKEN_NAME = "id_token";
+    private static final String SECURITY_CACHE_SIZE = "1000";
+    private static final int COLD_USER_COUNT = 4096;
+    private static final int EXPIRING_USER_COUNT = 16;
+
+    @Param({ "warm", "cold", "expiring" })
+    private String cacheState;
+
+    @Param({ "0" })
+    private long idpLatencyMillis;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final SimpleAuthenticationFilter filter = new SimpleAuthenticationFilter();
+    private final AuthenticationHelper authenticationHelper = SimpleAuthenticationHelper.getInstance();
+    private HttpServletRequest[] requests;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    /**
+     * The request index of each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        private int next(final int length) {
+            index = index + 1 == length ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final StubIdentityProvider identityProvider = StubIdentityProvider.install();
+        identityProvider.setLatencyMillis(idpLatencyMillis);
+
+        final Map<String, String> initParameters = new HashMap<String, String>();
+        initParameters.put("authenticationConfiguration", "/WEB-INF/configuration/authentication.json");
+        initParameters.put("algorithmConfiguration", "/WEB-INF/configuration/algorithm.json");
+        initParameters.put("securityCacheSize", SECURITY_CACHE_SIZE);
+        initParameters.put("tokenCacheMaxAge", "expiring".equals(cacheState) ? "1" : "300");
+        filter.init(ServletStubs.filterConfig(initParameters));
+
+        final int userCount = "cold".equals(cacheState) ? COLD_USER_COUNT
+                : "expiring".equals(cacheState) ? EXPIRING_USER_COUNT : 1;
+        requests = new HttpServletRequest[userCount];
+        for (int index = 0; index < userCount; index++) {
+            final String token = identityProvider.issueToken(String.format("user-%d", index), 3600L);
+            requests[index] = ServletStubs.request("/authorised/page", new Cookie(TOKEN_NAME, token));
+        }
+        response = ServletStubs.response(rejectedCount);
+        chain = ServletStubs.chain();
+
+        for (final HttpServletRequest request : requests) {
+            filter.doFilter(request, response, chain);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        filter.destroy();
+        if (rejectedCount.get() > 0) {
+            throw new IllegalStateException(String.format("%d requests rejected", rejectedCount.get()));
+        }
+    }
+
+    @Benchmark
+    public void doFilter(final Cursor cursor) throws IOException, ServletException {
+        filter.doFilter(requests[cursor.next(requests.length)], response, chain);
+    }
+
+    @Benchmark
+    public String tokenFromCookie(final Cursor cursor) {
+        return authenticationHelper.getTokenString(requests[cursor.next(requests.length)], response, TOKEN_NAME);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * The minimal servlet container stubs to drive the filter, built as dynamic proxies answering the methods the filter
+ * calls. The stubs are immutable once built, so they can be shared by benchmark threads.
+ */
+final class ServletStubs {
+    private ServletStubs() {
+    }
+
+    static FilterConfig filterConfig(final Map<String, String> initParameters) {
+        final Map<String, Object> context = new HashMap<String, Object>();
+        final ServletContext servletContext = stub(ServletContext.class, new Answer() {
+            @Override
+            public Object answer(final String methodName, final Object[] args) {
+                if ("getResourceAsStream".equals(methodName)) {
+                    return ServletStubs.class.getResourceAsStream((String) args[0]);
+                }
+                return null;
+            }
+        });
+        context.put("getServletContext", servletContext);
+        context.put("getFilterName", "authenticationFilter");
+        return stub(FilterConfig.class, new Answer() {
+            @Override
+            public Object answer(final String methodName, final Object[] args) {
+                if ("getInitParameter".equals(methodName)) {
+                    return initParameters.get(args[0]);
+                }
+                return context.get(methodName);
+            }
+        });
+    }
+
+    static HttpServletRequest request(final String requestURI, final Cookie... cookies) {
+        final Map<String, Object> values = new HashMap<String, Object>();
+        values.put("getRequestURI", requestURI);
+        values.put("getContextPath", "");
+        values.put("getServerName", "localhost");
+        values.put("getCookies", cookies);
+        values.put("getMethod", "GET");
+        return stub(HttpServletRequest.class, new Answer() {
+            @Override
+            public Object answer(final String methodName, final Object[] args) {
+                return values.get(methodName);
+            }
+        });
+    }
+
+    /**
+     * The response stub counting the requests rejected by the filter.
+     */
+    static HttpServletResponse response(final AtomicLong rejectedCount) {
+        return stub(HttpServletResponse.class, new Answer() {
+            @Override
+            public Object answer(final String methodName, final Object[] args) {
+                if ("sendError".equals(methodName) || "sendRedirect".equals(methodName)) {
+                    rejectedCount.incrementAndGet();
+                }
+                return null;
+            }
+        });
+    }
+
+    static FilterChain chain() {
+        return stub(FilterChain.class, new Answer() {
+            @Override
+            public Object answer(final String methodName, final Object[] args) {
+                return null;
+            }
+        });
+    }
+
+    private interface Answer {
+        Object answer(String methodName, Object[] args);
+    }
+
+    private static <T> T stub(final Class<T> clazz, final Answer answer) {
+        return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] { clazz },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("hashCode".equals(method.getName())) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        }
+                        if ("toString".equals(method.getName())) {
+                            return clazz.getSimpleName() + "Stub";
+                        }
+                        final Object result = answer.answer(method.getName(), args);
+                        if (result == null && method.getReturnType().isPrimitive()) {
+                            return defaultValue(method.getReturnType());
+                        }
+                        return result;
+                    }
+                }));
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.net.URLStreamHandler;
+import java.net.URLStreamHandlerFactory;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * The in-process stub of the Azure AD B2C and Graph endpoints used by the filter.
+ *
+ * It's installed as the JVM {@link URLStreamHandlerFactory}, so the HTTPS requests of the filter to
+ * {@code login.microsoftonline.com} and {@code graph.windows.net} are served from memory, with an optional latency to
+ * emulate the network. It serves the OpenID configuration, the JWKS with one RSA key, the Graph app token, and the
+ * group lookups in which every user is a member of every group. Tokens are signed locally with the same key.
+ */
+public final class StubIdentityProvider implements URLStreamHandlerFactory {
+    public static final String KEY_ID = "benchmark-key";
+    public static final String ISSUER = "https://login.microsoftonline.com/benchmark/v2.0/";
+    private static final String LOGIN_HOST = "login.microsoftonline.com";
+    private static final String GRAPH_HOST = "graph.windows.net";
+    private static final Pattern GROUP_NAME_PATTERN = Pattern.compile("displayName eq '([^']*)'");
+
+    private static StubIdentityProvider instance;
+
+    private final KeyPair keyPair;
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long latencyMillis = 0L;
+
+    private StubIdentityProvider() throws GeneralSecurityException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    /**
+     * Install the stub for the JVM, the URL stream handler factory can only be set once so the same stub is shared.
+     */
+    public static synchronized StubIdentityProvider install() throws GeneralSecurityException {
+        if (instance == null) {
+            instance = new StubIdentityProvider();
+            URL.setURLStreamHandlerFactory(instance);
+        }
+        return instance;
+    }
+
+    public void setLatencyMillis(final long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public static String getApplicationId() {
+        return System.getenv("AAD_APPLICATION_ID");
+    }
+
+    /**
+     * Issue an ID token signed by the stub key.
+     */
+    public String issueToken(final String userID, final long lifetimeSeconds) throws GeneralSecurityException {
+        final long now = System.currentTimeMillis() / 1000;
+        final String header = encode(String.format("{\"typ\":\"JWT\",\"alg\":\"RS256\",\"kid\":\"%s\"}", KEY_ID));
+        final String body = encode(String.format(
+                "{\"iss\":\"%s\",\"aud\":\"%s\",\"oid\":\"%s\",\"emails\":[\"%s@benchmark.test\"],"
+                        + "\"iat\":%d,\"nbf\":%d,\"exp\":%d}",
+                ISSUER, getApplicationId(), userID, userID, now - 60, now - 60, now + lifetimeSeconds));
+        final Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(String.format("%s.%s", header, body).getBytes());
+        return String.format("%s.%s.%s", header, body, Base64.encodeBase64URLSafeString(signature.sign()));
+    }
+
+    @Override
+    public URLStreamHandler createURLStreamHandler(final String protocol) {
+        if (!"https".equals(protocol)) {
+            return null;
+        }
+        return new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(final URL url) throws IOException {
+                if (!LOGIN_HOST.equals(url.getHost()) && !GRAPH_HOST.equals(url.getHost())) {
+                    throw new IOException("Not stubbed: " + url);
+                }
+                return new StubConnection(url);
+            }
+        };
+    }
+
+    private String respond(final String method, final URL url, final String requestBody) throws IOException {
+        requestCount.incrementAndGet();
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        final String path = url.getPath();
+        if (path.endsWith("/.well-known/openid-configuration")) {
+            return String.format("{\"issuer\":\"%s\",\"jwks_uri\":\"https://%s/benchmark/discovery/v2.0/keys\","
+                    + "\"id_token_signing_alg_values_supported\":[\"RS256\"],"
+                    + "\"authorization_endpoint\":\"https://%s/benchmark/oauth2/v2.0/authorize\","
+                    + "\"end_session_endpoint\":\"https://%s/benchmark/oauth2/v2.0/logout\"}",
+                    ISSUER, LOGIN_HOST, LOGIN_HOST, LOGIN_HOST);
+        }
+        if (path.endsWith("/discovery/v2.0/keys")) {
+            final RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+            return String.format("{\"keys\":[{\"kid\":\"%s\",\"kty\":\"RSA\",\"n\":\"%s\",\"e\":\"%s\"}]}", KEY_ID,
+                    encodeUnsigned(publicKey.getModulus()), encodeUnsigned(publicKey.getPublicExponent()));
+        }
+        if (path.endsWith("/oauth2/token") && "POST".equals(method)) {
+            return "{\"token_type\":\"Bearer\",\"expires_in\":\"3600\",\"access_token\":\"benchmark-graph-token\"}";
+        }
+        if (path.endsWith("/groups")) {
+            final Matcher matcher = GROUP_NAME_PATTERN.matcher(URLDecoder.decode(url.getQuery(), "UTF-8"));
+            if (!matcher.find()) {
+                return "{\"value\":[]}";
+            }
+            return String.format("{\"value\":[{\"objectId\":\"group-%s\"}]}", matcher.group(1));
+        }
+        if (path.endsWith("/getMemberGroups") && "POST".equals(method)) {
+            return "{\"value\":[\"group-BenchmarkManagers\",\"group-BenchmarkUsers\",\"group-BenchmarkReaders\"]}";
+        }
+        if (path.endsWith("/isMemberOf") && "POST".equals(method)) {
+            return "{\"value\":true}";
+        }
+        throw new IOException(String.format("Not stubbed: %s %s %s", method, url, requestBody));
+    }
+
+    private static String encode(final String value) {
+        try {
+            return Base64.encodeBase64URLSafeString(value.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encodeUnsigned(final BigInteger value) {
+        final byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            final byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            return Base64.encodeBase64URLSafeString(unsigned);
+        }
+        return Base64.encodeBase64URLSafeString(bytes);
+    }
+
+    private final class StubConnection extends HttpsURLConnection {
+        private final ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+        private byte[] response;
+
+        private StubConnection(final URL url) {
+            super(url);
+        }
+
+        @Override
+        public void connect() throws IOException {
+            connected = true;
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            connect();
+            return requestBody;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            connect();
+            if (response == null) {
+                response = respond(getRequestMethod(), getURL(), requestBody.toString("UTF-8")).getBytes("UTF-8");
+            }
+            return new ByteArrayInputStream(response);
+        }
+
+        @Override
+        public int getResponseCode() throws IOException {
+            getInputStream();
+            return HTTP_OK;
+        }
+
+        @Override
+        public void disconnect() {
+        }
+
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        @Override
+        public String getCipherSuite() {
+            return "TLS_STUB";
+        }
+
+        @Override
+        public Certificate[] getLocalCertificates() {
+            return new Certificate[0];
+        }
+
+        @Override
+        public Certificate[] getServerCertificates() {
+            return new Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.impl.TTLConcurrentCache;
+
+/**
+ * The cache under contention, with the key space within (hits) or beyond (misses and evictions) the max size, and
+ * the TTL long (warm) or short enough to expire during the measurement.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TTLConcurrentCacheBenchmark {
+    private static final long MAX_SIZE = 1000L;
+
+    @Param({ "100", "10000" })
+    private int keySpace;
+
+    @Param({ "1", "300" })
+    private long ttlSeconds;
+
+    private ConcurrentCache<String, Boolean> cache;
+    private String[] keys;
+
+    /**
+     * The random key source of each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private final Random random = new Random();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new TTLConcurrentCache<String, Boolean>(ttlSeconds, TimeUnit.SECONDS, MAX_SIZE);
+        keys = new String[keySpace];
+        for (int index = 0; index < keySpace; index++) {
+            keys[index] = String.format("key-%d", index);
+            cache.putIfAbsent(keys[index], Boolean.TRUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.shutdownNow();
+    }
+
+    @Benchmark
+    public Boolean get(final Keys source) {
+        return cache.get(keys[source.random.nextInt(keySpace)]);
+    }
+
+    @Benchmark
+    public Boolean getOrPut(final Keys source) {
+        final String key = keys[source.random.nextInt(keySpace)];
+        final Boolean value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        cache.putIfAbsent(key, Boolean.TRUE);
+        return Boolean.TRUE;
+    }
+}
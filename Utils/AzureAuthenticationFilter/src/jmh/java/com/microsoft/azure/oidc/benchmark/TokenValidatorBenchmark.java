@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microsoft.azure.oidc.filter.impl.SimpleAuthenticationFilter;
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenParser;
+import com.microsoft.azure.oidc.token.TokenValidator;
+import com.microsoft.azure.oidc.token.impl.SimpeTokenParser;
+import com.microsoft.azure.oidc.token.impl.SimpleTokenValidator;
+
+/**
+ * The cost of parsing and validating a token without the token cache, the work of a token cache miss.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenValidatorBenchmark {
+    private final SimpleAuthenticationFilter filter = new SimpleAuthenticationFilter();
+    private final TokenParser tokenParser = SimpeTokenParser.getInstance();
+    private final TokenValidator tokenValidator = SimpleTokenValidator.getInstance();
+    private String tokenString;
+    private Token token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final StubIdentityProvider identityProvider = StubIdentityProvider.install();
+        final Map<String, String> initParameters = new HashMap<String, String>();
+        initParameters.put("authenticationConfiguration", "/WEB-INF/configuration/authentication.json");
+        initParameters.put("algorithmConfiguration", "/WEB-INF/configuration/algorithm.json");
+        filter.init(ServletStubs.filterConfig(initParameters));
+
+        tokenString = identityProvider.issueToken("user-0", 3600L);
+        token = tokenParser.getToken(tokenString);
+        if (!tokenValidator.validateCommon(token)) {
+            throw new IllegalStateException("The benchmark token failed validation");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        filter.destroy();
+    }
+
+    @Benchmark
+    public Token parse() {
+        return tokenParser.getToken(tokenString);
+    }
+
+    @Benchmark
+    public Boolean validateSignature() {
+        return tokenValidator.validateSignature(token);
+    }
+
+    @Benchmark
+    public Boolean validateCommon() {
+        return tokenValidator.validateCommon(token);
+    }
+}
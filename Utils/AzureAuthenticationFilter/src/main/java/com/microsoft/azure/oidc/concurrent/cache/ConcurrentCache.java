@@ -11,6 +11,8 @@ public interface ConcurrentCache<K, V> {
 
     V putIfAbsent(K key, V value);
 
+    Long size();
+
     void shutdownNow();
 
 }
@@ -5,7 +5,11 @@
 
 package com.microsoft.azure.oidc.concurrent.cache;
 
+import java.util.concurrent.TimeUnit;
+
 public interface ConcurrentCacheFactory<K, V> {
 
     ConcurrentCache<K, V> createConcurrentCache(Long ttl, Long maxSize);
+
+    ConcurrentCache<K, V> createConcurrentCache(Long ttl, TimeUnit unit, Long maxSize);
 }
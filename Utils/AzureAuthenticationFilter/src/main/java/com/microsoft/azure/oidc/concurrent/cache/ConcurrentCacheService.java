@@ -5,10 +5,14 @@
 
 package com.microsoft.azure.oidc.concurrent.cache;
 
+import java.util.concurrent.TimeUnit;
+
 public interface ConcurrentCacheService {
 
     <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, Long maxSize);
 
+    <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, TimeUnit unit, Long maxSize);
+
     <V> ConcurrentCache<String, V> getCache(Class<V> clazzV, String name);
 
     void shutdownNow();
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The single sweeper thread shared by all TTL caches, which evicts their expired entries every second.
+ */
+final class ConcurrentCacheSweeper {
+    private static final ConcurrentCacheSweeper INSTANCE = new ConcurrentCacheSweeper();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentCacheSweeper.class);
+    private static final long SWEEP_INTERVAL_MILLIS = 1000L;
+
+    private final Set<TTLConcurrentCache<?, ?>> caches = Collections
+            .newSetFromMap(new ConcurrentHashMap<TTLConcurrentCache<?, ?>, Boolean>());
+    private final ScheduledExecutorService scheduledExecutorService = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "oidc-cache-sweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private ConcurrentCacheSweeper() {
+        scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                for (final TTLConcurrentCache<?, ?> cache : caches) {
+                    try {
+                        cache.sweep();
+                    } catch (RuntimeException e) {
+                        LOGGER.error(e.getMessage(), e);
+                    }
+                }
+            }
+        }, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    void register(final TTLConcurrentCache<?, ?> cache) {
+        caches.add(cache);
+    }
+
+    void unregister(final TTLConcurrentCache<?, ?> cache) {
+        caches.remove(cache);
+    }
+
+    static ConcurrentCacheSweeper getInstance() {
+        return INSTANCE;
+    }
+}
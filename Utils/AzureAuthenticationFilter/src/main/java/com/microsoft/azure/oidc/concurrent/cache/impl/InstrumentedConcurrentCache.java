@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.concurrent.cache.impl;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+
+/**
+ * The cache counting its hits, misses and puts as "cache.&lt;name&gt;.hit", ".miss" and ".put".
+ */
+final class InstrumentedConcurrentCache<K, V> implements ConcurrentCache<K, V> {
+    private final ConcurrentCache<K, V> concurrentCache;
+    private final MetricsService metricsService;
+    private final String hitName;
+    private final String missName;
+    private final String putName;
+
+    InstrumentedConcurrentCache(final ConcurrentCache<K, V> concurrentCache, final MetricsService metricsService,
+            final String name) {
+        this.concurrentCache = concurrentCache;
+        this.metricsService = metricsService;
+        this.hitName = String.format("cache.%s.hit", name);
+        this.missName = String.format("cache.%s.miss", name);
+        this.putName = String.format("cache.%s.put", name);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final V value = concurrentCache.get(key);
+        metricsService.increment(value == null ? missName : hitName);
+        return value;
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        final V existing = concurrentCache.putIfAbsent(key, value);
+        if (existing == null) {
+            metricsService.increment(putName);
+        }
+        return existing;
+    }
+
+    @Override
+    public Long size() {
+        return concurrentCache.size();
+    }
+
+    @Override
+    public void shutdownNow() {
+        concurrentCache.shutdownNow();
+    }
+}
@@ -5,6 +5,8 @@
 
 package com.microsoft.azure.oidc.concurrent.cache.impl;
 
+import java.util.concurrent.TimeUnit;
+
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheFactory;
 
@@ -17,6 +19,11 @@ public class SimpleConcurrentCacheFactory<K, V> implements ConcurrentCacheFactor
         return new TTLConcurrentCache<K, V>(ttl, maxSize);
     }
 
+    @Override
+    public ConcurrentCache<K, V> createConcurrentCache(Long ttl, TimeUnit unit, Long maxSize) {
+        return new TTLConcurrentCache<K, V>(ttl, unit, maxSize);
+    }
+
     @SuppressWarnings("unchecked")
     public static <K, V> ConcurrentCacheFactory<K, V> getInstance(Class<K> clazzK, Class<V> clazzV) {
         return INSTANCE;
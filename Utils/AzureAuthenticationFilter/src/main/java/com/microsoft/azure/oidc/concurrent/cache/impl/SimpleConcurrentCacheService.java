@@ -5,12 +5,16 @@
 
 package com.microsoft.azure.oidc.concurrent.cache.impl;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheFactory;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 
 public class SimpleConcurrentCacheService implements ConcurrentCacheService {
     private final static ConcurrentCacheService INSTANCE = new SimpleConcurrentCacheService();
@@ -18,13 +22,31 @@ public class SimpleConcurrentCacheService implements ConcurrentCacheService {
     private final ConcurrentCacheFactory<String, Object> concurrentCacheFactory = SimpleConcurrentCacheFactory
             .getInstance(String.class, Object.class);
 
-    private final Map<String, ConcurrentCache<String, Object>> cacheMap = new HashMap<String, ConcurrentCache<String, Object>>();
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private final Map<String, ConcurrentCache<String, Object>> cacheMap = new ConcurrentHashMap<String, ConcurrentCache<String, Object>>();
 
-    @SuppressWarnings("unchecked")
     @Override
     public <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, Long maxSize) {
-        final ConcurrentCache<String, Object> concurrentCache = concurrentCacheFactory.createConcurrentCache(ttl, maxSize);
-        cacheMap.put(name, concurrentCache);
+        return createCache(clazzV, name, ttl, TimeUnit.MINUTES, maxSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> ConcurrentCache<String, V> createCache(Class<V> clazzV, String name, Long ttl, TimeUnit unit,
+            Long maxSize) {
+        final ConcurrentCache<String, Object> concurrentCache = new InstrumentedConcurrentCache<String, Object>(
+                concurrentCacheFactory.createConcurrentCache(ttl, unit, maxSize), metricsService, name);
+        final ConcurrentCache<String, Object> replaced = cacheMap.put(name, concurrentCache);
+        if (replaced != null) {
+            replaced.shutdownNow();
+        }
+        metricsService.registerGauge(String.format("cache.%s.size", name), new Gauge() {
+            @Override
+            public Long getValue() {
+                return concurrentCache.size();
+            }
+        });
         return (ConcurrentCache<String, V>) concurrentCache;
     }
 
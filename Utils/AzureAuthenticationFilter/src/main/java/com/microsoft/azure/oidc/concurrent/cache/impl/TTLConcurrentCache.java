@@ -5,86 +5,138 @@
 
 package com.microsoft.azure.oidc.concurrent.cache.impl;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.exception.PreconditionException;
 
+/**
+ * The TTL cache with lock-free reads and writes.
+ *
+ * All entries of a cache share the same TTL and an entry's expiry isn't extended once put, so the insertion order is
+ * also the expiry order. The entries are kept in a FIFO queue for O(1) eviction of the oldest one, both by the size
+ * bound and by the shared {@link ConcurrentCacheSweeper}. An expired entry is never returned even before it's swept.
+ */
 public final class TTLConcurrentCache<K, V> implements ConcurrentCache<K, V> {
-    private final ConcurrentMap<K, V> storeMap = new ConcurrentHashMap<K, V>();
-    private final ConcurrentMap<K, Long> timestampMap = new ConcurrentHashMap<K, Long>();
-    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
-    private final List<K> oldestKey = new LinkedList<K>();
-    private final Long ttl;
-    private final Long maxSize;
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(final K key, final V value, final long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private final ConcurrentMap<K, Entry<K, V>> storeMap = new ConcurrentHashMap<K, Entry<K, V>>();
+    // The entries in insertion order, which may contain the ones removed from the store map already
+    private final Queue<Entry<K, V>> insertionQueue = new ConcurrentLinkedQueue<Entry<K, V>>();
+    private final AtomicLong size = new AtomicLong();
+    private final long ttlMillis;
+    private final long maxSize;
 
     public TTLConcurrentCache(final Long ttl, final Long maxSize) {
-        this.ttl = ttl * 60000;
+        this(ttl, TimeUnit.MINUTES, maxSize);
+    }
+
+    public TTLConcurrentCache(final Long ttl, final TimeUnit unit, final Long maxSize) {
+        if (ttl == null || unit == null || maxSize == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        if (maxSize < 1) {
+            throw new PreconditionException("Max size should be positive");
+        }
+        this.ttlMillis = unit.toMillis(ttl);
         this.maxSize = maxSize;
-        scheduledExecutorService.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                synchronized (timestampMap) {
-                    final Iterator<K> iterator = oldestKey.iterator();
-                    while (iterator.hasNext()) {
-                        final K key = iterator.next();
-                        if (timestampMap.get(key) < (System.currentTimeMillis() - getTtl())) {
-                            timestampMap.remove(key);
-                            storeMap.remove(key);
-                            iterator.remove();
-                        }
-                        break;
-                    }
-                }
-            }
-        }, 1, 1, TimeUnit.MINUTES);
+        ConcurrentCacheSweeper.getInstance().register(this);
     }
 
     @Override
     public V get(Object key) {
-        removeIfExpired(key);
-        return storeMap.get(key);
+        final Entry<K, V> entry = storeMap.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            removeEntry(entry);
+            return null;
+        }
+        return entry.value;
     }
 
     @Override
     public V putIfAbsent(K key, V value) {
-        synchronized (timestampMap) {
-            while (timestampMap.size() > maxSize) {
-                final K oldest = oldestKey.get(0);
-                timestampMap.remove(oldest);
-                storeMap.remove(oldest);
-                oldestKey.remove(0);
+        final long now = System.currentTimeMillis();
+        final Entry<K, V> entry = new Entry<K, V>(key, value, now + ttlMillis);
+        while (true) {
+            final Entry<K, V> existing = storeMap.putIfAbsent(key, entry);
+            if (existing == null) {
+                insertionQueue.offer(entry);
+                if (size.incrementAndGet() > maxSize) {
+                    evictOverflow();
+                }
+                return null;
             }
-            if (!oldestKey.contains(key)) {
-                oldestKey.add(key);
+            if (!existing.isExpired(now)) {
+                return existing.value;
             }
-            timestampMap.putIfAbsent(key, System.currentTimeMillis());
-            return storeMap.putIfAbsent(key, value);
+            removeEntry(existing);
         }
     }
 
+    @Override
+    public Long size() {
+        return size.get();
+    }
+
     @Override
     public void shutdownNow() {
-        scheduledExecutorService.shutdownNow();
+        ConcurrentCacheSweeper.getInstance().unregister(this);
+        storeMap.clear();
+        insertionQueue.clear();
+        size.set(0);
     }
 
-    private void removeIfExpired(Object key) {
-        synchronized (timestampMap) {
-            if (timestampMap.containsKey(key) && timestampMap.get(key) < (System.currentTimeMillis() - getTtl())) {
-                timestampMap.remove(key);
-                storeMap.remove(key);
-                oldestKey.remove(key);
+    /**
+     * Evict the expired entries from the oldest, stopping at the first live one.
+     */
+    void sweep() {
+        final long now = System.currentTimeMillis();
+        Entry<K, V> oldest;
+        while ((oldest = insertionQueue.peek()) != null) {
+            if (storeMap.get(oldest.key) == oldest && !oldest.isExpired(now)) {
+                return;
             }
+            if (insertionQueue.remove(oldest)) {
+                removeEntry(oldest);
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        while (size.get() > maxSize) {
+            final Entry<K, V> oldest = insertionQueue.poll();
+            if (oldest == null) {
+                return;
+            }
+            removeEntry(oldest);
         }
     }
 
-    private long getTtl() {
-        return ttl;
+    private void removeEntry(final Entry<K, V> entry) {
+        if (storeMap.remove(entry.key, entry)) {
+            size.decrementAndGet();
+        }
     }
 }
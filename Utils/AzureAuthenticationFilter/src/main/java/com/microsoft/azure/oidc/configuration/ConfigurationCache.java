@@ -5,8 +5,16 @@
 
 package com.microsoft.azure.oidc.configuration;
 
+import com.microsoft.azure.oidc.common.name.Name;
+
 public interface ConfigurationCache {
 
+    void initialise(Long ttlMinutes);
+
     Configuration load();
 
+    Configuration loadForUnknownKey(Name keyName);
+
+    void shutdownNow();
+
 }
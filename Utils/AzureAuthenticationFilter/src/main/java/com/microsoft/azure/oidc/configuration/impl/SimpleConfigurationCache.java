@@ -5,38 +5,136 @@
 
 package com.microsoft.azure.oidc.configuration.impl;
 
-import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
-import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.oidc.common.name.Name;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.ConfigurationLoader;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.future.FutureExecutor;
 import com.microsoft.azure.oidc.future.FutureHelper;
+import com.microsoft.azure.oidc.future.impl.SimpleFutureExecutor;
 import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 
+/**
+ * The refresh-ahead cache of the OpenID configuration, including the key store.
+ *
+ * The configuration is reloaded in the background before it expires, and the last good one is served while a reload
+ * is in flight or failing, so no request waits for the reload except the very first one. A token signed by an
+ * unknown key triggers an immediate reload for the key rotation, at most once per
+ * {@link #MIN_UNKNOWN_KEY_REFRESH_MILLIS}.
+ */
 public class SimpleConfigurationCache implements ConfigurationCache {
     private static final ConfigurationCache INSTANCE = new SimpleConfigurationCache();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleConfigurationCache.class);
+    private static final long DEFAULT_TTL_MINUTES = 60L;
+    private static final long MIN_UNKNOWN_KEY_REFRESH_MILLIS = 60000L;
 
     private final ConfigurationLoader configurationLoader = SimpleConfigurationLoader.getInstance();
 
     private final FutureHelper futureHelper = SimpleFutureHelper.getInstance();
 
-    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+    private final FutureExecutor futureExecutor = SimpleFutureExecutor.getInstance();
+
+    private final AtomicLong lastUnknownKeyRefresh = new AtomicLong();
+
+    private volatile Configuration configuration;
+
+    private volatile long loadedAt;
+
+    private volatile long ttlMillis = TimeUnit.MINUTES.toMillis(DEFAULT_TTL_MINUTES);
+
+    private ScheduledExecutorService refresher;
+
+    @Override
+    public synchronized void initialise(final Long ttlMinutes) {
+        if (ttlMinutes == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        shutdownNow();
+        ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        // Refresh ahead at 80% of the TTL, leaving time to retry before the configuration expires
+        final long refreshMillis = ttlMillis * 4 / 5;
+        refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "oidc-configuration-refresher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        refresher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                reload();
+            }
+        }, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
 
     @Override
     public Configuration load() {
-        final String key = "SINGLE";
-        final Configuration entry = concurrentCacheService.getCache(Configuration.class, "configurationCache").get(key);
-        if (entry != null) {
-            return entry;
+        final Configuration entry = configuration;
+        if (entry == null) {
+            return reload();
+        }
+        if (System.currentTimeMillis() - loadedAt > ttlMillis) {
+            // The background refresh is failing, keep serving the last good one and retry without waiting
+            reloadAsync();
         }
+        return entry;
+    }
+
+    @Override
+    public Configuration loadForUnknownKey(final Name keyName) {
+        if (keyName == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final long now = System.currentTimeMillis();
+        final long last = lastUnknownKeyRefresh.get();
+        if (now - last < MIN_UNKNOWN_KEY_REFRESH_MILLIS || !lastUnknownKeyRefresh.compareAndSet(last, now)) {
+            return load();
+        }
+        LOGGER.info("Reloading configuration for unknown key " + keyName.getName());
+        final Configuration result = reload();
+        return result == null ? configuration : result;
+    }
+
+    @Override
+    public synchronized void shutdownNow() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private Configuration reload() {
         final Configuration result = futureHelper.getResult(configurationLoader.loadAsync());
         if (result == null) {
-            return result;
+            LOGGER.error("Error reloading configuration, keep using the last one");
+            return configuration;
         }
-        concurrentCacheService.getCache(Configuration.class, "configurationCache").putIfAbsent(key, result);
+        configuration = result;
+        loadedAt = System.currentTimeMillis();
         return result;
     }
 
+    private void reloadAsync() {
+        futureExecutor.submit("configurationRefresh", new Callable<Configuration>() {
+            public Configuration call() throws Exception {
+                return reload();
+            }
+        });
+    }
+
     public static ConfigurationCache getInstance() {
         return INSTANCE;
     }
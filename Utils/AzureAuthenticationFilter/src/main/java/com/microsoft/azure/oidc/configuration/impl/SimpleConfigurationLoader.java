@@ -8,8 +8,6 @@ package com.microsoft.azure.oidc.configuration.impl;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
@@ -24,8 +22,14 @@ import com.microsoft.azure.oidc.configuration.ConfigurationFactory;
 import com.microsoft.azure.oidc.configuration.ConfigurationLoader;
 import com.microsoft.azure.oidc.configuration.endpoint.EndPoint;
 import com.microsoft.azure.oidc.configuration.key.Key;
+import com.microsoft.azure.oidc.configuration.key.PublicKeyCache;
+import com.microsoft.azure.oidc.configuration.key.impl.SimplePublicKeyCache;
+import com.microsoft.azure.oidc.future.FutureExecutor;
 import com.microsoft.azure.oidc.future.FutureHelper;
+import com.microsoft.azure.oidc.future.impl.SimpleFutureExecutor;
 import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.openid.keystore.KeyStoreLoader;
 import com.microsoft.azure.oidc.openid.keystore.KeyStoreParser;
 import com.microsoft.azure.oidc.openid.keystore.impl.SimpleKeyStoreLoader;
@@ -51,19 +55,32 @@ public final class SimpleConfigurationLoader implements ConfigurationLoader {
 
     private final FutureHelper futureHelper = SimpleFutureHelper.getInstance();
 
+    private final PublicKeyCache publicKeyCache = SimplePublicKeyCache.getInstance();
+
+    private final FutureExecutor futureExecutor = SimpleFutureExecutor.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @Override
     public Future<Configuration> loadAsync() {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<Configuration> future = executorService.submit(new Callable<Configuration>() {
+        return futureExecutor.submit("configuration", new Callable<Configuration>() {
             public Configuration call() throws Exception {
                 return load();
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     public Configuration load() {
+        final long start = System.nanoTime();
+        final Configuration configuration = loadConfiguration();
+        metricsService.recordLatency("remote.configuration.load", System.nanoTime() - start);
+        if (configuration == null) {
+            metricsService.increment("remote.configuration.load.error");
+        }
+        return configuration;
+    }
+
+    private Configuration loadConfiguration() {
         try {
             final JsonNode wellKnownNode = futureHelper.getResult(wellKnownLoader.loadAsync());
             if (wellKnownNode == null) {
@@ -81,6 +98,7 @@ public final class SimpleConfigurationLoader implements ConfigurationLoader {
                 return null;
             }
             final Map<Name, Key> keys = keyStoreParser.getKeys(keyStoreNode);
+            publicKeyCache.reload(keys);
             return configurationFactory.createConfiguration(algorithms, keys, issuer, authenticationEndPoint,
                     logoutEndPoint);
         } catch (RuntimeException e) {
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.configuration.key;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Map;
+
+import com.microsoft.azure.oidc.common.name.Name;
+
+public interface PublicKeyCache {
+
+    PublicKey getPublicKey(Name name, Key key, String keyAlgorithm)
+            throws NoSuchAlgorithmException, InvalidKeySpecException;
+
+    void reload(Map<Name, Key> keys);
+
+}
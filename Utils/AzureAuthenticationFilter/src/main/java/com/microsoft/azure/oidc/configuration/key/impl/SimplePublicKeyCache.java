@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.configuration.key.impl;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.codec.binary.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.oidc.common.name.Name;
+import com.microsoft.azure.oidc.configuration.key.Key;
+import com.microsoft.azure.oidc.configuration.key.PublicKeyCache;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+
+/**
+ * The verification keys built from the key store, keyed by the key name (kid).
+ *
+ * The keys are built when the key store is loaded, so the token validation doesn't decode the modulus and exponent
+ * on every request. An entry is rebuilt if the key of the same name is rotated, and removed if the key is gone from
+ * the reloaded key store.
+ */
+public final class SimplePublicKeyCache implements PublicKeyCache {
+    private static final PublicKeyCache INSTANCE = new SimplePublicKeyCache();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimplePublicKeyCache.class);
+    private static final String DEFAULT_KEY_ALGORITHM = "RSA";
+
+    private static final class Entry {
+        private final Key key;
+        private final String keyAlgorithm;
+        private final PublicKey publicKey;
+
+        private Entry(final Key key, final String keyAlgorithm, final PublicKey publicKey) {
+            this.key = key;
+            this.keyAlgorithm = keyAlgorithm;
+            this.publicKey = publicKey;
+        }
+
+        private boolean isBuiltFrom(final Key key, final String keyAlgorithm) {
+            return this.key.equals(key) && this.keyAlgorithm.equals(keyAlgorithm);
+        }
+    }
+
+    private final ConcurrentMap<Name, Entry> entries = new ConcurrentHashMap<Name, Entry>();
+
+    @Override
+    public PublicKey getPublicKey(final Name name, final Key key, final String keyAlgorithm)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        if (name == null || key == null || keyAlgorithm == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final Entry entry = entries.get(name);
+        if (entry != null && entry.isBuiltFrom(key, keyAlgorithm)) {
+            return entry.publicKey;
+        }
+        final PublicKey publicKey = buildPublicKey(key, keyAlgorithm);
+        entries.put(name, new Entry(key, keyAlgorithm, publicKey));
+        return publicKey;
+    }
+
+    @Override
+    public void reload(final Map<Name, Key> keys) {
+        if (keys == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        entries.keySet().retainAll(keys.keySet());
+        for (final Map.Entry<Name, Key> key : keys.entrySet()) {
+            try {
+                getPublicKey(key.getKey(), key.getValue(), DEFAULT_KEY_ALGORITHM);
+            } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+                // Leave it to the validation, which builds the key with the token algorithm again
+                LOGGER.warn("Error building key " + key.getKey().getName(), e);
+            }
+        }
+    }
+
+    private PublicKey buildPublicKey(final Key key, final String keyAlgorithm)
+            throws NoSuchAlgorithmException, InvalidKeySpecException {
+        final Base64 decoder = new Base64();
+        final BigInteger exponent = new BigInteger(1, decoder.decode(key.getExponent().getValue()));
+        final BigInteger modulus = new BigInteger(1, decoder.decode(key.getSecret().getValue()));
+        final RSAPublicKeySpec pubKeySpec = new RSAPublicKeySpec(modulus, exponent);
+        return KeyFactory.getInstance(keyAlgorithm).generatePublic(pubKeySpec);
+    }
+
+    public static PublicKeyCache getInstance() {
+        return INSTANCE;
+    }
+}
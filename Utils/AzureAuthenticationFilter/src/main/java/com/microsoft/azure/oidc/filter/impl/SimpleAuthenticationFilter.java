@@ -18,7 +18,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
-import com.microsoft.azure.oidc.configuration.Configuration;
+import com.microsoft.azure.oidc.configuration.ConfigurationCache;
+import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
@@ -27,7 +28,13 @@ import com.microsoft.azure.oidc.filter.configuration.authentication.Authenticati
 import com.microsoft.azure.oidc.filter.configuration.authentication.impl.SimpleAuthenticationConfigurationService;
 import com.microsoft.azure.oidc.filter.helper.AuthenticationHelper;
 import com.microsoft.azure.oidc.filter.helper.impl.SimpleAuthenticationHelper;
+import com.microsoft.azure.oidc.graph.GraphCache;
+import com.microsoft.azure.oidc.graph.impl.SimpleGraphCache;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenCache;
+import com.microsoft.azure.oidc.token.impl.SimpleTokenCache;
 
 public final class SimpleAuthenticationFilter implements Filter {
     private static final String ALGORITHM_CONFIGURATION = "algorithmConfiguration";
@@ -37,6 +44,9 @@ public final class SimpleAuthenticationFilter implements Filter {
     private static final String NO_ERROR_STRING = null;
     private static final String NO_TOKEN_STRING = null;
     private static final Token NO_TOKEN = null;
+    private static final Long DEFAULT_SECURITY_CACHE_SIZE = 1000L;
+    private static final Long DEFAULT_TOKEN_CACHE_MAX_AGE = 300L;
+    private static final Long CONFIGURATION_TTL_MINUTES = 60L;
 
     private final AuthenticationHelper authenticationHelper = SimpleAuthenticationHelper.getInstance();
 
@@ -48,16 +58,48 @@ public final class SimpleAuthenticationFilter implements Filter {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final TokenCache tokenCache = SimpleTokenCache.getInstance();
+
+    private final ConfigurationCache configurationCache = SimpleConfigurationCache.getInstance();
+
+    private final GraphCache graphCache = SimpleGraphCache.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @Override
     public void destroy() {
         concurrentCacheService.shutdownNow();
+        configurationCache.shutdownNow();
+        metricsService.unregisterMBean();
     }
 
     @Override
     public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
             throws IOException, ServletException {
-        final HttpServletRequest httpRequest = (HttpServletRequest) request;
-        final HttpServletResponse httpResponse = (HttpServletResponse) response;
+        final long start = System.nanoTime();
+        final long[] chainNanos = { 0L };
+        // Time the rest of the chain, so the latency recorded is the filter's own
+        final FilterChain timedChain = new FilterChain() {
+            @Override
+            public void doFilter(final ServletRequest chainRequest, final ServletResponse chainResponse)
+                    throws IOException, ServletException {
+                final long chainStart = System.nanoTime();
+                try {
+                    chain.doFilter(chainRequest, chainResponse);
+                } finally {
+                    chainNanos[0] += System.nanoTime() - chainStart;
+                }
+            }
+        };
+        try {
+            doFilter((HttpServletRequest) request, (HttpServletResponse) response, timedChain);
+        } finally {
+            metricsService.recordLatency("filter.doFilter", System.nanoTime() - start - chainNanos[0]);
+        }
+    }
+
+    private void doFilter(final HttpServletRequest httpRequest, final HttpServletResponse httpResponse,
+            final FilterChain chain) throws IOException, ServletException {
         try {
             final String tokenString = getHelper().getTokenString(httpRequest, httpResponse, TOKEN_NAME);
             final String errorString = getHelper().getErrorString(httpRequest, ERROR_NAME);
@@ -67,11 +109,15 @@ public final class SimpleAuthenticationFilter implements Filter {
                 getHelper().doUnauthenticatedAction(chain, httpRequest, httpResponse, NO_TOKEN, isAuthenticationError);
                 return;
             }
-            final Token token = getHelper().getToken(tokenString);
-            final Boolean isInvalidToken = !getHelper().isValidToken(token);
-            if (isInvalidToken) {
-                getHelper().doInvalidTokenAction(httpResponse);
-                return;
+            final Token cachedToken = tokenCache.getValidToken(tokenString);
+            final Token token = cachedToken != null ? cachedToken : getHelper().getToken(tokenString);
+            if (cachedToken == null) {
+                final Boolean isInvalidToken = !getHelper().isValidToken(token);
+                if (isInvalidToken) {
+                    getHelper().doInvalidTokenAction(httpResponse);
+                    return;
+                }
+                tokenCache.putValidToken(tokenString, token);
             }
             final Boolean isActiveToken = getHelper().isActiveToken(token);
             if (isActiveToken) {
@@ -87,15 +133,20 @@ public final class SimpleAuthenticationFilter implements Filter {
     @Override
     public void init(final FilterConfig filterConfig) throws ServletException {
         final String securityCacheSizeString = filterConfig.getInitParameter("securityCacheSize");
-        if (securityCacheSizeString == null) {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L, 1000L);
-        } else {
-            concurrentCacheService.createCache(Boolean.class, "roleCache", 30L,
-                    Long.parseLong(securityCacheSizeString));
-        }
-        concurrentCacheService.createCache(Configuration.class, "configurationCache", 60L, 1L);
+        final Long securityCacheSize = securityCacheSizeString == null ? DEFAULT_SECURITY_CACHE_SIZE
+                : Long.parseLong(securityCacheSizeString);
+        final String tokenCacheMaxAgeString = filterConfig.getInitParameter("tokenCacheMaxAge");
+        final Long tokenCacheMaxAge = tokenCacheMaxAgeString == null ? DEFAULT_TOKEN_CACHE_MAX_AGE
+                : Long.parseLong(tokenCacheMaxAgeString);
+        concurrentCacheService.createCache(Boolean.class, "roleCache", 30L, securityCacheSize);
+        tokenCache.initialise(tokenCacheMaxAge, securityCacheSize);
+        final String roleLookupString = filterConfig.getInitParameter("roleLookup");
+        graphCache.initialise(!"single".equalsIgnoreCase(roleLookupString));
+        configurationCache.initialise(CONFIGURATION_TTL_MINUTES);
         authenticationConfigurationService.initialise(filterConfig, AUTHENTICATION_CONFIGURATION);
         algorithmConfigurationService.initialise(filterConfig, ALGORITHM_CONFIGURATION);
+        final String contextPath = filterConfig.getServletContext().getContextPath();
+        metricsService.registerMBean(contextPath == null || "".equals(contextPath) ? "/" : contextPath);
     }
 
     private AuthenticationHelper getHelper() {
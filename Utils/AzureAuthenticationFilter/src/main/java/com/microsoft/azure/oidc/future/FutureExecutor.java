@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.future;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+public interface FutureExecutor {
+
+    <T> Future<T> submit(String key, Callable<T> callable);
+
+}
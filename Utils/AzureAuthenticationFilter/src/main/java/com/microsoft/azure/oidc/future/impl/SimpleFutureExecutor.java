@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.future.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.future.FutureExecutor;
+
+/**
+ * The filter-wide bounded executor for the remote loading, such as the metadata, key store and Graph lookups.
+ *
+ * The loading is single-flight by key: a submission with the same key as an in-flight one gets the in-flight
+ * {@link Future} instead of sending another request. The idle threads time out, so nothing is left after the web
+ * application is stopped. The caller runs the loading by itself if the queue is full.
+ */
+public final class SimpleFutureExecutor implements FutureExecutor {
+    private static final FutureExecutor INSTANCE = new SimpleFutureExecutor();
+    private static final int MAX_THREADS = 8;
+    private static final int MAX_QUEUED = 100;
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final ConcurrentMap<String, Future<?>> inFlight = new ConcurrentHashMap<String, Future<?>>();
+    private final ThreadPoolExecutor executor;
+
+    private SimpleFutureExecutor() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(MAX_QUEUED), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "oidc-loader-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Future<T> submit(final String key, final Callable<T> callable) {
+        if (key == null || callable == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final FutureTask<T> task = new FutureTask<T>(callable) {
+            @Override
+            protected void done() {
+                inFlight.remove(key, this);
+            }
+        };
+        final Future<?> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            return (Future<T>) existing;
+        }
+        executor.execute(task);
+        return task;
+    }
+
+    public static FutureExecutor getInstance() {
+        return INSTANCE;
+    }
+}
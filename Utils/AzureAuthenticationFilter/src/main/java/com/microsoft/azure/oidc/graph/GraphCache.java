@@ -7,6 +7,8 @@ package com.microsoft.azure.oidc.graph;
 
 public interface GraphCache {
 
+    void initialise(Boolean isBatchLookup);
+
     Boolean isUserInRole(String userID, String role);
 
 }
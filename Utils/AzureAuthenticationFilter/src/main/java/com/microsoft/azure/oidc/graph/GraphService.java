@@ -5,10 +5,14 @@
 
 package com.microsoft.azure.oidc.graph;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 public interface GraphService {
 
     Future<Boolean> isUserInRoleAsync(String userID, String role);
 
+    Future<Map<String, Boolean>> getUserRolesAsync(String userID, Collection<String> roles);
+
 }
@@ -5,8 +5,17 @@
 
 package com.microsoft.azure.oidc.graph.impl;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
 import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
 import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.filter.configuration.authentication.AuthenticationConfigurationService;
+import com.microsoft.azure.oidc.filter.configuration.authentication.impl.SimpleAuthenticationConfigurationService;
 import com.microsoft.azure.oidc.future.FutureHelper;
 import com.microsoft.azure.oidc.future.impl.SimpleFutureHelper;
 import com.microsoft.azure.oidc.graph.GraphCache;
@@ -21,6 +30,19 @@ public class SimpleGraphCache implements GraphCache {
 
     private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
 
+    private final AuthenticationConfigurationService authenticationConfigurationService = SimpleAuthenticationConfigurationService
+            .getInstance();
+
+    private volatile Boolean isBatchLookup = Boolean.TRUE;
+
+    @Override
+    public void initialise(final Boolean isBatchLookup) {
+        if (isBatchLookup == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        this.isBatchLookup = isBatchLookup;
+    }
+
     @Override
     public Boolean isUserInRole(String userID, String role) {
         final String key = String.format("%s:%s", userID, role);
@@ -28,6 +50,12 @@ public class SimpleGraphCache implements GraphCache {
         if (entry != null) {
             return entry;
         }
+        if (isBatchLookup) {
+            final Boolean batchResult = isUserInRoleByBatch(userID, role);
+            if (batchResult != null) {
+                return batchResult;
+            }
+        }
         final Boolean result = futureHelper.getResult(springGraphService.isUserInRoleAsync(userID, role));
         if (result == null) {
             return result;
@@ -36,6 +64,31 @@ public class SimpleGraphCache implements GraphCache {
         return result;
     }
 
+    /**
+     * Resolve all roles configured for authorisation of the user at once, and cache them all.
+     *
+     * @return whether the user is in the role, or null if the role isn't resolved
+     */
+    private Boolean isUserInRoleByBatch(final String userID, final String role) {
+        final Set<String> roles = new HashSet<String>();
+        roles.add(role);
+        if (authenticationConfigurationService.get() != null) {
+            for (final List<String> configuredRoles : authenticationConfigurationService.get().getAuthorisationRoleMap()
+                    .values()) {
+                roles.addAll(configuredRoles);
+            }
+        }
+        final Map<String, Boolean> result = futureHelper.getResult(springGraphService.getUserRolesAsync(userID, roles));
+        if (result == null) {
+            return null;
+        }
+        final ConcurrentCache<String, Boolean> cache = concurrentCacheService.getCache(Boolean.class, "roleCache");
+        for (final Map.Entry<String, Boolean> roleResult : result.entrySet()) {
+            cache.putIfAbsent(String.format("%s:%s", userID, roleResult.getKey()), roleResult.getValue());
+        }
+        return result.get(role);
+    }
+
     public static GraphCache getInstance() {
         return INSTANCE;
     }
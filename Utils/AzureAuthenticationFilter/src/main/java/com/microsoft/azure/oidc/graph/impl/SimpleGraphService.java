@@ -5,15 +5,22 @@
 
 package com.microsoft.azure.oidc.graph.impl;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -29,32 +36,97 @@ import com.microsoft.azure.oidc.application.settings.Tenant;
 import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSettingsLoader;
 import com.microsoft.azure.oidc.common.id.ID;
 import com.microsoft.azure.oidc.exception.GeneralException;
+import com.microsoft.azure.oidc.future.FutureExecutor;
+import com.microsoft.azure.oidc.future.impl.SimpleFutureExecutor;
 import com.microsoft.azure.oidc.graph.GraphService;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 
+/**
+ * The Graph API client for the role (group) membership.
+ *
+ * The app bearer token is cached until {@link #TOKEN_EXPIRY_MARGIN_MILLIS} before it expires, and the group object
+ * IDs resolved by name are kept along with it. The responses are always read to the end, so that the connections are
+ * kept alive in the JDK connection cache and reused by the following requests.
+ */
 public final class SimpleGraphService implements GraphService {
     private static final GraphService INSTANCE = new SimpleGraphService();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleGraphService.class);
+    private static final long TOKEN_EXPIRY_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final class BearerToken {
+        private final String value;
+        private final long expiresAt;
+
+        private BearerToken(final String value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
+    private final FutureExecutor futureExecutor = SimpleFutureExecutor.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final ConcurrentMap<String, String> groupIDs = new ConcurrentHashMap<String, String>();
+
+    private volatile BearerToken bearerToken;
+
     @Override
     public Future<Boolean> isUserInRoleAsync(final String userID, final String role) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+        return futureExecutor.submit(String.format("role:%s:%s", userID, role), new Callable<Boolean>() {
             public Boolean call() throws Exception {
                 return isUserInRole(userID, role);
             }
         });
-        executorService.shutdown();
-        return future;
+    }
+
+    @Override
+    public Future<Map<String, Boolean>> getUserRolesAsync(final String userID, final Collection<String> roles) {
+        return futureExecutor.submit(String.format("roles:%s", userID), new Callable<Map<String, Boolean>>() {
+            public Map<String, Boolean> call() throws Exception {
+                return getUserRoles(userID, roles);
+            }
+        });
+    }
+
+    private Map<String, Boolean> getUserRoles(final String userID, final Collection<String> roles) {
+        try {
+            final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
+            final String bearerToken = getBearerToken(applicationSettings);
+            if (bearerToken == null) {
+                return null;
+            }
+            final Set<String> memberGroupIDs = getMemberGroups(applicationSettings.getTenant(), userID, bearerToken);
+            if (memberGroupIDs == null) {
+                return null;
+            }
+            final Map<String, Boolean> result = new HashMap<String, Boolean>();
+            for (final String role : roles) {
+                final String roleID = getCachedGroupID(applicationSettings.getTenant(), role, bearerToken);
+                if (roleID != null) {
+                    result.put(role, memberGroupIDs.contains(roleID));
+                }
+            }
+            return result;
+        } catch (GeneralException e) {
+            LOGGER.error("General Exception", e);
+            return null;
+        } catch (RuntimeException e) {
+            LOGGER.error(e.getMessage(), e);
+            return null;
+        }
     }
 
     private Boolean isUserInRole(final String userID, final String role) {
         try {
             final ApplicationSettings applicationSettings = applicationSettingsLoader.load();
-            final String bearerToken = getBearerToken(applicationSettings.getTenant(),
-                    applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
-            final String roleID = getGroupID(applicationSettings.getTenant(), role, bearerToken);
+            final String bearerToken = getBearerToken(applicationSettings);
+            final String roleID = getCachedGroupID(applicationSettings.getTenant(), role, bearerToken);
             if (roleID == null) {
                 return Boolean.FALSE;
             }
@@ -70,6 +142,7 @@ public final class SimpleGraphService implements GraphService {
 
     private Boolean isUserInGroup(final Tenant tenant, final String userID, final String groupID,
             final String bearerToken) {
+        final long start = System.nanoTime();
         try {
             final String urlString = String.format("https://graph.windows.net/%s/isMemberOf?api-version=1.6",
                     tenant.getName());
@@ -81,28 +154,23 @@ public final class SimpleGraphService implements GraphService {
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
             connection.setRequestMethod("POST");
-            connection.setDoOutput(true);
-            connection.getOutputStream().write(payload.getBytes());
-            connection.getOutputStream().flush();
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
+            final JsonNode node = mapper.readTree(post(connection, payload));
             return node.get("value").asBoolean();
         } catch (IOException e) {
+            metricsService.increment("remote.graph.isMemberOf.error");
             LOGGER.error("IO Exception", e);
             return Boolean.FALSE;
         } catch (RuntimeException e) {
+            metricsService.increment("remote.graph.isMemberOf.error");
             LOGGER.error(e.getMessage(), e);
             return Boolean.FALSE;
+        } finally {
+            metricsService.recordLatency("remote.graph.isMemberOf", System.nanoTime() - start);
         }
     }
 
     private String getGroupID(final Tenant tenant, final String group, final String bearerToken) {
+        final long start = System.nanoTime();
         try {
             final String urlString = String.format(
                     "https://graph.windows.net/%s/groups?$filter=displayName%%20eq%%20'%s'&api-version=1.6",
@@ -112,28 +180,90 @@ public final class SimpleGraphService implements GraphService {
             connection.setRequestProperty("Host", "graph.windows.net");
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
+            final JsonNode node = mapper.readTree(readResponse(connection));
             for (final JsonNode groupNode : node.get("value")) {
                 return groupNode.get("objectId").asText();
             }
             return null;
         } catch (IOException e) {
+            metricsService.increment("remote.graph.groups.error");
+            LOGGER.error("IO Exception", e);
+            return null;
+        } catch (RuntimeException e) {
+            metricsService.increment("remote.graph.groups.error");
+            LOGGER.error(e.getMessage(), e);
+            return null;
+        } finally {
+            metricsService.recordLatency("remote.graph.groups", System.nanoTime() - start);
+        }
+    }
+
+    private String getBearerToken(final ApplicationSettings applicationSettings) {
+        final BearerToken cached = bearerToken;
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.value;
+        }
+        synchronized (this) {
+            if (bearerToken != cached) {
+                return bearerToken.value;
+            }
+            final BearerToken loaded = requestBearerToken(applicationSettings.getTenant(),
+                    applicationSettings.getPrincipalId(), applicationSettings.getPrincipalSecret());
+            if (loaded == null) {
+                return null;
+            }
+            // The groups may be renamed, resolve them again along with the new token
+            groupIDs.clear();
+            bearerToken = loaded;
+            return loaded.value;
+        }
+    }
+
+    private String getCachedGroupID(final Tenant tenant, final String group, final String bearerToken) {
+        final String cached = groupIDs.get(group);
+        if (cached != null) {
+            return cached;
+        }
+        final String groupID = getGroupID(tenant, group, bearerToken);
+        if (groupID != null) {
+            groupIDs.putIfAbsent(group, groupID);
+        }
+        return groupID;
+    }
+
+    private Set<String> getMemberGroups(final Tenant tenant, final String userID, final String bearerToken) {
+        final long start = System.nanoTime();
+        try {
+            final String urlString = String.format("https://graph.windows.net/%s/users/%s/getMemberGroups?api-version=1.6",
+                    tenant.getName(), URLEncoder.encode(userID, "UTF-8"));
+            final URL url = new URL(urlString);
+            final HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+            connection.setRequestProperty("Host", "graph.windows.net");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("Authorization", "Bearer " + bearerToken);
+            connection.setRequestMethod("POST");
+            final JsonNode node = mapper.readTree(post(connection, "{\"securityEnabledOnly\":false}"));
+            final Set<String> memberGroupIDs = new HashSet<String>();
+            for (final JsonNode groupIDNode : node.get("value")) {
+                memberGroupIDs.add(groupIDNode.asText());
+            }
+            return memberGroupIDs;
+        } catch (IOException e) {
+            metricsService.increment("remote.graph.getMemberGroups.error");
             LOGGER.error("IO Exception", e);
             return null;
         } catch (RuntimeException e) {
+            metricsService.increment("remote.graph.getMemberGroups.error");
             LOGGER.error(e.getMessage(), e);
             return null;
+        } finally {
+            metricsService.recordLatency("remote.graph.getMemberGroups", System.nanoTime() - start);
         }
     }
 
-    private String getBearerToken(final Tenant tenant, final ID principal, final Secret secret) {
+    private BearerToken requestBearerToken(final Tenant tenant, final ID principal, final Secret secret) {
+        final long start = System.nanoTime();
         try {
             final String payload = String.format(
                     "grant_type=client_credentials&client_id=%s&client_secret=%s&resource=%s", principal.getValue(),
@@ -146,25 +276,54 @@ public final class SimpleGraphService implements GraphService {
             connection.setRequestProperty("Host", "login.microsoftonline.com");
             connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
             connection.setRequestProperty("Accept", "application/json");
-            connection.setDoOutput(true);
-            connection.getOutputStream().write(payload.getBytes());
-            connection.getOutputStream().flush();
-            final StringBuilder result = new StringBuilder();
-            try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    result.append(line);
-                }
-            }
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode node = mapper.readValue(result.toString().getBytes(), JsonNode.class);
-            return node.get("access_token").asText();
+            final JsonNode node = mapper.readTree(post(connection, payload));
+            final long expiresIn = node.has("expires_in") ? node.get("expires_in").asLong() : 0L;
+            return new BearerToken(node.get("access_token").asText(),
+                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expiresIn) - TOKEN_EXPIRY_MARGIN_MILLIS);
         } catch (IOException e) {
+            metricsService.increment("remote.graph.token.error");
             LOGGER.error("IO Exception", e);
             return null;
         } catch (RuntimeException e) {
+            metricsService.increment("remote.graph.token.error");
             LOGGER.error(e.getMessage(), e);
             return null;
+        } finally {
+            metricsService.recordLatency("remote.graph.token", System.nanoTime() - start);
+        }
+    }
+
+    private byte[] post(final HttpsURLConnection connection, final String payload) throws IOException {
+        connection.setDoOutput(true);
+        try (final OutputStream out = connection.getOutputStream()) {
+            out.write(payload.getBytes("UTF-8"));
+        }
+        return readResponse(connection);
+    }
+
+    private byte[] readResponse(final HttpsURLConnection connection) throws IOException {
+        try (final InputStream in = connection.getInputStream()) {
+            return readFully(in);
+        } catch (IOException e) {
+            // Drain the error response, otherwise the connection can't be reused
+            final InputStream error = connection.getErrorStream();
+            if (error != null) {
+                try (final InputStream in = error) {
+                    readFully(in);
+                } catch (IOException ignored) {
+                }
+            }
+            throw e;
+        }
+    }
+
+    private byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
         }
+        return out.toByteArray();
     }
 
     public static GraphService getInstance() {
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics;
+
+public interface Latency {
+
+    Long getCount();
+
+    Long getMeanMicros();
+
+    Long getP50Micros();
+
+    Long getP90Micros();
+
+    Long getP99Micros();
+
+    Long getMaxMicros();
+
+}
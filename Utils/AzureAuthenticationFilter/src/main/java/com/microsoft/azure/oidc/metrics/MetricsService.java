@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics;
+
+import java.util.Map;
+
+public interface MetricsService {
+
+    void increment(String name);
+
+    void recordLatency(String name, Long elapsedNanos);
+
+    void registerGauge(String name, Gauge gauge);
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    Map<String, Latency> getLatencies();
+
+    void reset();
+
+    void registerMBean(String contextName);
+
+    void unregisterMBean();
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.microsoft.azure.oidc.metrics.Latency;
+
+/**
+ * The lock-free latency histogram with power of two microsecond buckets.
+ *
+ * Bucket 0 counts the latencies under a microsecond and bucket i the ones in [2^(i-1), 2^i) microseconds, so a
+ * percentile is reported as the upper bound of its bucket, at most twice the real value.
+ */
+final class LatencyHistogram {
+    private static final int BUCKET_COUNT = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(final long elapsedNanos) {
+        final long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        final int bucket = Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+        buckets.incrementAndGet(bucket);
+        totalMicros.addAndGet(micros);
+        for (long max = maxMicros.get(); micros > max; max = maxMicros.get()) {
+            if (maxMicros.compareAndSet(max, micros)) {
+                break;
+            }
+        }
+    }
+
+    Latency getSnapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+            count += counts[bucket];
+        }
+        final long max = maxMicros.get();
+        return new SimpleLatency(count, count == 0L ? 0L : totalMicros.get() / count,
+                getPercentile(counts, count, 0.50, max), getPercentile(counts, count, 0.90, max),
+                getPercentile(counts, count, 0.99, max), max);
+    }
+
+    private static long getPercentile(final long[] counts, final long count, final double quantile, final long max) {
+        if (count == 0L) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(count * quantile);
+        long cumulative = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulative += counts[bucket];
+            if (cumulative >= rank) {
+                return Math.min(bucket == 0 ? 0L : (1L << bucket) - 1, max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+import com.microsoft.azure.oidc.metrics.Latency;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+
+/**
+ * The read-only view of the metrics for JMX, with one Long attribute per counter and gauge, and one per statistic of
+ * each latency, such as "filter.doFilter.p99Micros". Metrics recorded for the first time show up the next time the
+ * MBean info is read.
+ */
+final class MetricsMBean implements DynamicMBean {
+    private static final String RESET_OPERATION = "reset";
+
+    private final MetricsService metricsService;
+
+    MetricsMBean(final MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+        final Long value = getValues().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(String.format("%s is read-only", attribute.getName()));
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes) {
+        final Map<String, Long> values = getValues();
+        final AttributeList list = new AttributeList();
+        for (final String attribute : attributes) {
+            if (values.containsKey(attribute)) {
+                list.add(new Attribute(attribute, values.get(attribute)));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+            throws ReflectionException {
+        if (RESET_OPERATION.equals(actionName)) {
+            metricsService.reset();
+            return null;
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final Map<String, Long> values = getValues();
+        final MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int index = 0;
+        for (final String name : values.keySet()) {
+            attributes[index++] = new MBeanAttributeInfo(name, Long.class.getName(), name, true, false, false);
+        }
+        final MBeanOperationInfo[] operations = { new MBeanOperationInfo(RESET_OPERATION,
+                "Reset the counters and latencies", new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION) };
+        return new MBeanInfo(getClass().getName(), "Azure Authentication Filter metrics", attributes, null,
+                operations, null);
+    }
+
+    private Map<String, Long> getValues() {
+        final Map<String, Long> values = new TreeMap<String, Long>();
+        values.putAll(metricsService.getCounters());
+        values.putAll(metricsService.getGauges());
+        for (final Map.Entry<String, Latency> entry : metricsService.getLatencies().entrySet()) {
+            final Latency latency = entry.getValue();
+            values.put(entry.getKey() + ".count", latency.getCount());
+            values.put(entry.getKey() + ".meanMicros", latency.getMeanMicros());
+            values.put(entry.getKey() + ".p50Micros", latency.getP50Micros());
+            values.put(entry.getKey() + ".p90Micros", latency.getP90Micros());
+            values.put(entry.getKey() + ".p99Micros", latency.getP99Micros());
+            values.put(entry.getKey() + ".maxMicros", latency.getMaxMicros());
+        }
+        return values;
+    }
+}
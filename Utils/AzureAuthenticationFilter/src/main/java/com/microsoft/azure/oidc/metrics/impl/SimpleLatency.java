@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import com.microsoft.azure.oidc.metrics.Latency;
+
+public final class SimpleLatency implements Latency {
+    private final Long count;
+    private final Long meanMicros;
+    private final Long p50Micros;
+    private final Long p90Micros;
+    private final Long p99Micros;
+    private final Long maxMicros;
+
+    public SimpleLatency(final Long count, final Long meanMicros, final Long p50Micros, final Long p90Micros,
+            final Long p99Micros, final Long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    @Override
+    public Long getCount() {
+        return count;
+    }
+
+    @Override
+    public Long getMeanMicros() {
+        return meanMicros;
+    }
+
+    @Override
+    public Long getP50Micros() {
+        return p50Micros;
+    }
+
+    @Override
+    public Long getP90Micros() {
+        return p90Micros;
+    }
+
+    @Override
+    public Long getP99Micros() {
+        return p99Micros;
+    }
+
+    @Override
+    public Long getMaxMicros() {
+        return maxMicros;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.metrics.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.metrics.Gauge;
+import com.microsoft.azure.oidc.metrics.Latency;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+
+/**
+ * The in-memory counters, gauges and latency histograms of the filter, created on their first use.
+ *
+ * Recording is lock-free so it can be called on every request. The metrics are exposed as one MBean per web
+ * application, named "com.microsoft.azure.oidc:type=Metrics,context=&lt;context path&gt;".
+ */
+public final class SimpleMetricsService implements MetricsService {
+    private static final MetricsService INSTANCE = new SimpleMetricsService();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleMetricsService.class);
+    private static final String DOMAIN = "com.microsoft.azure.oidc";
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+    private ObjectName objectName;
+
+    @Override
+    public void increment(final String name) {
+        if (name == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public void recordLatency(final String name, final Long elapsedNanos) {
+        if (name == null || elapsedNanos == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            final LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        histogram.record(elapsedNanos);
+    }
+
+    @Override
+    public void registerGauge(final String name, final Gauge gauge) {
+        if (name == null || gauge == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        gauges.put(name, gauge);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> snapshot = new TreeMap<String, Long>();
+        for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> snapshot = new TreeMap<String, Long>();
+        for (final Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().getValue());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public Map<String, Latency> getLatencies() {
+        final Map<String, Latency> snapshot = new TreeMap<String, Latency>();
+        for (final Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().getSnapshot());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+        histograms.clear();
+    }
+
+    @Override
+    public synchronized void registerMBean(final String contextName) {
+        if (contextName == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        if (objectName != null) {
+            return;
+        }
+        try {
+            final ObjectName name = new ObjectName(
+                    String.format("%s:type=Metrics,context=%s", DOMAIN, ObjectName.quote(contextName)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), name);
+            objectName = name;
+        } catch (InstanceAlreadyExistsException e) {
+            LOGGER.warn("Metrics MBean is already registered for the context {}", contextName);
+        } catch (JMException e) {
+            LOGGER.error("Error registering metrics MBean", e);
+        }
+    }
+
+    @Override
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.error("Error unregistering metrics MBean", e);
+        }
+        objectName = null;
+    }
+
+    public static MetricsService getInstance() {
+        return INSTANCE;
+    }
+}
@@ -11,8 +11,6 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
@@ -22,31 +20,37 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.oidc.configuration.endpoint.EndPoint;
 import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.future.FutureExecutor;
+import com.microsoft.azure.oidc.future.impl.SimpleFutureExecutor;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
 import com.microsoft.azure.oidc.openid.keystore.KeyStoreLoader;
 
 public final class SimpleKeyStoreLoader implements KeyStoreLoader {
     private static final KeyStoreLoader INSTANCE = new SimpleKeyStoreLoader();
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleKeyStoreLoader.class);
 
+    private final FutureExecutor futureExecutor = SimpleFutureExecutor.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
     @Override
     public Future<JsonNode> loadAsync(final EndPoint endPoint) {
         if (endPoint == null) {
             throw new PreconditionException("Required parameter is null");
         }
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<JsonNode> future = executorService.submit(new Callable<JsonNode>() {
+        return futureExecutor.submit("keystore:" + endPoint.getName(), new Callable<JsonNode>() {
             public JsonNode call() throws Exception {
                 return load(endPoint);
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     public JsonNode load(final EndPoint endPoint) {
         if (endPoint == null) {
             throw new PreconditionException("Required parameter is null");
         }
+        final long start = System.nanoTime();
         try {
             final StringBuilder builder = new StringBuilder();
             final URL url = new URL(endPoint.getName());
@@ -62,7 +66,10 @@ public final class SimpleKeyStoreLoader implements KeyStoreLoader {
             LOGGER.error("IO Exception", e);
         } catch (RuntimeException e) {
             LOGGER.error(e.getMessage(), e);
+        } finally {
+            metricsService.recordLatency("remote.keystore.load", System.nanoTime() - start);
         }
+        metricsService.increment("remote.keystore.load.error");
         return null;
     }
 
@@ -11,8 +11,6 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
@@ -23,6 +21,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.oidc.application.settings.ApplicationSettings;
 import com.microsoft.azure.oidc.application.settings.ApplicationSettingsLoader;
 import com.microsoft.azure.oidc.application.settings.impl.SimpleApplicationSettingsLoader;
+import com.microsoft.azure.oidc.future.FutureExecutor;
+import com.microsoft.azure.oidc.future.impl.SimpleFutureExecutor;
 import com.microsoft.azure.oidc.openid.wellknown.WellKnownLoader;
 
 public final class SimpleWellKnownLoader implements WellKnownLoader {
@@ -31,16 +31,15 @@ public final class SimpleWellKnownLoader implements WellKnownLoader {
 
     private final ApplicationSettingsLoader applicationSettingsLoader = SimpleApplicationSettingsLoader.getInstance();
 
+    private final FutureExecutor futureExecutor = SimpleFutureExecutor.getInstance();
+
     @Override
     public Future<JsonNode> loadAsync() {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor();
-        final Future<JsonNode> future = executorService.submit(new Callable<JsonNode>() {
+        return futureExecutor.submit("wellknown", new Callable<JsonNode>() {
             public JsonNode call() throws Exception {
                 return load();
             }
         });
-        executorService.shutdown();
-        return future;
     }
 
     public JsonNode load() {
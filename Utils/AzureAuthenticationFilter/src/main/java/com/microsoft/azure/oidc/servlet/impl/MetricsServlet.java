@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.servlet.impl;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.oidc.metrics.Latency;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
+
+/**
+ * The JSON view of the filter metrics. It isn't mapped by default, map it in web.xml to a URI which is protected by
+ * the authorisationUriPatterns if the metrics shouldn't be public. A POST with reset=true resets the metrics.
+ */
+public final class MetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response)
+            throws ServletException, IOException {
+        final ObjectNode root = mapper.createObjectNode();
+        final ObjectNode counters = root.putObject("counters");
+        for (final Map.Entry<String, Long> entry : metricsService.getCounters().entrySet()) {
+            counters.put(entry.getKey(), entry.getValue());
+        }
+        final ObjectNode gauges = root.putObject("gauges");
+        for (final Map.Entry<String, Long> entry : metricsService.getGauges().entrySet()) {
+            gauges.put(entry.getKey(), entry.getValue());
+        }
+        final ObjectNode latencies = root.putObject("latencies");
+        for (final Map.Entry<String, Latency> entry : metricsService.getLatencies().entrySet()) {
+            final Latency latency = entry.getValue();
+            final ObjectNode node = latencies.putObject(entry.getKey());
+            node.put("count", latency.getCount());
+            node.put("meanMicros", latency.getMeanMicros());
+            node.put("p50Micros", latency.getP50Micros());
+            node.put("p90Micros", latency.getP90Micros());
+            node.put("p99Micros", latency.getP99Micros());
+            node.put("maxMicros", latency.getMaxMicros());
+        }
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        mapper.writeValue(response.getOutputStream(), root);
+    }
+
+    @Override
+    protected void doPost(final HttpServletRequest request, final HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!"true".equals(request.getParameter("reset"))) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Only reset=true is supported");
+            return;
+        }
+        metricsService.reset();
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token;
+
+public interface TokenCache {
+
+    void initialise(Long maxAgeSeconds, Long maxSize);
+
+    Token getValidToken(String tokenString);
+
+    void putValidToken(String tokenString, Token token);
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.oidc.token.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCache;
+import com.microsoft.azure.oidc.concurrent.cache.ConcurrentCacheService;
+import com.microsoft.azure.oidc.concurrent.cache.impl.SimpleConcurrentCacheService;
+import com.microsoft.azure.oidc.configuration.Configuration;
+import com.microsoft.azure.oidc.configuration.ConfigurationCache;
+import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
+import com.microsoft.azure.oidc.configuration.key.Key;
+import com.microsoft.azure.oidc.exception.PreconditionException;
+import com.microsoft.azure.oidc.metrics.MetricsService;
+import com.microsoft.azure.oidc.metrics.impl.SimpleMetricsService;
+import com.microsoft.azure.oidc.token.Token;
+import com.microsoft.azure.oidc.token.TokenCache;
+import com.microsoft.azure.oidc.token.TokenValidator;
+
+/**
+ * The parsed tokens which passed the validation, keyed by the SHA-256 digest of the raw token.
+ *
+ * A cached token is used until its expiration or the max age, whichever comes first. It's also dropped once the key
+ * it was verified with is rotated or gone from the key store.
+ */
+public final class SimpleTokenCache implements TokenCache {
+    private static final TokenCache INSTANCE = new SimpleTokenCache();
+    private static final String CACHE_NAME = "tokenCache";
+    private static final String STALE_METRIC_NAME = "cache.tokenCache.stale";
+
+    static final class ValidatedToken {
+        private final Token token;
+        private final Key key;
+
+        private ValidatedToken(final Token token, final Key key) {
+            this.token = token;
+            this.key = key;
+        }
+    }
+
+    private final ConcurrentCacheService concurrentCacheService = SimpleConcurrentCacheService.getInstance();
+
+    private final ConfigurationCache configurationCache = SimpleConfigurationCache.getInstance();
+
+    private final TokenValidator tokenValidator = SimpleTokenValidator.getInstance();
+
+    private final MetricsService metricsService = SimpleMetricsService.getInstance();
+
+    @Override
+    public void initialise(final Long maxAgeSeconds, final Long maxSize) {
+        if (maxAgeSeconds == null || maxSize == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        concurrentCacheService.createCache(ValidatedToken.class, CACHE_NAME, maxAgeSeconds, TimeUnit.SECONDS, maxSize);
+    }
+
+    @Override
+    public Token getValidToken(final String tokenString) {
+        if (tokenString == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final ConcurrentCache<String, ValidatedToken> cache = getCache();
+        if (cache == null) {
+            return null;
+        }
+        final ValidatedToken entry = cache.get(DigestUtils.sha256Hex(tokenString));
+        if (entry == null) {
+            return null;
+        }
+        if (!tokenValidator.validateExpiration(entry.token) || !isKeyCurrent(entry)) {
+            metricsService.increment(STALE_METRIC_NAME);
+            return null;
+        }
+        return entry.token;
+    }
+
+    @Override
+    public void putValidToken(final String tokenString, final Token token) {
+        if (tokenString == null || token == null) {
+            throw new PreconditionException("Required parameter is null");
+        }
+        final ConcurrentCache<String, ValidatedToken> cache = getCache();
+        final Configuration configuration = configurationCache.load();
+        if (cache == null || configuration == null) {
+            return;
+        }
+        final Key key = configuration.getKey(token.getKeyName());
+        if (key == null) {
+            return;
+        }
+        cache.putIfAbsent(DigestUtils.sha256Hex(tokenString), new ValidatedToken(token, key));
+    }
+
+    private Boolean isKeyCurrent(final ValidatedToken entry) {
+        final Configuration configuration = configurationCache.load();
+        if (configuration == null) {
+            return Boolean.FALSE;
+        }
+        return entry.key.equals(configuration.getKey(entry.token.getKeyName()));
+    }
+
+    private ConcurrentCache<String, ValidatedToken> getCache() {
+        return concurrentCacheService.getCache(ValidatedToken.class, CACHE_NAME);
+    }
+
+    public static TokenCache getInstance() {
+        return INSTANCE;
+    }
+}
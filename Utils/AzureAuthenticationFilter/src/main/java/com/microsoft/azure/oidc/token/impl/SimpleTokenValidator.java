@@ -5,15 +5,14 @@
 
 package com.microsoft.azure.oidc.token.impl;
 
-import java.math.BigInteger;
 import java.security.InvalidKeyException;
-import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.RSAPublicKeySpec;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -28,6 +27,9 @@ import com.microsoft.azure.oidc.common.timestamp.impl.SimpleTimeStampFactory;
 import com.microsoft.azure.oidc.configuration.Configuration;
 import com.microsoft.azure.oidc.configuration.ConfigurationCache;
 import com.microsoft.azure.oidc.configuration.impl.SimpleConfigurationCache;
+import com.microsoft.azure.oidc.configuration.key.Key;
+import com.microsoft.azure.oidc.configuration.key.PublicKeyCache;
+import com.microsoft.azure.oidc.configuration.key.impl.SimplePublicKeyCache;
 import com.microsoft.azure.oidc.exception.GeneralException;
 import com.microsoft.azure.oidc.exception.PreconditionException;
 import com.microsoft.azure.oidc.filter.configuration.algorithm.AlgorithmConfigurationService;
@@ -47,6 +49,16 @@ public class SimpleTokenValidator implements TokenValidator {
 
     private final AlgorithmConfigurationService algorithmConfigurationService = SimpleAlgorithmConfigurationService.getInstance();
 
+    private final PublicKeyCache publicKeyCache = SimplePublicKeyCache.getInstance();
+
+    // Signature instances aren't thread safe, keep one per algorithm for each thread
+    private final ThreadLocal<Map<String, Signature>> signatures = new ThreadLocal<Map<String, Signature>>() {
+        @Override
+        protected Map<String, Signature> initialValue() {
+            return new HashMap<String, Signature>();
+        }
+    };
+
     @Override
     public Boolean validateSignature(final Token token) {
         if (token == null) {
@@ -55,26 +67,29 @@ public class SimpleTokenValidator implements TokenValidator {
         if (algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()).equals("HMAC")) {
             return Boolean.FALSE;
         }
-        final Configuration configuration = configurationCache.load();
+        Configuration configuration = configurationCache.load();
         if (configuration == null) {
             throw new GeneralException("Error loading configuration");
         }
+        if (configuration.getKey(token.getKeyName()) == null) {
+            // The key may be rotated after the configuration is loaded
+            configuration = configurationCache.loadForUnknownKey(token.getKeyName());
+        }
         try {
             final TimeStamp now = timeStampFactory.createTimeStamp(System.currentTimeMillis() / 1000);
-            if (configuration.getKey(token.getKeyName()).getNotBefore().compareTo(now) > 0) {
+            final Key key = configuration.getKey(token.getKeyName());
+            if (key == null) {
+                LOGGER.warn("Unknown key " + token.getKeyName().getName());
+                return Boolean.FALSE;
+            }
+            if (key.getNotBefore().compareTo(now) > 0) {
                 return Boolean.FALSE;
             }
             final Base64 decoder = new Base64();
-            final BigInteger exponent = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getExponent().getValue()));
-            final BigInteger modulus = new BigInteger(1,
-                    decoder.decode(configuration.getKey(token.getKeyName()).getSecret().getValue()));
-            final RSAPublicKeySpec pubKeySpec = new RSAPublicKeySpec(modulus, exponent);
-            final KeyFactory keyFactory = KeyFactory
-                    .getInstance(algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()));
-            final PublicKey pubKey = keyFactory.generatePublic(pubKeySpec);
-            final Signature sig = Signature
-                    .getInstance(algorithmConfigurationService.get().getAlgorithmMap().get(token.getAlgorithm().getName()));
+            final PublicKey pubKey = publicKeyCache.getPublicKey(token.getKeyName(), key,
+                    algorithmConfigurationService.get().getAlgorithmClassMap().get(token.getAlgorithm().getName()));
+            final Signature sig = getSignature(
+                    algorithmConfigurationService.get().getAlgorithmMap().get(token.getAlgorithm().getName()));
             sig.initVerify(pubKey);
             sig.update(token.getPayload().getValue().getBytes());
             return sig.verify(decoder.decode(token.getSignature().getValue()));
@@ -84,6 +99,16 @@ public class SimpleTokenValidator implements TokenValidator {
         }
     }
 
+    private Signature getSignature(final String algorithm) throws NoSuchAlgorithmException {
+        final Map<String, Signature> threadSignatures = signatures.get();
+        Signature sig = threadSignatures.get(algorithm);
+        if (sig == null) {
+            sig = Signature.getInstance(algorithm);
+            threadSignatures.put(algorithm, sig);
+        }
+        return sig;
+    }
+
     @Override
     public Boolean validateAudience(final Token token) {
         if (token == null) {
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.helpers.azure.sdk;
+
+import com.microsoft.azure.storage.RetryExponentialRetry;
+import com.microsoft.azure.storage.blob.BlobRequestOptions;
+import com.microsoft.azure.storage.blob.BlockEntry;
+import com.microsoft.azure.storage.blob.BlockSearchMode;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
+import com.microsoft.azure.storage.core.Base64;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.tooling.msservices.helpers.CallableSingleArg;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The block blob uploader, which uploads the blocks of a local file concurrently and commits the block list once
+ * all blocks are uploaded.
+ *
+ * Each upload thread reads its blocks into its own reusable buffer with positional reads, so the file isn't mapped and
+ * is released as soon as the uploading is done. Each block is uploaded with its transactional MD5 to be validated by
+ * the service, and retried with exponential back-off by the storage client.
+ */
+public class BlobBlockUploader {
+    public static final long MIN_BLOCK_SIZE = 1024 * 1024;
+    // The max block size supported by the Blob service since version 2016-05-31
+    public static final long MAX_BLOCK_SIZE = 100 * 1024 * 1024;
+    // The max count of committed blocks for a block blob
+    public static final int MAX_BLOCK_COUNT = 50000;
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_BLOCK_RETRIES = 3;
+
+    private static final int RETRY_DELTA_BACKOFF_MS = 1000;
+    // Each concurrent uploading has several blocks to keep the pipe busy
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int blockRetries = DEFAULT_BLOCK_RETRIES;
+    private long maxBlockSize = MAX_BLOCK_SIZE;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public BlobBlockUploader setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    public int getBlockRetries() {
+        return blockRetries;
+    }
+
+    public BlobBlockUploader setBlockRetries(int blockRetries) {
+        this.blockRetries = Math.max(0, blockRetries);
+        return this;
+    }
+
+    public long getMaxBlockSize() {
+        return maxBlockSize;
+    }
+
+    public BlobBlockUploader setMaxBlockSize(long maxBlockSize) {
+        this.maxBlockSize = Math.min(Math.max(MIN_BLOCK_SIZE, maxBlockSize), MAX_BLOCK_SIZE);
+        return this;
+    }
+
+    /**
+     * Get the block size adapted to the file length: small enough to spread the file over all concurrent uploads,
+     * large enough to fit the file into the max block count.
+     *
+     * @param length the file length
+     * @return the block size
+     */
+    public long getBlockSize(long length) {
+        final long spreadSize = ceilDiv(length, (long) parallelism * BLOCKS_PER_THREAD);
+        final long blockSize = Math.min(Math.max(spreadSize, MIN_BLOCK_SIZE), maxBlockSize);
+
+        return Math.max(blockSize, ceilDiv(length, MAX_BLOCK_COUNT));
+    }
+
+    /**
+     * Upload the file to the block blob, and commit it.
+     *
+     * @param blob the destination block blob
+     * @param file the source file
+     * @param processBlock the callback with the uploaded bytes after each block is uploaded, could be null
+     * @throws Exception for any block failed after retries, or the uploading is interrupted
+     */
+    public void upload(@NotNull final CloudBlockBlob blob,
+                       @NotNull final File file,
+                       @Nullable final CallableSingleArg<Void, Long> processBlock) throws Exception {
+        final long length = file.length();
+        final long blockSize = getBlockSize(length);
+
+        if (blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "The file %s is too large to upload as a block blob, length: %d", file, length));
+        }
+
+        final BlobRequestOptions options = new BlobRequestOptions();
+        options.setUseTransactionalContentMD5(true);
+        options.setRetryPolicyFactory(new RetryExponentialRetry(RETRY_DELTA_BACKOFF_MS, blockRetries));
+
+        final List<BlockEntry> blockEntries = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new BlockUploadThreadFactory());
+        // The buffers live with the upload threads, which end with this uploading
+        final ThreadLocal<ByteBuffer> blockBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate((int) blockSize));
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ExecutorCompletionService<Long> completionService = new ExecutorCompletionService<>(executor);
+
+            for (long position = 0; position < length; position += blockSize) {
+                final long size = Math.min(blockSize, length - position);
+                final String blockId = Base64.encode(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+                final long blockPosition = position;
+                final BlockEntry entry = new BlockEntry(blockId, BlockSearchMode.UNCOMMITTED);
+                entry.setSize(size);
+                blockEntries.add(entry);
+
+                completionService.submit(() -> {
+                    final ByteBuffer block = readBlock(channel, blockBuffers.get(), blockPosition, (int) size);
+                    blob.uploadBlock(blockId, new ByteBufferInputStream(block), size, null, options, null);
+
+                    return size;
+                });
+            }
+
+            long uploadedBytes = 0;
+            for (int i = 0; i < blockEntries.size(); i++) {
+                uploadedBytes += takeUploaded(completionService);
+
+                if (processBlock != null) {
+                    processBlock.call(uploadedBytes);
+                }
+            }
+
+            blob.commitBlockList(blockEntries, null, options, null);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @NotNull
+    private static ByteBuffer readBlock(@NotNull FileChannel channel,
+                                        @NotNull ByteBuffer buffer,
+                                        long position,
+                                        int size) throws IOException {
+        buffer.clear();
+        buffer.limit(size);
+
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException(String.format(
+                        "The file is truncated while uploading, %d bytes expected at %d", size, position));
+            }
+        }
+
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static long takeUploaded(@NotNull ExecutorCompletionService<Long> completionService) throws Exception {
+        final Future<Long> uploaded = completionService.take();
+
+        try {
+            return uploaded.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+
+            throw ex;
+        } catch (CancellationException ex) {
+            throw new InterruptedException("The block uploading is cancelled");
+        }
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private static final class BlockUploadThreadFactory implements ThreadFactory {
+        private static final AtomicInteger poolIndex = new AtomicInteger();
+
+        private final int pool = poolIndex.incrementAndGet();
+        private final AtomicInteger threadIndex = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable runnable) {
+            final Thread thread = new Thread(
+                    runnable, String.format("blob-block-upload-%d-%d", pool, threadIndex.incrementAndGet()));
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+    /**
+     * The input stream over a byte buffer supporting mark and reset, which the storage client needs to calculate
+     * the block MD5 and to replay the block for retries.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        @NotNull
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(@NotNull ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+            this.buffer.mark();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NotNull byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            final int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            buffer.reset();
+        }
+    }
+}
@@ -34,6 +34,7 @@ import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import com.microsoft.azuretools.utils.StorageAccoutUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URISyntaxException;
@@ -388,6 +389,44 @@ public class StorageClientSDKManager {
         }
     }
 
+    /**
+     * Upload the local file to the block blob with concurrent block uploading, then commit it.
+     *
+     * @param connectionString the storage account connection string
+     * @param blobContainer the destination container
+     * @param filePath the destination blob path in the container
+     * @param file the local file to upload
+     * @param processBlock the callback with the uploaded bytes after each block is uploaded, could be null
+     * @param uploader the block uploader with the parallelism and block size settings
+     * @throws AzureCmdException for the uploading failure
+     */
+    public void uploadBlobFileContent(@NotNull String connectionString,
+                                      @NotNull BlobContainer blobContainer,
+                                      @NotNull String filePath,
+                                      @NotNull File file,
+                                      @Nullable CallableSingleArg<Void, Long> processBlock,
+                                      @NotNull BlobBlockUploader uploader)
+            throws AzureCmdException {
+        try {
+            CloudBlobClient client = getCloudBlobClient(connectionString);
+            CloudBlobContainer container = client.getContainerReference(blobContainer.getName());
+            CloudBlockBlob blob = container.getBlockBlobReference(filePath);
+
+            uploader.upload(blob, file, processBlock);
+        } catch (Throwable t) {
+            throw new AzureCmdException("Error uploading the Blob File content", t);
+        }
+    }
+
+    public void uploadBlobFileContent(@NotNull String connectionString,
+                                      @NotNull BlobContainer blobContainer,
+                                      @NotNull String filePath,
+                                      @NotNull File file,
+                                      @Nullable CallableSingleArg<Void, Long> processBlock)
+            throws AzureCmdException {
+        uploadBlobFileContent(connectionString, blobContainer, filePath, file, processBlock, new BlobBlockUploader());
+    }
+
     public void downloadBlobFileContent(@NotNull String connectionString,
                                         @NotNull BlobFile blobFile,
                                         @NotNull OutputStream content)
@@ -17,6 +17,8 @@ public interface RedisExplorerMvpView extends MvpView {
 
     void showContent(RedisValueData val);
 
+    void appendContent(RedisValueData val);
+
     void updateKeyList();
 
     void getKeyFail();
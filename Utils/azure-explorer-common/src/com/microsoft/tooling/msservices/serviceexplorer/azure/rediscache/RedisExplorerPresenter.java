@@ -10,6 +10,7 @@ import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisConnectionPools;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisExplorerMvpModel;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.base.MvpPresenter;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisValueData;
@@ -21,22 +22,28 @@ import com.microsoft.azuretools.telemetrywrapper.TelemetryManager;
 import com.microsoft.tooling.msservices.components.DefaultLoader;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import redis.clients.jedis.ScanResult;
-import redis.clients.jedis.Tuple;
+import redis.clients.jedis.exceptions.JedisDataException;
 import rx.Observable;
 
 public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpPresenter<V> {
 
     private String sid;
     private String id;
+    // the key types read by the last scan with key metadata, to show a key without asking its type again
+    private volatile int scannedDb;
+    private final Map<String, String> scannedKeyTypes = new ConcurrentHashMap<>();
+    // the pages of the collection shown
+    private volatile RedisValuePager valuePager;
 
     private static final String DEFAULT_SCAN_PATTERN = "*";
+    // a non-positive count scans with the default count of the model
+    private static final int DEFAULT_SCAN_COUNT = 0;
 
     private static final String CANNOT_GET_REDIS_INFO = "Cannot get Redis Cache's information.";
+    private static final String INVALID_SCORE = "The score range must be numbers, leave a bound empty for no limit.";
 
     /**
      * Called when the explorer needs the number of databases in Redis Cache.
@@ -74,7 +81,19 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
      *            index of Redis Cache database
      */
     public void onDbSelect(int db) {
-        onKeyList(db, SCAN_POINTER_START, DEFAULT_SCAN_PATTERN);
+        onDbSelect(db, DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * Called when the database combo selection event is fired, the keys are scanned with the given count.
+     *
+     * @param db
+     *            index of Redis Cache database
+     * @param count
+     *            number of keys to scan at once
+     */
+    public void onDbSelect(int db, int count) {
+        onKeyInfoList(db, SCAN_POINTER_START, DEFAULT_SCAN_PATTERN, count);
     }
 
     /**
@@ -113,6 +132,61 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
         });
     }
 
+    /**
+     * Called when Scan button is clicked, the keys are listed with their type, time to live and size.
+     *
+     * @param db
+     *            index of Redis Cache database
+     * @param cursor
+     *            scan cursor for Redis Cache
+     * @param pattern
+     *            scan match pattern for Redis Cache
+     */
+    public void onKeyInfoList(int db, String cursor, String pattern) {
+        onKeyInfoList(db, cursor, pattern, DEFAULT_SCAN_COUNT);
+    }
+
+    /**
+     * Called when the keys need to be listed with their type, time to live and size.
+     *
+     * @param db
+     *            index of Redis Cache database
+     * @param cursor
+     *            scan cursor for Redis Cache
+     * @param pattern
+     *            scan match pattern for Redis Cache
+     * @param count
+     *            number of keys to scan at once
+     */
+    public void onKeyInfoList(int db, String cursor, String pattern, int count) {
+        Operation operation = TelemetryManager.createOperation(TelemetryConstants.REDIS, TelemetryConstants.REDIS_SCAN);
+        operation.start();
+        Observable.fromCallable(() -> {
+            return RedisExplorerMvpModel.getInstance().scanKeyInfos(sid, id, db, cursor, pattern, count);
+        })
+        .subscribeOn(getSchedulerProvider().io())
+        .subscribe(result -> {
+            if (scannedDb != db || SCAN_POINTER_START.equals(cursor)) {
+                scannedKeyTypes.clear();
+                scannedDb = db;
+            }
+            for (RedisKeyInfo keyInfo : result.getResult()) {
+                scannedKeyTypes.put(keyInfo.getKey(), keyInfo.getType());
+            }
+            DefaultLoader.getIdeHelper().invokeLater(() -> {
+                if (isViewDetached()) {
+                    return;
+                }
+                getMvpView().showScanResult(RedisScanResult.fromKeyInfos(result));
+                operation.complete();
+            });
+        }, e -> {
+            EventUtil.logError(operation, ErrorType.userError, new Exception(e), null, null);
+            operation.complete();
+            errorHandler(CANNOT_GET_REDIS_INFO, (Exception) e);
+        });
+    }
+
     public void onGetKeyAndValue(int db, String key) {
         Operation operation = TelemetryManager.createOperation(TelemetryConstants.REDIS, TelemetryConstants.REDIS_GET);
         operation.start();
@@ -178,6 +252,82 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
         });
     }
 
+    /**
+     * Called when the members of a zset need to be shown within a score range.
+     *
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            target key name for Redis Cache
+     * @param min
+     *            minimum score
+     * @param max
+     *            maximum score
+     */
+    public void onZSetScoreRangeSelect(int db, String key, double min, double max) {
+        Observable.fromCallable(() -> {
+            return getFirstPage(new RedisValuePager(sid, id, db, key, RedisKeyType.ZSET, min, max));
+        })
+        .subscribeOn(getSchedulerProvider().io())
+        .subscribe(result -> {
+            DefaultLoader.getIdeHelper().invokeLater(() -> {
+                if (isViewDetached()) {
+                    return;
+                }
+                getMvpView().showContent(result);
+            });
+        }, e -> {
+            errorHandler(CANNOT_GET_REDIS_INFO, (Exception) e);
+        });
+    }
+
+    /**
+     * Called when the members of a zset need to be shown within a score range typed in the view.
+     *
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            target key name for Redis Cache
+     * @param min
+     *            minimum score, no lower limit if empty
+     * @param max
+     *            maximum score, no upper limit if empty
+     */
+    public void onZSetScoreRangeSelect(int db, String key, String min, String max) {
+        double minScore;
+        double maxScore;
+        try {
+            minScore = parseScore(min, Double.NEGATIVE_INFINITY);
+            maxScore = parseScore(max, Double.POSITIVE_INFINITY);
+        } catch (NumberFormatException e) {
+            getMvpView().onError(INVALID_SCORE);
+            return;
+        }
+        onZSetScoreRangeSelect(db, key, minScore, maxScore);
+    }
+
+    /**
+     * Called when the next page of the collection shown is needed.
+     */
+    public void onLoadMoreValues() {
+        RedisValuePager pager = valuePager;
+        if (pager == null) {
+            return;
+        }
+        pager.nextPageAsync(getSchedulerProvider().io())
+        .subscribe(result -> {
+            DefaultLoader.getIdeHelper().invokeLater(() -> {
+                // drop the page if another key has been selected meanwhile
+                if (isViewDetached() || pager != valuePager) {
+                    return;
+                }
+                getMvpView().appendContent(result);
+            });
+        }, e -> {
+            errorHandler(CANNOT_GET_REDIS_INFO, (Exception) e);
+        });
+    }
+
     /**
      * Called when the jedis pool needs to be released.
      *
@@ -194,44 +344,58 @@ public class RedisExplorerPresenter<V extends RedisExplorerMvpView> extends MvpP
     }
 
     private RedisValueData getValueByKey(int db, String key) throws Exception {
-        String type = RedisExplorerMvpModel.getInstance().getKeyType(sid, id, db, key).toUpperCase();
+        String scannedType = scannedDb == db ? scannedKeyTypes.get(key) : null;
+        if (scannedType == null) {
+            return getValueByKey(db, key, RedisExplorerMvpModel.getInstance().getKeyType(sid, id, db, key));
+        }
+        try {
+            return getValueByKey(db, key, scannedType);
+        } catch (JedisDataException e) {
+            // the key has been replaced by one of another type since the scan
+            scannedKeyTypes.remove(key);
+            return getValueByKey(db, key, RedisExplorerMvpModel.getInstance().getKeyType(sid, id, db, key));
+        }
+    }
+
+    private RedisValueData getValueByKey(int db, String key, String keyType) throws Exception {
+        String type = keyType.toUpperCase();
         ArrayList<String[]> columnData = new ArrayList<String[]>();
         switch (RedisKeyType.valueOf(type)) {
             case STRING:
+                valuePager = null;
                 String stringVal = RedisExplorerMvpModel.getInstance().getStringValue(sid, id, db, key);
                 columnData.add(new String[] { stringVal });
                 return new RedisValueData(columnData, RedisKeyType.STRING);
             case LIST:
-                List<String> listVal = RedisExplorerMvpModel.getInstance().getListValue(sid, id, db, key);
-                for (int i = 0; i < listVal.size(); i++) {
-                    columnData.add(new String[] { String.valueOf(i + 1), listVal.get(i) });
-                }
-                return new RedisValueData(columnData, RedisKeyType.LIST);
             case SET:
-                ScanResult<String> setVal = RedisExplorerMvpModel.getInstance().getSetValue(sid, id, db, key,
-                        SCAN_POINTER_START);
-                for (String row : setVal.getResult()) {
-                    columnData.add(new String[] { row });
-                }
-                return new RedisValueData(columnData, RedisKeyType.SET);
             case ZSET:
-                Set<Tuple> zsetVal = RedisExplorerMvpModel.getInstance().getZSetValue(sid, id, db, key);
-                for (Tuple tuple : zsetVal) {
-                    columnData.add(new String[] { String.valueOf(tuple.getScore()), tuple.getElement() });
-                }
-                return new RedisValueData(columnData, RedisKeyType.ZSET);
             case HASH:
-                ScanResult<Entry<String, String>> hashVal = RedisExplorerMvpModel.getInstance().getHashValue(sid,
-                        id, db, key, SCAN_POINTER_START);
-                for (Entry<String, String> hash : hashVal.getResult()) {
-                    columnData.add(new String[] { hash.getKey(), hash.getValue() });
-                }
-                return new RedisValueData(columnData, RedisKeyType.HASH);
+                return getFirstPage(new RedisValuePager(sid, id, db, key, RedisKeyType.valueOf(type)));
             default:
                 return null;
         }
     }
 
+    private double parseScore(String score, double unlimited) {
+        if (score == null || score.trim().isEmpty()) {
+            return unlimited;
+        }
+        double value = Double.parseDouble(score.trim());
+        if (Double.isNaN(value)) {
+            throw new NumberFormatException(score);
+        }
+        return value;
+    }
+
+    private RedisValueData getFirstPage(RedisValuePager pager) throws Exception {
+        valuePager = pager;
+        RedisValueData firstPage = pager.nextPage();
+        if (firstPage.hasMore()) {
+            pager.prefetch(getSchedulerProvider().io());
+        }
+        return firstPage;
+    }
+
     private void errorHandler(String msg, Exception e) {
         DefaultLoader.getIdeHelper().invokeLater(() -> {
             if (isViewDetached()) {
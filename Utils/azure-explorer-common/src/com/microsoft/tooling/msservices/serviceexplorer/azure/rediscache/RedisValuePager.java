@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache;
+
+import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
+
+import com.microsoft.azuretools.azurecommons.helpers.RedisKeyType;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisExplorerMvpModel;
+import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisValueData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Tuple;
+import rx.Observable;
+import rx.Scheduler;
+
+/**
+ * Pages through the value of a collection key, a page ahead of the view.
+ *
+ * Lists and zsets are read by index or rank windows, several windows in one pipeline flush, a zset score range by
+ * offset, and sets and hashes by SSCAN and HSCAN cursors. While a page is shown, the next one is prefetched in the
+ * background, and the pages already taken are never read again.
+ */
+class RedisValuePager {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WINDOWS_PER_FETCH = 2;
+
+    private final String sid;
+    private final String id;
+    private final int db;
+    private final String key;
+    private final RedisKeyType type;
+    private final Double minScore;
+    private final Double maxScore;
+
+    private final Deque<ArrayList<String[]>> pages = new ArrayDeque<ArrayList<String[]>>();
+    // the index, rank or offset of the next window, or the next scan cursor, null once the value is read to its end
+    private String position = SCAN_POINTER_START;
+    private Observable<RedisValueData> prefetchedPage;
+
+    RedisValuePager(String sid, String id, int db, String key, RedisKeyType type) {
+        this(sid, id, db, key, type, null, null);
+    }
+
+    /**
+     * Constructor for the members of a zset within a score range.
+     */
+    RedisValuePager(String sid, String id, int db, String key, RedisKeyType type, Double minScore, Double maxScore) {
+        this.sid = sid;
+        this.id = id;
+        this.db = db;
+        this.key = key;
+        this.type = type;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+    }
+
+    /**
+     * Take the next page, reading it if it isn't prefetched.
+     */
+    synchronized RedisValueData nextPage() throws Exception {
+        while (pages.isEmpty() && position != null) {
+            fetch();
+        }
+        ArrayList<String[]> rows = pages.isEmpty() ? new ArrayList<String[]>() : pages.poll();
+        return new RedisValueData(rows, type, !pages.isEmpty() || position != null);
+    }
+
+    /**
+     * Take the next page, from the background prefetch if started, and prefetch the one after.
+     */
+    synchronized Observable<RedisValueData> nextPageAsync(Scheduler scheduler) {
+        Observable<RedisValueData> page = prefetchedPage;
+        prefetchedPage = null;
+        if (page == null) {
+            page = Observable.fromCallable(this::nextPage).subscribeOn(scheduler);
+        }
+        return page.doOnNext(data -> {
+            if (data.hasMore()) {
+                prefetch(scheduler);
+            }
+        });
+    }
+
+    /**
+     * Start reading the next page in the background.
+     */
+    synchronized void prefetch(Scheduler scheduler) {
+        if (prefetchedPage != null) {
+            return;
+        }
+        prefetchedPage = Observable.fromCallable(this::nextPage).subscribeOn(scheduler).cache();
+        // a failed prefetch is reported when the page is taken
+        prefetchedPage.subscribe(data -> { }, e -> { });
+    }
+
+    private void fetch() throws Exception {
+        RedisExplorerMvpModel model = RedisExplorerMvpModel.getInstance();
+        switch (type) {
+            case LIST:
+                fetchListWindows(model);
+                break;
+            case ZSET:
+                if (minScore != null && maxScore != null) {
+                    fetchZSetScoreRange(model);
+                } else {
+                    fetchZSetWindows(model);
+                }
+                break;
+            case SET:
+                ScanResult<String> setVal = model.getSetValue(sid, id, db, key, position, PAGE_SIZE);
+                ArrayList<String[]> setRows = new ArrayList<String[]>(setVal.getResult().size());
+                for (String member : setVal.getResult()) {
+                    setRows.add(new String[] { member });
+                }
+                addPage(setRows);
+                position = setVal.isCompleteIteration() ? null : setVal.getStringCursor();
+                break;
+            case HASH:
+                ScanResult<Entry<String, String>> hashVal = model.getHashValue(sid, id, db, key, position, PAGE_SIZE);
+                ArrayList<String[]> hashRows = new ArrayList<String[]>(hashVal.getResult().size());
+                for (Entry<String, String> hash : hashVal.getResult()) {
+                    hashRows.add(new String[] { hash.getKey(), hash.getValue() });
+                }
+                addPage(hashRows);
+                position = hashVal.isCompleteIteration() ? null : hashVal.getStringCursor();
+                break;
+            default:
+                position = null;
+                break;
+        }
+    }
+
+    private void fetchListWindows(RedisExplorerMvpModel model) throws Exception {
+        long start = Long.parseLong(position);
+        List<List<String>> windows = model.getListValueWindows(sid, id, db, key, start, PAGE_SIZE, WINDOWS_PER_FETCH);
+        for (List<String> window : windows) {
+            ArrayList<String[]> rows = new ArrayList<String[]>(window.size());
+            for (int i = 0; i < window.size(); i++) {
+                rows.add(new String[] { String.valueOf(start + i + 1), window.get(i) });
+            }
+            addPage(rows);
+            start += window.size();
+            if (window.size() < PAGE_SIZE) {
+                position = null;
+                return;
+            }
+        }
+        position = String.valueOf(start);
+    }
+
+    private void fetchZSetWindows(RedisExplorerMvpModel model) throws Exception {
+        long start = Long.parseLong(position);
+        List<Set<Tuple>> windows = model.getZSetValueWindows(sid, id, db, key, start, PAGE_SIZE, WINDOWS_PER_FETCH);
+        for (Set<Tuple> window : windows) {
+            addPage(toRows(window));
+            start += window.size();
+            if (window.size() < PAGE_SIZE) {
+                position = null;
+                return;
+            }
+        }
+        position = String.valueOf(start);
+    }
+
+    private void fetchZSetScoreRange(RedisExplorerMvpModel model) throws Exception {
+        int offset = Integer.parseInt(position);
+        Set<Tuple> zsetVal = model.getZSetValueByScore(sid, id, db, key, minScore, maxScore, offset, PAGE_SIZE);
+        addPage(toRows(zsetVal));
+        position = zsetVal.size() < PAGE_SIZE ? null : String.valueOf(offset + zsetVal.size());
+    }
+
+    private ArrayList<String[]> toRows(Set<Tuple> tuples) {
+        ArrayList<String[]> rows = new ArrayList<String[]>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(new String[] { String.valueOf(tuple.getScore()), tuple.getElement() });
+        }
+        return rows;
+    }
+
+    private void addPage(ArrayList<String[]> rows) {
+        if (!rows.isEmpty()) {
+            pages.add(rows);
+        }
+    }
+}
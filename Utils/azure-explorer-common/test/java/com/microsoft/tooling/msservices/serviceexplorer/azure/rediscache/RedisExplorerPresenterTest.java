@@ -5,17 +5,25 @@
 
 package com.microsoft.tooling.msservices.serviceexplorer.azure.rediscache;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map.Entry;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
@@ -24,6 +32,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisConnectionPools;
 import com.microsoft.azuretools.core.mvp.model.rediscache.RedisExplorerMvpModel;
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
 import com.microsoft.azuretools.core.mvp.ui.base.SchedulerProviderFactory;
 import com.microsoft.azuretools.core.mvp.ui.base.TestSchedulerProvider;
 import com.microsoft.azuretools.core.mvp.ui.rediscache.RedisScanResult;
@@ -38,6 +47,7 @@ import redis.clients.jedis.Tuple;
 @PrepareForTest({
     RedisExplorerMvpModel.class,
     RedisExplorerPresenter.class,
+    RedisValuePager.class,
     DefaultLoader.class,
     RedisConnectionPools.class,
 })
@@ -78,6 +88,8 @@ public class RedisExplorerPresenterTest {
     private final static String TYPE_HASH = "hash";
 
     private final static int MOCK_DB = 0;
+    // the page size of RedisValuePager
+    private final static int MOCK_PAGE_SIZE = 500;
 
     @Before
     public void setUp() throws Exception {
@@ -102,14 +114,27 @@ public class RedisExplorerPresenterTest {
 
     @Test
     public void testOnDbSelect() throws Exception {
-        when(redisExplorerMvpModelMock.scanKeys(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(stringScanResultMock);
+        when(redisExplorerMvpModelMock.scanKeyInfos(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_CURSOR), Mockito.eq(MOCK_PATTERN), Mockito.anyInt()))
+                .thenReturn(new ScanResult<RedisKeyInfo>(MOCK_CURSOR, new ArrayList<RedisKeyInfo>()));
         redisExplorerPresenter.onDbSelect(MOCK_DB);
-        PowerMockito.whenNew(RedisScanResult.class).withAnyArguments().thenReturn(redisScanResultMock);
 
         testSchedulerProvider.triggerActions();
         verify(redisExplorerMvpViewMock).showScanResult(Mockito.any(RedisScanResult.class));
     }
 
+    @Test
+    public void testOnDbSelectWithCount() throws Exception {
+        when(redisExplorerMvpModelMock.scanKeyInfos(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN,
+                MOCK_PAGE_SIZE)).thenReturn(new ScanResult<RedisKeyInfo>(MOCK_CURSOR, new ArrayList<RedisKeyInfo>()));
+        redisExplorerPresenter.onDbSelect(MOCK_DB, MOCK_PAGE_SIZE);
+
+        testSchedulerProvider.triggerActions();
+        verify(redisExplorerMvpModelMock).scanKeyInfos(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN,
+                MOCK_PAGE_SIZE);
+        verify(redisExplorerMvpViewMock).showScanResult(Mockito.any(RedisScanResult.class));
+    }
+
     @Test
     public void testOnKeyList() throws Exception {
         when(redisExplorerMvpModelMock.scanKeys(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN)).thenReturn(stringScanResultMock);
@@ -120,6 +145,28 @@ public class RedisExplorerPresenterTest {
         verify(redisExplorerMvpViewMock).showScanResult(Mockito.any(RedisScanResult.class));
     }
 
+    @Test
+    public void testOnKeyInfoList() throws Exception {
+        when(redisExplorerMvpModelMock.scanKeyInfos(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_CURSOR), Mockito.eq(MOCK_PATTERN), Mockito.anyInt()))
+                .thenReturn(new ScanResult<RedisKeyInfo>(MOCK_CURSOR,
+                        Arrays.asList(new RedisKeyInfo(MOCK_KEY, TYPE_STRING, -1, 0L))));
+        when(redisExplorerMvpModelMock.getStringValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn("");
+        redisExplorerPresenter.onKeyInfoList(MOCK_DB, MOCK_CURSOR, MOCK_PATTERN);
+
+        testSchedulerProvider.triggerActions();
+        ArgumentCaptor<RedisScanResult> resultCaptor = ArgumentCaptor.forClass(RedisScanResult.class);
+        verify(redisExplorerMvpViewMock).showScanResult(resultCaptor.capture());
+        assertEquals(Arrays.asList(MOCK_KEY), resultCaptor.getValue().getKeys());
+        assertEquals("string, 0 bytes, no expiry", resultCaptor.getValue().getKeyInfos().get(0).getDescription());
+
+        // the type read by the scan is used, instead of asking it again
+        redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
+        testSchedulerProvider.triggerActions();
+        verify(redisExplorerMvpModelMock, never()).getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY);
+        verify(redisExplorerMvpViewMock).showContent(Mockito.any(RedisValueData.class));
+    }
+
     @Test
     public void testOnkeySelectWithStringKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_STRING);
@@ -133,17 +180,93 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithListKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_LIST);
-        when(redisExplorerMvpModelMock.getListValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(new ArrayList<String>());
+        when(redisExplorerMvpModelMock.getListValueWindows(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(new ArrayList<String>()));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
         verify(redisExplorerMvpViewMock).showContent(Mockito.any(RedisValueData.class));
     }
 
+    @Test
+    public void testOnLoadMoreValues() throws Exception {
+        when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_LIST);
+        // two full pages in the first pipeline flush, and a short last page in the next one
+        when(redisExplorerMvpModelMock.getListValueWindows(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(mockListItems(0, MOCK_PAGE_SIZE), mockListItems(MOCK_PAGE_SIZE, MOCK_PAGE_SIZE)));
+        when(redisExplorerMvpModelMock.getListValueWindows(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(2L * MOCK_PAGE_SIZE), Mockito.anyInt(),
+                Mockito.anyInt()))
+                .thenReturn(Arrays.asList(mockListItems(2 * MOCK_PAGE_SIZE, 2)));
+
+        redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
+        testSchedulerProvider.triggerActions();
+        redisExplorerPresenter.onLoadMoreValues();
+        testSchedulerProvider.triggerActions();
+        redisExplorerPresenter.onLoadMoreValues();
+        testSchedulerProvider.triggerActions();
+
+        ArgumentCaptor<RedisValueData> firstPage = ArgumentCaptor.forClass(RedisValueData.class);
+        verify(redisExplorerMvpViewMock).showContent(firstPage.capture());
+        assertEquals(MOCK_PAGE_SIZE, firstPage.getValue().getRowData().size());
+        assertEquals("item-0", firstPage.getValue().getRowData().get(0)[1]);
+        assertTrue(firstPage.getValue().hasMore());
+
+        ArgumentCaptor<RedisValueData> appendedPages = ArgumentCaptor.forClass(RedisValueData.class);
+        verify(redisExplorerMvpViewMock, times(2)).appendContent(appendedPages.capture());
+        RedisValueData secondPage = appendedPages.getAllValues().get(0);
+        assertEquals(MOCK_PAGE_SIZE, secondPage.getRowData().size());
+        assertEquals(String.valueOf(MOCK_PAGE_SIZE + 1), secondPage.getRowData().get(0)[0]);
+        assertEquals("item-" + MOCK_PAGE_SIZE, secondPage.getRowData().get(0)[1]);
+        assertTrue(secondPage.hasMore());
+        RedisValueData lastPage = appendedPages.getAllValues().get(1);
+        assertEquals(2, lastPage.getRowData().size());
+        assertEquals("item-" + (2 * MOCK_PAGE_SIZE + 1), lastPage.getRowData().get(1)[1]);
+        assertFalse(lastPage.hasMore());
+
+        // the pages already read are never fetched again
+        verify(redisExplorerMvpModelMock, times(1)).getListValueWindows(Mockito.eq(MOCK_SUBSCRIPTION),
+                Mockito.eq(MOCK_ID), Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.anyInt(),
+                Mockito.anyInt());
+        verify(redisExplorerMvpModelMock, times(1)).getListValueWindows(Mockito.eq(MOCK_SUBSCRIPTION),
+                Mockito.eq(MOCK_ID), Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(2L * MOCK_PAGE_SIZE),
+                Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testOnZSetScoreRangeSelect() throws Exception {
+        when(redisExplorerMvpModelMock.getZSetValueByScore(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(1.5), Mockito.eq(Double.POSITIVE_INFINITY),
+                Mockito.eq(0), Mockito.anyInt()))
+                .thenReturn(new HashSet<Tuple>(Arrays.asList(new Tuple("member", 2.0))));
+
+        redisExplorerPresenter.onZSetScoreRangeSelect(MOCK_DB, MOCK_KEY, " 1.5 ", "");
+        testSchedulerProvider.triggerActions();
+
+        ArgumentCaptor<RedisValueData> shown = ArgumentCaptor.forClass(RedisValueData.class);
+        verify(redisExplorerMvpViewMock).showContent(shown.capture());
+        assertEquals("member", shown.getValue().getRowData().get(0)[1]);
+        assertFalse(shown.getValue().hasMore());
+    }
+
+    @Test
+    public void testOnZSetScoreRangeSelectWithInvalidScore() throws Exception {
+        redisExplorerPresenter.onZSetScoreRangeSelect(MOCK_DB, MOCK_KEY, "low", "");
+        testSchedulerProvider.triggerActions();
+
+        verify(redisExplorerMvpViewMock).onError(Mockito.anyString());
+        verify(redisExplorerMvpViewMock, never()).showContent(Mockito.any(RedisValueData.class));
+    }
+
     @Test
     public void testOnkeySelectWithSetKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_SET);
-        when(redisExplorerMvpModelMock.getSetValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR)).thenReturn(stringScanResultMock);
+        when(redisExplorerMvpModelMock.getSetValue(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.anyInt()))
+                .thenReturn(stringScanResultMock);
+        when(stringScanResultMock.isCompleteIteration()).thenReturn(true);
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -153,7 +276,9 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithZSetKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_ZSET);
-        when(redisExplorerMvpModelMock.getZSetValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(new HashSet<Tuple>());
+        when(redisExplorerMvpModelMock.getZSetValueWindows(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(new HashSet<Tuple>()));
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -163,7 +288,10 @@ public class RedisExplorerPresenterTest {
     @Test
     public void testOnkeySelectWithHashKey() throws Exception {
         when(redisExplorerMvpModelMock.getKeyType(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY)).thenReturn(TYPE_HASH);
-        when(redisExplorerMvpModelMock.getHashValue(MOCK_SUBSCRIPTION, MOCK_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR)).thenReturn(entryScanResultMock);
+        when(redisExplorerMvpModelMock.getHashValue(Mockito.eq(MOCK_SUBSCRIPTION), Mockito.eq(MOCK_ID),
+                Mockito.eq(MOCK_DB), Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.anyInt()))
+                .thenReturn(entryScanResultMock);
+        when(entryScanResultMock.isCompleteIteration()).thenReturn(true);
 
         redisExplorerPresenter.onkeySelect(MOCK_DB, MOCK_KEY);
         testSchedulerProvider.triggerActions();
@@ -204,4 +332,12 @@ public class RedisExplorerPresenterTest {
     public void tearDown() {
         redisExplorerPresenter.onDetachView();
     }
+
+    private static List<String> mockListItems(int start, int count) {
+        List<String> items = new ArrayList<String>(count);
+        for (int i = start; i < start + count; i++) {
+            items.add("item-" + i);
+        }
+        return items;
+    }
 }
@@ -8,22 +8,54 @@ package com.microsoft.azuretools.core.mvp.model.rediscache;
 import com.microsoft.azure.management.redis.RedisCache;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 
+/**
+ * The connection pools of the Redis Caches being browsed.
+ *
+ * The pools of several caches are kept at once, the least recently used cache is released beyond
+ * {@link #setMaxCaches(int)} and a cache unused for {@link #setIdleTimeout(long)} is released too. Each logical
+ * database of a cache has its own pool, whose connections are already on that database, so the commands don't need
+ * a SELECT first. The pools being borrowed from when released are destroyed once the borrowing is done.
+ */
 public class RedisConnectionPools {
 
-    private static final int TIMEOUT = 500;
-    private static final int MAX_CONNECTIONS = 1;
+    private static final int DEFAULT_TIMEOUT = 500;
+    private static final int DEFAULT_MAX_CONNECTIONS = 8;
+    private static final int DEFAULT_MAX_CACHES = 4;
+    private static final long DEFAULT_IDLE_TIMEOUT = 10 * 60 * 1000L;
+    private static final int DEFAULT_DATABASE = 0;
     private static final String GANNOT_GET_RESID = "Cannot get Redis Cache from Azure.";
 
-    private LinkedHashMap<String, JedisPool> pools;
+    private final LinkedHashMap<String, CachePools> pools;
+    private int timeout = DEFAULT_TIMEOUT;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int maxCaches = DEFAULT_MAX_CACHES;
+    private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
 
     private RedisConnectionPools() {
-        this.pools = new LinkedHashMap<String, JedisPool>(MAX_CONNECTIONS);
+        // access ordered, so the first entry is the least recently used cache
+        this.pools = new LinkedHashMap<String, CachePools>(DEFAULT_MAX_CACHES, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachePools> eldest) {
+                if (size() > maxCaches) {
+                    eldest.getValue().release();
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     private static final class RedisConnectionFactoryHolder {
@@ -35,42 +67,159 @@ public class RedisConnectionPools {
     }
 
     /**
-     * Get Jedis connection.
+     * Get Jedis connection on the default database.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @return jedis connection
+     * @throws IOException Error getting the Redis Cache
+     */
+    public Jedis getJedis(String sid, String id) throws Exception {
+        return getJedis(sid, id, DEFAULT_DATABASE);
+    }
+
+    /**
+     * Get Jedis connection on the given database.
      *
      * @param sid
      *            subscription id of Redis Cache
      * @param id
      *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
      * @return jedis connection
      * @throws IOException Error getting the Redis Cache
      */
-    public synchronized Jedis getJedis(String sid, String id) throws Exception  {
-        if (pools.get(id) == null) {
-            if (pools.size() == MAX_CONNECTIONS) {
-                releasePool(pools.keySet().iterator().next());
+    public Jedis getJedis(String sid, String id, int db) throws Exception {
+        CachePools cachePools = borrowCachePools(sid, id);
+        try {
+            JedisPool pool;
+            synchronized (this) {
+                pool = cachePools.databasePools.get(db);
+                if (pool == null) {
+                    pool = createPool(cachePools, db);
+                    cachePools.databasePools.put(db, pool);
+                }
             }
-            connect(sid, id);
+            // borrow out of the lock, waiting for a connection of a saturated pool mustn't block the other pools
+            return pool.getResource();
+        } finally {
+            returnCachePools(cachePools);
         }
-        return pools.get(id).getResource();
     }
 
     /**
-     * Destroy the jedisPool.
+     * Destroy the jedisPools of all the databases of a Redis Cache.
      *
      * @param id
-     *            id of the jedisPool which needs to be destroyed
+     *            id of the Redis Cache whose jedisPools need to be destroyed
      */
     public synchronized void releasePool(String id) {
-        if (pools.containsKey(id)) {
-            JedisPool jedisPool = pools.get(id);
-            if (jedisPool != null) {
-                jedisPool.destroy();
+        CachePools cachePools = pools.remove(id);
+        if (cachePools != null) {
+            cachePools.release();
+        }
+    }
+
+    /**
+     * Get the usage of the pools, to tell whether they are saturated.
+     *
+     * @return the metrics of the pool of each database of each Redis Cache
+     */
+    public synchronized List<RedisPoolMetrics> getPoolMetrics() {
+        List<RedisPoolMetrics> metrics = new ArrayList<>();
+        for (Map.Entry<String, CachePools> cachePools : pools.entrySet()) {
+            for (Map.Entry<Integer, JedisPool> pool : cachePools.getValue().databasePools.entrySet()) {
+                JedisPool jedisPool = pool.getValue();
+                metrics.add(new RedisPoolMetrics(cachePools.getKey(), pool.getKey(), maxConnections,
+                        jedisPool.getNumActive(), jedisPool.getNumIdle(), jedisPool.getNumWaiters(),
+                        jedisPool.getMeanBorrowWaitTimeMillis(), jedisPool.getMaxBorrowWaitTimeMillis()));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Set the connection and socket timeout of the pools created from now on.
+     */
+    public synchronized void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Set the maximum number of connections of the pools created from now on.
+     */
+    public synchronized void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Get the number of Redis Caches whose pools are kept.
+     */
+    public synchronized int getMaxCaches() {
+        return maxCaches;
+    }
+
+    /**
+     * Set the number of Redis Caches whose pools are kept.
+     */
+    public synchronized void setMaxCaches(int maxCaches) {
+        this.maxCaches = maxCaches;
+    }
+
+    /**
+     * Set how long the pools of an unused Redis Cache are kept, in milliseconds.
+     */
+    public synchronized void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    private CachePools borrowCachePools(String sid, String id) throws Exception {
+        synchronized (this) {
+            releaseIdlePools();
+            CachePools cachePools = pools.get(id);
+            if (cachePools != null) {
+                cachePools.borrow();
+                return cachePools;
+            }
+        }
+        // look the cache up out of the lock, the other caches can still be used meanwhile
+        CachePools connected = connect(sid, id);
+        synchronized (this) {
+            CachePools cachePools = pools.get(id);
+            if (cachePools == null) {
+                cachePools = connected;
+                cachePools.borrow();
+                pools.put(id, cachePools);
+            } else {
+                cachePools.borrow();
+            }
+            return cachePools;
+        }
+    }
+
+    private synchronized void returnCachePools(CachePools cachePools) {
+        cachePools.borrowers--;
+        if (cachePools.released && cachePools.borrowers == 0) {
+            cachePools.destroy();
+        }
+    }
+
+    private void releaseIdlePools() {
+        long now = System.currentTimeMillis();
+        Iterator<CachePools> iterator = pools.values().iterator();
+        while (iterator.hasNext()) {
+            CachePools cachePools = iterator.next();
+            if (now - cachePools.lastUsed > idleTimeout && !cachePools.isActive()) {
+                cachePools.release();
+                iterator.remove();
             }
-            pools.remove(id);
         }
     }
 
-    private void connect(String sid, String id) throws Exception {
+    private CachePools connect(String sid, String id) throws Exception {
         RedisCache redisCache = AzureRedisMvpModel.getInstance().getRedisCache(sid, id);
 
         if (redisCache == null) {
@@ -78,12 +227,64 @@ public class RedisConnectionPools {
         }
 
         // get redis setting
-        String hostName = redisCache.hostName();
-        String password = redisCache.keys().primaryKey();
-        int port = redisCache.sslPort();
+        return new CachePools(redisCache.hostName(), redisCache.sslPort(), redisCache.keys().primaryKey());
+    }
+
+    private JedisPool createPool(CachePools cachePools, int db) {
+        // create connection pool according to redis setting, its connections select the database once connected
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(maxConnections);
+        config.setMaxIdle(maxConnections);
+        return new JedisPool(config, cachePools.hostName, cachePools.port, timeout, cachePools.password, db, true);
+    }
 
-        // create connection pool according to redis setting
-        JedisPool pool = new JedisPool(new JedisPoolConfig(), hostName, port, TIMEOUT, password, true);
-        pools.put(id, pool);
+    private static final class CachePools {
+        private final String hostName;
+        private final int port;
+        private final String password;
+        private final Map<Integer, JedisPool> databasePools = new HashMap<>();
+        private long lastUsed = System.currentTimeMillis();
+        // the number of the connections being borrowed, and whether the cache has been released meanwhile
+        private int borrowers;
+        private boolean released;
+
+        private CachePools(String hostName, int port, String password) {
+            this.hostName = hostName;
+            this.port = port;
+            this.password = password;
+        }
+
+        private void borrow() {
+            borrowers++;
+            lastUsed = System.currentTimeMillis();
+        }
+
+        private boolean isActive() {
+            if (borrowers > 0) {
+                return true;
+            }
+            for (JedisPool pool : databasePools.values()) {
+                if (pool.getNumActive() > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void release() {
+            released = true;
+            if (borrowers == 0) {
+                destroy();
+            }
+        }
+
+        private void destroy() {
+            for (JedisPool pool : databasePools.values()) {
+                if (pool != null) {
+                    pool.destroy();
+                }
+            }
+            databasePools.clear();
+        }
     }
 }
@@ -5,11 +5,14 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 import redis.clients.jedis.Tuple;
@@ -20,6 +23,7 @@ public class RedisExplorerMvpModel {
     private static final int DEFAULT_REDIS_DB_NUMBER = 16;
     private static final int MAX_DATABASE_NUMBER = 64;
     private static final int DEFAULT_KEY_COUNT = 50;
+    private static final int MAX_KEY_COUNT = 10000;
     private static final long DEFAULT_RANGE_START = 0;
     private static final int DEFAULT_VAL_COUNT = 500;
 
@@ -70,8 +74,7 @@ public class RedisExplorerMvpModel {
     }
 
     public boolean checkKeyExistance(String sid, String id, int db, String key) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.exists(key);
         }
     }
@@ -94,12 +97,68 @@ public class RedisExplorerMvpModel {
      *
      */
     public ScanResult<String> scanKeys(String sid, String id, int db, String cursor, String pattern) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.scan(cursor, new ScanParams().match(pattern).count(DEFAULT_KEY_COUNT));
         }
     }
 
+    /**
+     * Scan the keys with their type, time to live and size.
+     *
+     * The metadata of the whole page is read with two pipeline flushes, the type and time to live first, then the
+     * size, whose command depends on the type, instead of a round trip per key.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param cursor
+     *            cursor for Redis Scan command
+     * @param pattern
+     *            pattern for Redis Scan Param
+     * @param count
+     *            count for Redis Scan Param, up to MAX_KEY_COUNT
+     * @return Scan Result of the keys with their metadata
+     * @throws Exception
+     *
+     */
+    public ScanResult<RedisKeyInfo> scanKeyInfos(String sid, String id, int db, String cursor, String pattern,
+            int count) throws Exception {
+        int scanCount = count > 0 ? Math.min(count, MAX_KEY_COUNT) : DEFAULT_KEY_COUNT;
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            ScanResult<String> scanResult = jedis.scan(cursor, new ScanParams().match(pattern).count(scanCount));
+            List<String> keys = scanResult.getResult();
+            List<RedisKeyInfo> keyInfos = new ArrayList<RedisKeyInfo>(keys.size());
+            if (keys.isEmpty()) {
+                return new ScanResult<RedisKeyInfo>(scanResult.getStringCursor(), keyInfos);
+            }
+
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<String>> types = new ArrayList<Response<String>>(keys.size());
+            List<Response<Long>> ttls = new ArrayList<Response<Long>>(keys.size());
+            for (String key : keys) {
+                types.add(pipeline.type(key));
+                ttls.add(pipeline.ttl(key));
+            }
+            pipeline.sync();
+
+            List<Response<Long>> sizes = new ArrayList<Response<Long>>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                sizes.add(getSize(pipeline, keys.get(i), types.get(i).get()));
+            }
+            pipeline.sync();
+
+            for (int i = 0; i < keys.size(); i++) {
+                Response<Long> size = sizes.get(i);
+                keyInfos.add(new RedisKeyInfo(keys.get(i), types.get(i).get(), ttls.get(i).get(),
+                        size == null ? null : size.get()));
+            }
+            return new ScanResult<RedisKeyInfo>(scanResult.getStringCursor(), keyInfos);
+        }
+    }
+
     /**
      * Get the type of the given key.
      *
@@ -115,8 +174,7 @@ public class RedisExplorerMvpModel {
      * @throws Exception
      */
     public String getKeyType(String sid, String id, int db, String key) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.type(key);
         }
     }
@@ -136,8 +194,7 @@ public class RedisExplorerMvpModel {
      * @throws Exception
      */
     public String getStringValue(String sid, String id, int db, String key) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.get(key);
         }
     }
@@ -157,8 +214,7 @@ public class RedisExplorerMvpModel {
      * @throws Exception
      */
     public List<String> getListValue(String sid, String id, int db, String key) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             long listLength = jedis.llen(key);
             return jedis.lrange(key, DEFAULT_RANGE_START,
                     listLength < DEFAULT_VAL_COUNT ? listLength : DEFAULT_VAL_COUNT);
@@ -182,8 +238,7 @@ public class RedisExplorerMvpModel {
      * @throws Exception
      */
     public ScanResult<String> getSetValue(String sid, String id, int db, String key, String cursor) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.sscan(key, cursor, new ScanParams().count(DEFAULT_VAL_COUNT));
         }
     }
@@ -203,8 +258,7 @@ public class RedisExplorerMvpModel {
      * @throws Exception
      */
     public Set<Tuple> getZSetValue(String sid, String id, int db, String key) throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             long zsetLength = jedis.zcard(key);
             return jedis.zrangeWithScores(key, DEFAULT_RANGE_START,
                     zsetLength < DEFAULT_VAL_COUNT ? zsetLength : DEFAULT_VAL_COUNT);
@@ -229,12 +283,183 @@ public class RedisExplorerMvpModel {
      */
     public ScanResult<Entry<String, String>> getHashValue(String sid, String id, int db, String key, String cursor)
             throws Exception {
-        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id)) {
-            jedis.select(db);
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
             return jedis.hscan(key, cursor, new ScanParams().count(DEFAULT_VAL_COUNT));
         }
     }
 
+    /**
+     * Get windows of the items of a list type key, read with one pipeline flush.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param start
+     *            index of the first item of the first window
+     * @param count
+     *            number of items of each window
+     * @param windows
+     *            number of consecutive windows
+     * @return the items of each window, the windows past the end of the list are empty
+     * @throws Exception
+     */
+    public List<List<String>> getListValueWindows(String sid, String id, int db, String key, long start, int count,
+            int windows) throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<List<String>>> responses = new ArrayList<Response<List<String>>>(windows);
+            for (int i = 0; i < windows; i++) {
+                long windowStart = start + (long) i * count;
+                responses.add(pipeline.lrange(key, windowStart, windowStart + count - 1));
+            }
+            pipeline.sync();
+            List<List<String>> values = new ArrayList<List<String>>(windows);
+            for (Response<List<String>> response : responses) {
+                values.add(response.get());
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Get windows of the members of a zset type key by rank, read with one pipeline flush.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param start
+     *            rank of the first member of the first window
+     * @param count
+     *            number of members of each window
+     * @param windows
+     *            number of consecutive windows
+     * @return the members with their scores of each window, the windows past the end of the zset are empty
+     * @throws Exception
+     */
+    public List<Set<Tuple>> getZSetValueWindows(String sid, String id, int db, String key, long start, int count,
+            int windows) throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Set<Tuple>>> responses = new ArrayList<Response<Set<Tuple>>>(windows);
+            for (int i = 0; i < windows; i++) {
+                long windowStart = start + (long) i * count;
+                responses.add(pipeline.zrangeWithScores(key, windowStart, windowStart + count - 1));
+            }
+            pipeline.sync();
+            List<Set<Tuple>> values = new ArrayList<Set<Tuple>>(windows);
+            for (Response<Set<Tuple>> response : responses) {
+                values.add(response.get());
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Get the members of a zset type key within a score range.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param min
+     *            minimum score
+     * @param max
+     *            maximum score
+     * @param offset
+     *            number of members in the range to skip
+     * @param count
+     *            maximum number of members to get
+     * @return the members with their scores
+     * @throws Exception
+     */
+    public Set<Tuple> getZSetValueByScore(String sid, String id, int db, String key, double min, double max,
+            int offset, int count) throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            return jedis.zrangeByScoreWithScores(key, min, max, offset, count);
+        }
+    }
+
+    /**
+     * Scan the members of a set type key from a cursor.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param cursor
+     *            cursor for Redis Scan command
+     * @param count
+     *            count for Redis Scan Param
+     * @return the scanned members and the next cursor
+     * @throws Exception
+     */
+    public ScanResult<String> getSetValue(String sid, String id, int db, String key, String cursor, int count)
+            throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            return jedis.sscan(key, cursor, new ScanParams().count(count));
+        }
+    }
+
+    /**
+     * Scan the fields of a hash type key from a cursor.
+     *
+     * @param sid
+     *            subscription id of Redis Cache
+     * @param id
+     *            resource id of Redis Cache
+     * @param db
+     *            index of Redis Cache database
+     * @param key
+     *            name of the key
+     * @param cursor
+     *            cursor for Redis Scan command
+     * @param count
+     *            count for Redis Scan Param
+     * @return the scanned fields and the next cursor
+     * @throws Exception
+     */
+    public ScanResult<Entry<String, String>> getHashValue(String sid, String id, int db, String key, String cursor,
+            int count) throws Exception {
+        try (Jedis jedis = RedisConnectionPools.getInstance().getJedis(sid, id, db)) {
+            return jedis.hscan(key, cursor, new ScanParams().count(count));
+        }
+    }
+
+    private Response<Long> getSize(Pipeline pipeline, String key, String type) {
+        switch (type) {
+            case "string":
+                return pipeline.strlen(key);
+            case "list":
+                return pipeline.llen(key);
+            case "set":
+                return pipeline.scard(key);
+            case "zset":
+                return pipeline.zcard(key);
+            case "hash":
+                return pipeline.hlen(key);
+            default:
+                return null;
+        }
+    }
+
     private boolean canConnect(Jedis jedis, int index) {
         try {
             jedis.select(index);
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.rediscache;
+
+/**
+ * A key of a Redis Cache with its metadata, as read by a scan.
+ */
+public class RedisKeyInfo {
+
+    private static final String STRING_TYPE = "string";
+    private static final long NO_EXPIRY = -1;
+    private static final long EXPIRED = -2;
+
+    private final String key;
+    private final String type;
+    private final long ttl;
+    private final Long size;
+
+    public RedisKeyInfo(String key, String type, long ttl, Long size) {
+        this.key = key;
+        this.type = type;
+        this.ttl = ttl;
+        this.size = size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the type of the key as returned by the TYPE command, "none" if the key is gone.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Get the time to live of the key in seconds, -1 if it doesn't expire and -2 if it is gone.
+     */
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Get the length of a string key or the number of elements of another key, null if unknown.
+     */
+    public Long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the metadata of the key to show next to it, e.g. "hash, 12 items, expires in 300 s".
+     */
+    public String getDescription() {
+        StringBuilder description = new StringBuilder(type);
+        if (size != null) {
+            description.append(String.format(STRING_TYPE.equals(type) ? ", %d bytes" : ", %d items", size));
+        }
+        if (ttl == NO_EXPIRY) {
+            description.append(", no expiry");
+        } else if (ttl == EXPIRED) {
+            description.append(", expired");
+        } else {
+            description.append(String.format(", expires in %d s", ttl));
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
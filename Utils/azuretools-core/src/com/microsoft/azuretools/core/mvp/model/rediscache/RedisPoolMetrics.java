@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.core.mvp.model.rediscache;
+
+/**
+ * The usage of the connection pool of a Redis Cache database.
+ */
+public class RedisPoolMetrics {
+
+    private final String id;
+    private final int db;
+    private final int maxConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waiters;
+    private final long meanBorrowWaitMillis;
+    private final long maxBorrowWaitMillis;
+
+    public RedisPoolMetrics(String id, int db, int maxConnections, int activeConnections, int idleConnections,
+                            int waiters, long meanBorrowWaitMillis, long maxBorrowWaitMillis) {
+        this.id = id;
+        this.db = db;
+        this.maxConnections = maxConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waiters = waiters;
+        this.meanBorrowWaitMillis = meanBorrowWaitMillis;
+        this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getDb() {
+        return db;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public long getMeanBorrowWaitMillis() {
+        return meanBorrowWaitMillis;
+    }
+
+    public long getMaxBorrowWaitMillis() {
+        return maxBorrowWaitMillis;
+    }
+
+    /**
+     * The pool is saturated when all its connections are in use and more are being waited for.
+     */
+    public boolean isSaturated() {
+        return activeConnections >= maxConnections && waiters > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/%d: %d/%d active, %d idle, %d waiting, borrow wait mean %d ms max %d ms", id, db,
+                activeConnections, maxConnections, idleConnections, waiters, meanBorrowWaitMillis,
+                maxBorrowWaitMillis);
+    }
+}
@@ -5,6 +5,10 @@
 
 package com.microsoft.azuretools.core.mvp.ui.rediscache;
 
+import com.microsoft.azuretools.core.mvp.model.rediscache.RedisKeyInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import redis.clients.jedis.ScanResult;
@@ -12,14 +16,33 @@ import redis.clients.jedis.ScanResult;
 public class RedisScanResult {
 
     private List<String> keys;
+    private List<RedisKeyInfo> keyInfos;
     private String nextCursor;
 
 
     public RedisScanResult(ScanResult<String> result) {
         this.keys = result.getResult();
+        this.keyInfos = Collections.emptyList();
         this.nextCursor = result.getStringCursor();
     }
 
+    private RedisScanResult(List<String> keys, List<RedisKeyInfo> keyInfos, String nextCursor) {
+        this.keys = keys;
+        this.keyInfos = keyInfos;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Create the result of a scan with the key metadata.
+     */
+    public static RedisScanResult fromKeyInfos(ScanResult<RedisKeyInfo> result) {
+        List<String> keys = new ArrayList<String>(result.getResult().size());
+        for (RedisKeyInfo keyInfo : result.getResult()) {
+            keys.add(keyInfo.getKey());
+        }
+        return new RedisScanResult(keys, result.getResult(), result.getStringCursor());
+    }
+
     public String getNextCursor() {
         return nextCursor;
     }
@@ -27,4 +50,11 @@ public class RedisScanResult {
     public List<String> getKeys() {
         return keys;
     }
+
+    /**
+     * Get the keys with their metadata, empty if the scan didn't read them.
+     */
+    public List<RedisKeyInfo> getKeyInfos() {
+        return keyInfos;
+    }
 }
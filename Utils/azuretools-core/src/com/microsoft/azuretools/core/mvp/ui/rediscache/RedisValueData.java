@@ -13,6 +13,7 @@ public class RedisValueData {
 
     private ArrayList<String[]> rowData;
     private RedisKeyType keyType;
+    private boolean hasMore;
 
     /**
      * Constructor for RedisValueData class.
@@ -25,8 +26,23 @@ public class RedisValueData {
      *            the Redis Cache's key type
      */
     public RedisValueData(ArrayList<String[]> rowData, RedisKeyType keyType) {
+        this(rowData, keyType, false);
+    }
+
+    /**
+     * Constructor for a page of the value of a collection.
+     *
+     * @param rowData
+     *            the data for each table row
+     * @param keyType
+     *            the Redis Cache's key type
+     * @param hasMore
+     *            whether the value has rows after this page
+     */
+    public RedisValueData(ArrayList<String[]> rowData, RedisKeyType keyType, boolean hasMore) {
         this.rowData = rowData;
         this.keyType = keyType;
+        this.hasMore = hasMore;
     }
 
     public ArrayList<String[]> getRowData() {
@@ -36,4 +52,8 @@ public class RedisValueData {
     public RedisKeyType getKeyType() {
         return keyType;
     }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
 }
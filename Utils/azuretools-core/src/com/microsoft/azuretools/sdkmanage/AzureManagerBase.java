@@ -30,13 +30,19 @@ import com.microsoft.azuretools.utils.AzureRegisterProviderNamespaces;
 import com.microsoft.azuretools.utils.Pair;
 
 import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -58,6 +64,8 @@ public abstract class AzureManagerBase implements AzureManager {
 
     private static final Logger LOGGER = Logger.getLogger(AzureManagerBase.class.getName());
     private static final String MICROSOFT_INSIGHTS_NAMESPACE = "microsoft.insights";
+    private static final int TENANT_LOADING_CONCURRENCY = 8;
+    private static final SubscriptionTenantIndex subscriptionTenantIndex = new SubscriptionTenantIndex();
 
     protected Map<String, Azure> sidToAzureMap = new ConcurrentHashMap<>();
     protected Map<String, AppPlatformManager> sidToAzureSpringCloudManagerMap = new ConcurrentHashMap<>();
@@ -65,6 +73,7 @@ public abstract class AzureManagerBase implements AzureManager {
     protected Map<String, InsightsManager> sidToInsightsManagerMap = new ConcurrentHashMap<>();
     protected final SubscriptionManager subscriptionManager;
     protected static final Settings settings = new Settings();
+    private CompletableFuture<List<Pair<Subscription, Tenant>>> subscriptionTenantIndexRefresh;
 
     protected AzureManagerBase() {
         this.subscriptionManager = new SubscriptionManagerPersist(this);
@@ -101,11 +110,35 @@ public abstract class AzureManagerBase implements AzureManager {
     @Override
     @AzureOperation(name = "account|subscription.get_tenant", params = {"subscriptionId"}, type = AzureOperation.Type.TASK)
     public String getTenantIdBySubscription(String subscriptionId) {
-        final Pair<Subscription, Tenant> subscriptionTenantPair = getSubscriptionsWithTenant().stream()
-                .filter(pair -> pair != null && pair.first() != null && pair.second() != null)
-                .filter(pair -> StringUtils.equals(pair.first().subscriptionId(), subscriptionId))
-                .findFirst().orElseThrow(() -> new AzureRuntimeException(ErrorEnum.INVALID_SUBSCRIPTION_CACHE));
-        return subscriptionTenantPair.second().tenantId();
+        final String tenantId = subscriptionTenantIndex.getTenantId(subscriptionId);
+        if (tenantId != null) {
+            return tenantId;
+        }
+        // the subscription may be new since the last listing, wait for a refresh before giving up
+        try {
+            refreshSubscriptionTenantIndexAsync().join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof AzureRuntimeException) {
+                throw (AzureRuntimeException) e.getCause();
+            }
+            final ErrorEnum error = ErrorEnum.INVALID_SUBSCRIPTION_CACHE;
+            throw new AzureRuntimeException(error.getErrorCode(), error.getErrorMessage(), e.getCause());
+        }
+        return Optional.ofNullable(subscriptionTenantIndex.getTenantId(subscriptionId))
+                .orElseThrow(() -> new AzureRuntimeException(ErrorEnum.INVALID_SUBSCRIPTION_CACHE));
+    }
+
+    /**
+     * List the subscriptions of all tenants in the background to refresh the subscription to tenant index, joining
+     * the refresh already running if any.
+     */
+    public synchronized CompletableFuture<List<Pair<Subscription, Tenant>>> refreshSubscriptionTenantIndexAsync() {
+        if (subscriptionTenantIndexRefresh == null || subscriptionTenantIndexRefresh.isDone()) {
+            subscriptionTenantIndexRefresh = Mono.fromCallable(this::getSubscriptionsWithTenant)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .toFuture();
+        }
+        return subscriptionTenantIndexRefresh;
     }
 
     protected <T extends AzureConfigurable<T>> T buildAzureManager(AzureConfigurable<T> configurable) {
@@ -121,25 +154,26 @@ public abstract class AzureManagerBase implements AzureManager {
     @Override
     @AzureOperation(name = "account|subscription.list.tenant|authorized", type = AzureOperation.Type.SERVICE)
     public List<Pair<Subscription, Tenant>> getSubscriptionsWithTenant() {
-        final List<Pair<Subscription, Tenant>> subscriptions = new LinkedList<>();
         final Azure.Authenticated authentication = authTenant(getCurrentTenantId());
         // could be multi tenant - return all subscriptions for the current account
         final List<Tenant> tenants = getTenants(authentication);
-        final List<String> failedTenantIds = new ArrayList<>();
-        for (final Tenant tenant : tenants) {
-            try {
-                final Azure.Authenticated tenantAuthentication = authTenant(tenant.tenantId());
-                final List<Subscription> tenantSubscriptions = getSubscriptions(tenantAuthentication);
-                for (final Subscription subscription : tenantSubscriptions) {
-                    subscriptions.add(new Pair<>(subscription, tenant));
-                }
-            } catch (final Exception e) {
-                // just skip for cases user failing to get subscriptions of tenants he/she has no permission to get access token.
-                LOGGER.log(Level.WARNING, e.getMessage(), e);
-                failedTenantIds.add(tenant.tenantId());
-
-            }
-        }
+        final List<String> failedTenantIds = new CopyOnWriteArrayList<>();
+        // list the tenants concurrently on the bounded elastic scheduler, keeping the order of the tenants
+        final List<Pair<Subscription, Tenant>> subscriptions = Flux.fromIterable(tenants)
+                .flatMapSequential(tenant -> Mono.fromCallable(() -> getSubscriptions(authTenant(tenant.tenantId())))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            // just skip for cases user failing to get subscriptions of tenants he/she has no permission to get access token.
+                            LOGGER.log(Level.WARNING, e.getMessage(), e);
+                            failedTenantIds.add(tenant.tenantId());
+                            return Mono.just(Collections.<Subscription>emptyList());
+                        })
+                        .flatMapIterable(tenantSubscriptions -> tenantSubscriptions)
+                        .map(subscription -> new Pair<>(subscription, tenant)), TENANT_LOADING_CONCURRENCY)
+                .collectList()
+                .blockOptional()
+                .orElseGet(ArrayList::new);
+        subscriptionTenantIndex.update(subscriptions, failedTenantIds);
         if (!failedTenantIds.isEmpty()) {
             final INotification nw = CommonSettings.getUiFactory().getNotificationWindow();
             nw.deliver("Lack permission for some tenants", "You don't have permission on the tenant(s): " + StringUtils.join(failedTenantIds, ","));
@@ -238,6 +272,7 @@ public abstract class AzureManagerBase implements AzureManager {
     public void drop() {
         LOGGER.log(Level.INFO, "ServicePrincipalAzureManager.drop()");
         this.subscriptionManager.cleanSubscriptions();
+        subscriptionTenantIndex.clear();
     }
 
     protected abstract String getCurrentTenantId();
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.sdkmanage;
+
+import com.microsoft.azure.management.resources.Subscription;
+import com.microsoft.azure.management.resources.Tenant;
+import com.microsoft.azuretools.adauth.JsonHelper;
+import com.microsoft.azuretools.authmanage.CommonSettings;
+import com.microsoft.azuretools.authmanage.FileStorage;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.utils.Pair;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.microsoft.azuretools.Constants.FILE_NAME_SUBSCRIPTION_TENANT_INDEX;
+
+/**
+ * The subscription ID to tenant ID index, persisted in the settings directory so it's available right after the IDE
+ * restarts.
+ *
+ * A subscription always belongs to one tenant whichever account lists it, so the index is shared by all sign-in
+ * methods. It's loaded from the file at the first lookup, and replaced by each full listing of the subscriptions.
+ */
+class SubscriptionTenantIndex {
+    private static final Logger LOGGER = Logger.getLogger(SubscriptionTenantIndex.class.getName());
+
+    private final Map<String, String> sidToTid = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    @Nullable
+    public String getTenantId(@NotNull String subscriptionId) {
+        loadIfNeeded();
+        return sidToTid.get(subscriptionId);
+    }
+
+    /**
+     * Replace the index with the subscriptions listed, keeping the ones of the tenants failed to list.
+     *
+     * @param subscriptions the subscriptions listed with their tenants
+     * @param failedTenantIds the tenants whose subscriptions can't be listed this time
+     */
+    public synchronized void update(@NotNull Collection<Pair<Subscription, Tenant>> subscriptions,
+                                    @NotNull Collection<String> failedTenantIds) {
+        loadIfNeeded();
+        final Map<String, String> updated = new HashMap<>();
+        sidToTid.forEach((sid, tid) -> {
+            if (failedTenantIds.contains(tid)) {
+                updated.put(sid, tid);
+            }
+        });
+        for (final Pair<Subscription, Tenant> pair : subscriptions) {
+            if (pair != null && pair.first() != null && pair.second() != null) {
+                updated.put(pair.first().subscriptionId(), pair.second().tenantId());
+            }
+        }
+
+        sidToTid.keySet().retainAll(updated.keySet());
+        sidToTid.putAll(updated);
+        persist();
+    }
+
+    public synchronized void clear() {
+        sidToTid.clear();
+        loaded = true;
+        persist();
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                final FileStorage file = new FileStorage(FILE_NAME_SUBSCRIPTION_TENANT_INDEX,
+                        CommonSettings.getSettingsBaseDir());
+                final String json = new String(file.read(), StandardCharsets.UTF_8);
+                if (!json.isEmpty()) {
+                    @SuppressWarnings("unchecked")
+                    final Map<String, String> persisted = JsonHelper.deserialize(Map.class, json);
+                    sidToTid.putAll(persisted);
+                }
+            } catch (final IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to load the subscription tenant index", e);
+            }
+            loaded = true;
+        }
+    }
+
+    private void persist() {
+        try {
+            final FileStorage file = new FileStorage(FILE_NAME_SUBSCRIPTION_TENANT_INDEX,
+                    CommonSettings.getSettingsBaseDir());
+            file.write(JsonHelper.serialize(new HashMap<>(sidToTid)).getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to persist the subscription tenant index", e);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import com.microsoft.azuretools.adauth.StringUtils;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import com.microsoft.azuretools.telemetrywrapper.TelemetryManager;
+import com.microsoft.azuretools.telemetrywrapper.TelemetryPipeline;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -98,12 +99,8 @@ public class AppInsightsClient {
         if (isAppInsightsClientAvailable() && configuration.validated()) {
             String prefValue = configuration.preferenceVal();
             if (prefValue == null || prefValue.isEmpty() || prefValue.equalsIgnoreCase("true") || force) {
-                TelemetryClient telemetry = TelemetryClientSingleton.getTelemetry();
                 Map<String, String> properties = buildProperties(version, myProperties);
-                synchronized (TelemetryClientSingleton.class) {
-                    telemetry.trackEvent(eventName, properties, metrics);
-                    telemetry.flush();
-                }
+                TelemetryPipeline.getInstance().enqueue(eventName, properties, metrics);
             }
         }
     }
@@ -139,8 +136,6 @@ public class AppInsightsClient {
         if (!isAppInsightsClientAvailable())
             return;
 
-        TelemetryClient telemetry = TelemetryClientSingleton.getTelemetry();
-
         Map<String, String> properties = new HashMap<String, String>();
         properties.put("SessionId", configuration.sessionId());
         if (uri != null && !uri.isEmpty()) {
@@ -163,10 +158,7 @@ public class AppInsightsClient {
                 properties.put("Installation ID", instID);
             }
         }
-        synchronized (TelemetryClientSingleton.class) {
-            telemetry.trackEvent(eventName, properties, null);
-            telemetry.flush();
-        }
+        TelemetryPipeline.getInstance().enqueue(eventName, properties, null);
     }
 
     private static boolean isAppInsightsClientAvailable() {
@@ -179,9 +171,10 @@ public class AppInsightsClient {
             TelemetryClientSingleton.setConfiguration(configuration);
             final TelemetryClient client = TelemetryClientSingleton.getTelemetry();
             final String eventNamePrefix = configuration.eventName();
-            TelemetryManager.getInstance().setTelemetryClient(client);
+            // The client wakes up the sender of the cached events, which need the prefix and properties
             TelemetryManager.getInstance().setCommonProperties(properties);
             TelemetryManager.getInstance().setEventNamePrefix(eventNamePrefix);
+            TelemetryManager.getInstance().setTelemetryClient(client);
             TelemetryManager.getInstance().sendCachedTelemetries();
             AzureTelemeter.setClient(client);
             AzureTelemeter.setCommonProperties(properties);
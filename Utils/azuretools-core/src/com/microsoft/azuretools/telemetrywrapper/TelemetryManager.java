@@ -14,8 +14,8 @@ import java.util.Map;
 
 public class TelemetryManager {
 
-    private String eventNamePrefix = "";
-    private Map<String, String> commonProperties = Collections.unmodifiableMap(new HashMap<>());
+    private volatile String eventNamePrefix = "";
+    private volatile Map<String, String> commonProperties = Collections.unmodifiableMap(new HashMap<>());
 
     private static final class SingletonHolder {
         private static final TelemetryManager INSTANCE = new TelemetryManager();
@@ -28,8 +28,13 @@ public class TelemetryManager {
         return SingletonHolder.INSTANCE;
     }
 
+    /**
+     * Set the telemetry client, which starts sending the cached events. Set the event name prefix and the common
+     * properties before it.
+     */
     public void setTelemetryClient(TelemetryClient telemetryClient) {
         CommonUtil.client = telemetryClient;
+        TelemetryPipeline.getInstance().setClient(telemetryClient);
     }
 
     public String getEventNamePrefix() {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.telemetrywrapper;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * The asynchronous telemetry pipeline, which takes events from callers without blocking and sends them in batches.
+ *
+ * Events are put into a bounded lock-free queue. A background sender tracks them with the telemetry client and
+ * flushes once per batch, when {@link #BATCH_SIZE} events are queued or {@link #BATCH_INTERVAL_MS} passes. Events
+ * are kept in the queue until the telemetry client is set, and the new ones are dropped when the queue is full.
+ * The queued events are flushed once at the JVM shutdown.
+ */
+public final class TelemetryPipeline {
+    public static final int QUEUE_CAPACITY = 1024;
+    public static final int BATCH_SIZE = 64;
+    public static final long BATCH_INTERVAL_MS = 5000;
+
+    private static final class TelemetryEvent {
+        private final Supplier<String> eventName;
+        private final Map<String, String> properties;
+        private final Map<String, Double> metrics;
+
+        private TelemetryEvent(Supplier<String> eventName, Map<String, String> properties,
+                               Map<String, Double> metrics) {
+            this.eventName = eventName;
+            this.properties = properties;
+            this.metrics = metrics;
+        }
+    }
+
+    private static final class SingletonHolder {
+        private static final TelemetryPipeline INSTANCE = new TelemetryPipeline();
+    }
+
+    private final Queue<TelemetryEvent> queue = new ConcurrentLinkedQueue<>();
+    // The size of ConcurrentLinkedQueue is O(n), count it separately
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread sender;
+    private volatile TelemetryClient client = null;
+    private volatile boolean shutdown = false;
+
+    private TelemetryPipeline() {
+        sender = new Thread(this::runSender, "azure-telemetry-sender");
+        sender.setDaemon(true);
+        sender.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "azure-telemetry-shutdown"));
+    }
+
+    public static TelemetryPipeline getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Set the telemetry client to send events, the events queued before are sent at once.
+     */
+    public void setClient(TelemetryClient telemetryClient) {
+        this.client = telemetryClient;
+        LockSupport.unpark(sender);
+    }
+
+    /**
+     * Put the event into the queue without blocking.
+     *
+     * @param eventName the event name supplier, which is called by the sender
+     * @param properties the event properties, which shouldn't be modified after enqueued
+     * @param metrics the event metrics, which shouldn't be modified after enqueued
+     * @return false if the event is dropped for the queue is full
+     */
+    public boolean enqueue(Supplier<String> eventName, Map<String, String> properties, Map<String, Double> metrics) {
+        if (shutdown) {
+            return false;
+        }
+
+        final int count = queuedCount.incrementAndGet();
+        if (count > QUEUE_CAPACITY) {
+            queuedCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+
+            return false;
+        }
+
+        queue.offer(new TelemetryEvent(eventName, properties, metrics));
+        if (count == BATCH_SIZE) {
+            LockSupport.unpark(sender);
+        }
+
+        return true;
+    }
+
+    public boolean enqueue(String eventName, Map<String, String> properties, Map<String, Double> metrics) {
+        return enqueue(() -> eventName, properties, metrics);
+    }
+
+    /**
+     * Ask the sender to send the queued events now, without waiting for the batch.
+     */
+    public void flushSoon() {
+        LockSupport.unpark(sender);
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void runSender() {
+        while (!shutdown) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(BATCH_INTERVAL_MS));
+
+            try {
+                sendQueuedEvents();
+            } catch (Exception ignore) {
+                // Telemetry failures shouldn't break the sender
+            }
+        }
+    }
+
+    private synchronized void sendQueuedEvents() {
+        final TelemetryClient telemetryClient = client;
+        if (telemetryClient == null || queuedCount.get() == 0) {
+            return;
+        }
+
+        TelemetryEvent event;
+        int sent = 0;
+        while ((event = queue.poll()) != null) {
+            queuedCount.decrementAndGet();
+            telemetryClient.trackEvent(event.eventName.get(), event.properties, event.metrics);
+
+            if (++sent % BATCH_SIZE == 0) {
+                telemetryClient.flush();
+            }
+        }
+
+        if (sent % BATCH_SIZE != 0) {
+            telemetryClient.flush();
+        }
+    }
+
+    private void shutdown() {
+        shutdown = true;
+
+        try {
+            sendQueuedEvents();
+        } catch (Exception ignore) {
+        }
+    }
+}
@@ -103,9 +103,6 @@ public class AzureModelController {
             return;
         }
 
-        Map<ResourceGroup, List<WebApp>> rgwaMap = azureModel.getResourceGroupToWebAppMap();
-        Map<ResourceGroup, List<AppServicePlan>> rgspMap = azureModel.getResourceGroupToAppServicePlanMap();
-
         System.out.println("AzureModelController.subscriptionSelectionChanged: getting subscription details...");
         SubscriptionManager subscriptionManager = azureManager.getSubscriptionManager();
         List<SubscriptionDetail> sdl = subscriptionManager.getSubscriptionDetails();
@@ -114,50 +111,12 @@ public class AzureModelController {
             return;
         }
 
-        for (SubscriptionDetail sd : sdl) {
-            if (!srgMap.containsKey(sd)) {
-                if (!sd.isSelected()) {
-                    continue;
-                }
-
-                if (progressIndicator != null && progressIndicator.isCanceled()) {
-                    progressIndicator.setText("Cancelling...");
-                    clearAll();
-                    return;
-                    // TODO: throw exception?
-                }
-
-                // subscription locations
-                List<Subscription> sl = azureManager.getSubscriptions();
-                System.out.println("Updating subscription locations");
-                Subscription subscription = sidToSubscriptionMap.get(sd.getSubscriptionId());
-                if (progressIndicator != null) {
-                    progressIndicator.setText(String.format("Updating subscription '%s' locations...", subscription.displayName()));
-                }
-                List<Location> locl = subscription.listLocations();
-                Collections.sort(locl, new Comparator<Location>() {
-                    @Override
-                    public int compare(Location lhs, Location rhs) {
-                        return lhs.displayName().compareTo(rhs.displayName());
-                    }
-                });
-
-                Map<SubscriptionDetail, List<Location>> sdlocMap = azureModel.getSubscriptionToLocationMap();
-                sdlocMap.put(sd, locl);
-
-                // resource group maps
-                Azure azure = azureManager.getAzure(sd.getSubscriptionId());
-                List<ResourceGroup> rgList = azure.resourceGroups().list();
-                srgMap.put(sd, rgList);
-                updateResGrDependency(azure, rgList, progressIndicator, rgwaMap, rgspMap);
-            } else {
-                // find and modify the key
-                for (SubscriptionDetail sdk : srgMap.keySet()) {
-                    if (sdk.equals(sd)) {
-                        sdk.setSelected(sd.isSelected());
-                    }
-                }
+        // only the subscriptions newly selected are loaded, the deselected ones are dropped
+        if (!new AzureModelLoader(azureManager, progressIndicator).update(sdl)) {
+            if (progressIndicator != null) {
+                progressIndicator.setText("Cancelling...");
             }
+            clearAll();
         }
     }
 
@@ -173,11 +132,11 @@ public class AzureModelController {
         }
     }
 
-    private static void updateResGrDependency(Azure azure,
-                                              List<ResourceGroup> rgList,
-                                              IProgressIndicator progressIndicator,
-                                              Map<ResourceGroup, List<WebApp>> rgwaMap,
-                                              Map<ResourceGroup, List<AppServicePlan>> rgspMap) {
+    static void updateResGrDependency(Azure azure,
+                                      List<ResourceGroup> rgList,
+                                      IProgressIndicator progressIndicator,
+                                      Map<ResourceGroup, List<WebApp>> rgwaMap,
+                                      Map<ResourceGroup, List<AppServicePlan>> rgspMap) {
 
         if (progressIndicator != null) {
             progressIndicator.setText("Reading App Services...");
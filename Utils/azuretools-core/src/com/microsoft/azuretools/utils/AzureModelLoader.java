@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import com.microsoft.azure.management.Azure;
+import com.microsoft.azure.management.appservice.AppServicePlan;
+import com.microsoft.azure.management.appservice.WebApp;
+import com.microsoft.azure.management.resources.Location;
+import com.microsoft.azure.management.resources.ResourceGroup;
+import com.microsoft.azure.management.resources.Subscription;
+import com.microsoft.azuretools.authmanage.models.SubscriptionDetail;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import com.microsoft.azuretools.sdkmanage.AzureManager;
+import org.apache.commons.lang3.StringUtils;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the resource model of the selected subscriptions into {@link AzureModel} incrementally.
+ *
+ * Only the subscriptions newly selected are loaded, and only the ones deselected are dropped, the others are left as
+ * they are. The subscriptions are loaded concurrently, limited per tenant since ARM throttles the requests per tenant,
+ * and each one is published to the model as soon as it's loaded, so a slow subscription doesn't hold back the others.
+ */
+class AzureModelLoader {
+    private static final Logger LOGGER = Logger.getLogger(AzureModelLoader.class.getName());
+    private static final int TENANT_LOADING_CONCURRENCY = 4;
+
+    private final AzureManager azureManager;
+    private final IProgressIndicator progressIndicator;
+
+    AzureModelLoader(AzureManager azureManager, @Nullable IProgressIndicator progressIndicator) {
+        this.azureManager = azureManager;
+        this.progressIndicator = progressIndicator;
+    }
+
+    /**
+     * Bring the model in line with the subscription selection.
+     *
+     * @return false if cancelled before all the subscriptions newly selected were loaded
+     */
+    boolean update(List<SubscriptionDetail> subscriptionDetails) {
+        final AzureModel azureModel = AzureModel.getInstance();
+        final Map<SubscriptionDetail, List<ResourceGroup>> srgMap = azureModel.getSubscriptionToResourceGroupMap();
+        final Map<SubscriptionDetail, List<Location>> sdlocMap = azureModel.getSubscriptionToLocationMap();
+        final Set<SubscriptionDetail> selected = subscriptionDetails.stream()
+                .filter(SubscriptionDetail::isSelected)
+                .collect(Collectors.toSet());
+
+        final List<SubscriptionDetail> removed = srgMap.keySet().stream()
+                .filter(sd -> !selected.contains(sd))
+                .collect(Collectors.toList());
+        for (final SubscriptionDetail sd : removed) {
+            drop(azureModel, srgMap, sdlocMap, sd);
+        }
+
+        final List<SubscriptionDetail> added = selected.stream()
+                .filter(sd -> !srgMap.containsKey(sd))
+                .collect(Collectors.toList());
+        if (added.isEmpty()) {
+            return true;
+        }
+        final Collection<List<SubscriptionDetail>> addedByTenant = added.stream()
+                .collect(Collectors.groupingBy(sd -> StringUtils.defaultString(sd.getTenantId()))).values();
+        Observable.from(addedByTenant)
+                .flatMap(tenantSubscriptions -> Observable.from(tenantSubscriptions)
+                        .flatMap(sd -> Observable.fromCallable(() -> load(azureModel, srgMap, sdlocMap, sd))
+                                .subscribeOn(Schedulers.io()), TENANT_LOADING_CONCURRENCY))
+                .toBlocking()
+                .subscribe();
+        return !isCanceled();
+    }
+
+    private boolean load(AzureModel azureModel,
+                         Map<SubscriptionDetail, List<ResourceGroup>> srgMap,
+                         Map<SubscriptionDetail, List<Location>> sdlocMap,
+                         SubscriptionDetail sd) {
+        if (isCanceled()) {
+            return false;
+        }
+        if (progressIndicator != null) {
+            progressIndicator.setText(String.format("Reading subscription '%s'...", sd.getSubscriptionName()));
+        }
+        try {
+            final Subscription subscription = azureModel.getSidToSubscriptionMap().get(sd.getSubscriptionId());
+            final List<Location> locations = subscription == null ? Collections.emptyList() : subscription.listLocations();
+            Collections.sort(locations, Comparator.comparing(Location::displayName));
+
+            final Azure azure = azureManager.getAzure(sd.getSubscriptionId());
+            final List<ResourceGroup> rgList = azure.resourceGroups().list();
+            final Map<ResourceGroup, List<WebApp>> rgwaMap = azureModel.getResourceGroupToWebAppMap();
+            final Map<ResourceGroup, List<AppServicePlan>> rgspMap = azureModel.getResourceGroupToAppServicePlanMap();
+            // the app service maps are only there once they have been loaded, keep them complete for the new subscription
+            if (rgwaMap != null && rgspMap != null) {
+                AzureModelController.updateResGrDependency(azure, rgList, progressIndicator, rgwaMap, rgspMap);
+            }
+
+            // publish the resource groups last, a subscription in the map has all its dependencies loaded
+            sdlocMap.put(sd, locations);
+            srgMap.put(sd, rgList);
+            return true;
+        } catch (final RuntimeException e) {
+            // leave the subscription out, it's loaded again on the next selection change
+            LOGGER.log(Level.WARNING, String.format("Failed to load subscription '%s'", sd.getSubscriptionId()), e);
+            return false;
+        }
+    }
+
+    private static void drop(AzureModel azureModel,
+                             Map<SubscriptionDetail, List<ResourceGroup>> srgMap,
+                             Map<SubscriptionDetail, List<Location>> sdlocMap,
+                             SubscriptionDetail sd) {
+        final List<ResourceGroup> rgList = srgMap.remove(sd);
+        sdlocMap.remove(sd);
+        final Map<ResourceGroup, List<WebApp>> rgwaMap = azureModel.getResourceGroupToWebAppMap();
+        final Map<ResourceGroup, List<AppServicePlan>> rgspMap = azureModel.getResourceGroupToAppServicePlanMap();
+        if (rgList == null) {
+            return;
+        }
+        for (final ResourceGroup rg : rgList) {
+            if (rgwaMap != null) {
+                rgwaMap.remove(rg);
+            }
+            if (rgspMap != null) {
+                rgspMap.remove(rg);
+            }
+        }
+    }
+
+    private boolean isCanceled() {
+        return progressIndicator != null && progressIndicator.isCanceled();
+    }
+}
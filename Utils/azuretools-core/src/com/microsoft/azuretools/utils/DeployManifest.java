@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import com.microsoft.azuretools.adauth.JsonHelper;
+import com.microsoft.azuretools.authmanage.CommonSettings;
+import com.microsoft.azuretools.authmanage.FileStorage;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.microsoft.azuretools.Constants.FILE_NAME_DEPLOY_MANIFEST;
+
+/**
+ * The content hashes and sizes of the files of a war, kept in the settings directory from the last successful
+ * deployment of each target with the time each file was modified on the server, so that the next deployment only
+ * ships the files that changed.
+ */
+class DeployManifest {
+    private static final Logger LOGGER = Logger.getLogger(DeployManifest.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Map<String, FileEntry> files = new HashMap<>();
+
+    public Map<String, FileEntry> getFiles() {
+        return files;
+    }
+
+    public void setFiles(Map<String, FileEntry> files) {
+        this.files = files;
+    }
+
+    /**
+     * Hash the files of a war, by their path in it.
+     */
+    @NotNull
+    static DeployManifest fromWar(@NotNull File war) throws IOException {
+        final DeployManifest manifest = new DeployManifest();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (ZipFile zip = new ZipFile(war)) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                final MessageDigest digest = DigestUtils.getSha256Digest();
+                long size = 0;
+                try (InputStream input = zip.getInputStream(entry)) {
+                    int read;
+                    while ((read = input.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        size += read;
+                    }
+                }
+                manifest.files.put(entry.getName(), new FileEntry(Hex.encodeHexString(digest.digest()), size));
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Get the files added or modified since the previous manifest.
+     */
+    @NotNull
+    List<String> getChangedFiles(@NotNull DeployManifest previous) {
+        final List<String> changed = new ArrayList<>();
+        files.forEach((path, entry) -> {
+            if (!entry.equals(previous.files.get(path))) {
+                changed.add(path);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Get the files of the previous manifest which are gone.
+     */
+    @NotNull
+    List<String> getDeletedFiles(@NotNull DeployManifest previous) {
+        final List<String> deleted = new ArrayList<>(previous.files.keySet());
+        deleted.removeAll(files.keySet());
+        return deleted;
+    }
+
+    /**
+     * Tell whether the deployed files, by their path, size and modified time, are still the ones of this manifest.
+     * A file whose modified time wasn't recorded can't be told unchanged.
+     */
+    boolean matches(@NotNull Map<String, FtpDeployer.RemoteFile> deployedFiles) {
+        if (!deployedFiles.keySet().equals(files.keySet())) {
+            return false;
+        }
+        for (final Map.Entry<String, FileEntry> file : files.entrySet()) {
+            final FileEntry entry = file.getValue();
+            final FtpDeployer.RemoteFile deployed = deployedFiles.get(file.getKey());
+            if (entry.getSize() != deployed.getSize() || entry.getModified() == null
+                    || !entry.getModified().equals(deployed.getModified())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the time each file was modified on the server once this manifest is deployed.
+     *
+     * @return false if some deployed files aren't the ones of this manifest or have no modified time
+     */
+    boolean recordDeployed(@NotNull Map<String, FtpDeployer.RemoteFile> deployedFiles) {
+        if (!deployedFiles.keySet().equals(files.keySet())) {
+            return false;
+        }
+        for (final Map.Entry<String, FileEntry> file : files.entrySet()) {
+            final FtpDeployer.RemoteFile deployed = deployedFiles.get(file.getKey());
+            if (file.getValue().getSize() != deployed.getSize() || deployed.getModified() == null) {
+                return false;
+            }
+            file.getValue().setModified(deployed.getModified());
+        }
+        return true;
+    }
+
+    /**
+     * Extract some files of a war into a folder, at their path in the war.
+     */
+    static void extract(@NotNull File war, @NotNull Collection<String> paths, @NotNull File folder) throws IOException {
+        final Path root = folder.getCanonicalFile().toPath();
+        try (ZipFile zip = new ZipFile(war)) {
+            for (final String path : paths) {
+                final ZipEntry entry = zip.getEntry(path);
+                final Path target = root.resolve(path).normalize();
+                if (entry == null || !target.startsWith(root)) {
+                    throw new IOException(String.format("Cannot extract %s from %s", path, war.getName()));
+                }
+                Files.createDirectories(target.getParent());
+                try (InputStream input = zip.getInputStream(entry)) {
+                    Files.copy(input, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the manifest of the last successful deployment to a target.
+     *
+     * @return null if there is none
+     */
+    @Nullable
+    static DeployManifest load(@NotNull String target) {
+        try {
+            final String json = new String(getStorage(target).read(), StandardCharsets.UTF_8);
+            return json.isEmpty() ? null : JsonHelper.deserialize(DeployManifest.class, json);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to load the deployment manifest", e);
+            return null;
+        }
+    }
+
+    void save(@NotNull String target) {
+        try {
+            getStorage(target).write(JsonHelper.serialize(this).getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to persist the deployment manifest", e);
+        }
+    }
+
+    /**
+     * Forget the manifest of a target, its next deployment ships all the files.
+     */
+    static void remove(@NotNull String target) {
+        try {
+            getStorage(target).cleanFile();
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to remove the deployment manifest", e);
+        }
+    }
+
+    private static FileStorage getStorage(String target) throws IOException {
+        return new FileStorage(String.format(FILE_NAME_DEPLOY_MANIFEST, DigestUtils.sha1Hex(target)),
+                CommonSettings.getSettingsBaseDir());
+    }
+
+    public static class FileEntry {
+        private String hash;
+        private long size;
+        // the time the file was modified on the server when it was deployed, not part of the content
+        @Nullable
+        private Long modified;
+
+        public FileEntry() {
+        }
+
+        FileEntry(String hash, long size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        @Nullable
+        public Long getModified() {
+            return modified;
+        }
+
+        public void setModified(@Nullable Long modified) {
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileEntry)) {
+                return false;
+            }
+            final FileEntry that = (FileEntry) o;
+            return size == that.size && Objects.equals(hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, size);
+        }
+    }
+}
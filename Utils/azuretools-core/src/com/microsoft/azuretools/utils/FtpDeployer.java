@@ -0,0 +1,520 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import com.microsoft.azure.management.appservice.PublishingProfile;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
+import org.apache.commons.net.ftp.FTPReply;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deploys files to an App Service over FTP through a pool of authenticated connections.
+ *
+ * Uploads and deletes are put on a work queue and run concurrently, each on a connection of its own, and a failed
+ * transfer is retried on a fresh connection. Directory trees are listed a level at a time, with MLSD when the server
+ * supports it, and the {@link Report} tells how much was transferred and at which rate.
+ */
+public class FtpDeployer implements Closeable {
+
+    public static final int DEFAULT_CONNECTIONS = 8;
+
+    private static final int FTP_PORT = 21;
+    private static final int FTP_MAX_TRY = 3;
+    private static final int SLEEP_TIME = 1000; // milliseconds
+    private static final String MLST_FEATURE = "MLST";
+    private static final String REMOVING = "Removing from FTP server: ";
+    private static final String UPLOADING = "Uploading to FTP server: ";
+
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    @Nullable
+    private final IProgressIndicator indicator;
+    private final ExecutorService executor;
+    private final BlockingQueue<FTPClient> idleClients = new LinkedBlockingQueue<>();
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+    private volatile Boolean mlsdSupported;
+    private volatile boolean canceled;
+
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicInteger uploadedFiles = new AtomicInteger();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicInteger deletedFiles = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+
+    public FtpDeployer(PublishingProfile pp, @Nullable IProgressIndicator indicator) {
+        this(URI.create("ftp://" + pp.ftpUrl()).getHost(), FTP_PORT, pp.ftpUsername(), pp.ftpPassword(),
+                DEFAULT_CONNECTIONS, indicator);
+    }
+
+    public FtpDeployer(String host, int port, String username, String password, int connections,
+                       @Nullable IProgressIndicator indicator) {
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.indicator = indicator;
+        // a worker holds one connection at a time, so there are never more connections than workers
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(connections, runnable -> {
+            final Thread thread = new Thread(runnable, "ftp-deployer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Upload a local directory and everything in it, the remote directories are made before the files go in.
+     *
+     * @throws AzureToolkitRuntimeException if some files can't be uploaded after retrying
+     */
+    public Report uploadDirectory(File localDirectory, String remotePath) {
+        resetCanceled();
+        final List<List<String>> directoryLevels = new ArrayList<>();
+        final Map<String, File> files = new LinkedHashMap<>();
+        collectLocalFiles(localDirectory, StringUtils.removeEnd(remotePath, "/"), 0, directoryLevels, files);
+        for (final List<String> level : directoryLevels) {
+            runAll(level, this::makeDirectory);
+        }
+        final AtomicInteger done = new AtomicInteger();
+        runAll(files.keySet(), (client, path) -> {
+            final boolean uploaded = upload(client, files.get(path), path);
+            if (uploaded && indicator != null) {
+                indicator.setFraction((double) done.incrementAndGet() / files.size());
+            }
+            return uploaded;
+        });
+        checkFailures("upload");
+        return getReport();
+    }
+
+    /**
+     * Upload a local file.
+     *
+     * @throws AzureToolkitRuntimeException if the file can't be uploaded after retrying
+     */
+    public Report uploadFile(File localFile, String remotePath) {
+        resetCanceled();
+        runAll(Collections.singletonList(remotePath), (client, path) -> upload(client, localFile, path));
+        checkFailures("upload");
+        return getReport();
+    }
+
+    /**
+     * Delete a remote file, a file that isn't there is taken as deleted.
+     *
+     * @throws AzureToolkitRuntimeException if the file can't be deleted after retrying
+     */
+    public Report deleteFile(String remotePath) {
+        return deleteFiles(Collections.singletonList(remotePath));
+    }
+
+    /**
+     * Delete remote files, the files that aren't there are taken as deleted.
+     *
+     * @throws AzureToolkitRuntimeException if some files can't be deleted after retrying
+     */
+    public Report deleteFiles(Collection<String> remotePaths) {
+        resetCanceled();
+        runAll(remotePaths, this::delete);
+        checkFailures("delete");
+        return getReport();
+    }
+
+    /**
+     * List the files in a remote directory and all its sub directories.
+     *
+     * @return each file by its path relative to the directory, empty if there is no such directory
+     * @throws AzureToolkitRuntimeException if some directories can't be listed after retrying
+     */
+    public Map<String, RemoteFile> listFiles(String remotePath) {
+        resetCanceled();
+        final String root = StringUtils.removeEnd(remotePath, "/");
+        final Map<String, RemoteFile> files = new ConcurrentHashMap<>();
+        listTree(root, files);
+        checkFailures("list");
+        final Map<String, RemoteFile> relativeFiles = new HashMap<>(files.size());
+        files.forEach((path, file) -> relativeFiles.put(path.substring(root.length() + 1), file));
+        return relativeFiles;
+    }
+
+    /**
+     * Remove a remote directory and everything in it, a directory that isn't there is taken as removed.
+     *
+     * @throws AzureToolkitRuntimeException if some files can't be deleted after retrying
+     */
+    public Report removeDirectory(String remotePath) {
+        resetCanceled();
+        final Map<String, RemoteFile> files = new ConcurrentHashMap<>();
+        final List<List<String>> directoryLevels = listTree(StringUtils.removeEnd(remotePath, "/"), files);
+        runAll(files.keySet(), this::delete);
+        // a directory can only be removed once it's empty, so the deepest ones go first
+        for (int i = directoryLevels.size() - 1; i >= 0; i--) {
+            runAll(directoryLevels.get(i), this::removeEmptyDirectory);
+        }
+        checkFailures("delete");
+        return getReport();
+    }
+
+    /**
+     * Get what has been transferred since this deployer was created.
+     */
+    public Report getReport() {
+        return new Report(uploadedFiles.get(), uploadedBytes.get(), deletedFiles.get(), retries.get(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        FTPClient client;
+        while ((client = idleClients.poll()) != null) {
+            try {
+                client.logout();
+            } catch (final IOException ignored) {
+                // disconnected anyway
+            }
+            discardClient(client);
+        }
+    }
+
+    private void collectLocalFiles(File directory, String remoteDirectory, int depth,
+                                   List<List<String>> directoryLevels, Map<String, File> files) {
+        if (directoryLevels.size() <= depth) {
+            directoryLevels.add(new ArrayList<>());
+        }
+        directoryLevels.get(depth).add(remoteDirectory);
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (final File child : children) {
+            final String remoteChild = remoteDirectory + "/" + child.getName();
+            if (child.isDirectory()) {
+                collectLocalFiles(child, remoteChild, depth + 1, directoryLevels, files);
+            } else {
+                files.put(remoteChild, child);
+            }
+        }
+    }
+
+    /**
+     * List a directory tree a level at a time, the directories of a level are listed concurrently.
+     *
+     * @return the directories of each level, starting with the root
+     */
+    private List<List<String>> listTree(String root, Map<String, RemoteFile> files) {
+        final List<List<String>> directoryLevels = new ArrayList<>();
+        List<String> level = Collections.singletonList(root);
+        while (!level.isEmpty()) {
+            directoryLevels.add(level);
+            final Queue<String> subDirectories = new ConcurrentLinkedQueue<>();
+            runAll(level, (client, directory) -> list(client, directory, files, subDirectories));
+            level = new ArrayList<>(subDirectories);
+        }
+        return directoryLevels;
+    }
+
+    private boolean list(FTPClient client, String directory, Map<String, RemoteFile> files,
+                         Queue<String> subDirectories) throws IOException {
+        final boolean mlsd = isMlsdSupported(client);
+        final FTPFile[] entries = mlsd ? client.mlistDir(directory) : client.listFiles(directory);
+        if (FTPReply.isNegativePermanent(client.getReplyCode())) {
+            // there is no such directory, nothing to remove
+            return true;
+        }
+        if (!FTPReply.isPositiveCompletion(client.getReplyCode())) {
+            return false;
+        }
+        for (final FTPFile entry : entries) {
+            // an entry the parser can't make sense of is null
+            if (entry == null || isSelfOrParent(entry)) {
+                continue;
+            }
+            final String path = directory + "/" + entry.getName();
+            if (entry.isDirectory()) {
+                subDirectories.add(path);
+            } else {
+                // the time of a LIST entry may be to the minute or the day only, it can't tell a file changed
+                final Long modified = mlsd && entry.getTimestamp() != null
+                        ? entry.getTimestamp().getTimeInMillis() : null;
+                files.put(path, new RemoteFile(entry.getSize(), modified));
+            }
+        }
+        return true;
+    }
+
+    private boolean isMlsdSupported(FTPClient client) throws IOException {
+        if (mlsdSupported == null) {
+            mlsdSupported = client.hasFeature(MLST_FEATURE);
+        }
+        return mlsdSupported;
+    }
+
+    private static boolean isSelfOrParent(FTPFile entry) {
+        final String name = entry.getName();
+        final String rawListing = StringUtils.lowerCase(entry.getRawListing());
+        return ".".equals(name) || "..".equals(name)
+                || StringUtils.contains(rawListing, "type=cdir;") || StringUtils.contains(rawListing, "type=pdir;");
+    }
+
+    private boolean makeDirectory(FTPClient client, String path) throws IOException {
+        // an existing directory is refused too, if it's really missing the uploads into it fail
+        client.makeDirectory(path);
+        return true;
+    }
+
+    private boolean upload(FTPClient client, File file, String path) throws IOException {
+        setText2(UPLOADING + path);
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+            if (!client.storeFile(path, input)) {
+                return false;
+            }
+        }
+        uploadedFiles.incrementAndGet();
+        uploadedBytes.addAndGet(file.length());
+        return true;
+    }
+
+    private boolean delete(FTPClient client, String path) throws IOException {
+        setText2(REMOVING + path);
+        if (client.deleteFile(path)) {
+            deletedFiles.incrementAndGet();
+            return true;
+        }
+        return client.getReplyCode() == FTPReply.FILE_UNAVAILABLE;
+    }
+
+    private boolean removeEmptyDirectory(FTPClient client, String path) throws IOException {
+        setText2(REMOVING + path);
+        return client.removeDirectory(path) || client.getReplyCode() == FTPReply.FILE_UNAVAILABLE;
+    }
+
+    private <T> void runAll(Collection<T> items, FtpOperation<T> operation) {
+        final List<Future<?>> futures = new ArrayList<>(items.size());
+        for (final T item : items) {
+            futures.add(executor.submit(() -> execute(item, operation)));
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AzureToolkitRuntimeException("FTP deployment is interrupted", e);
+            } catch (final ExecutionException e) {
+                failures.add(String.valueOf(e.getCause().getMessage()));
+            }
+        }
+        setText2("");
+    }
+
+    private <T> void execute(T item, FtpOperation<T> operation) {
+        for (int count = 1; count <= FTP_MAX_TRY; count++) {
+            if (isCanceled()) {
+                // the item is left undone, so that the transfer isn't taken as complete
+                canceled = true;
+                failures.add(String.valueOf(item));
+                return;
+            }
+            FTPClient client = null;
+            boolean returned = false;
+            try {
+                client = borrowClient();
+                final boolean done = operation.run(client, item);
+                // the connection is still good when the server just refused the command
+                idleClients.add(client);
+                returned = true;
+                if (done) {
+                    return;
+                }
+            } catch (final IOException e) {
+                // retried on a fresh connection
+            } finally {
+                // a connection in an unknown state, e.g. after a runtime exception, is never reused
+                if (!returned) {
+                    discardClient(client);
+                }
+            }
+            if (count < FTP_MAX_TRY) {
+                retries.incrementAndGet();
+                try {
+                    Thread.sleep(SLEEP_TIME);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        failures.add(String.valueOf(item));
+    }
+
+    private FTPClient borrowClient() throws IOException {
+        FTPClient client;
+        while ((client = idleClients.poll()) != null) {
+            if (client.isConnected()) {
+                return client;
+            }
+        }
+        return WebAppUtils.getFtpConnection(host, port, username, password);
+    }
+
+    private static void discardClient(@Nullable FTPClient client) {
+        if (client != null && client.isConnected()) {
+            try {
+                client.disconnect();
+            } catch (final IOException ignored) {
+                // the connection is dropped anyway
+            }
+        }
+    }
+
+    private void checkFailures(String action) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        final String error = canceled
+                ? String.format("FTP deployment is canceled before it could %s all files", action)
+                : String.format("failed to %s %d files on FTP server, e.g. %s",
+                        action, failures.size(), failures.peek());
+        failures.clear();
+        throw new AzureToolkitRuntimeException(error);
+    }
+
+    private void setText2(String text) {
+        if (indicator != null) {
+            indicator.setText2(text);
+        }
+    }
+
+    /**
+     * Forget the cancellation of a previous operation, so that it's only reported for the operation it stopped.
+     */
+    private void resetCanceled() {
+        canceled = false;
+    }
+
+    private boolean isCanceled() {
+        return indicator != null && indicator.isCanceled();
+    }
+
+    @FunctionalInterface
+    private interface FtpOperation<T> {
+        /**
+         * @return false if the server refused the command, so that it's retried
+         */
+        boolean run(FTPClient client, T item) throws IOException;
+    }
+
+    /**
+     * A file listed on the FTP server.
+     */
+    public static class RemoteFile {
+        private final long size;
+        @Nullable
+        private final Long modified;
+
+        public RemoteFile(long size, @Nullable Long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Get the time the file was last modified in milliseconds, as told by MLSD, null if it's unknown.
+         */
+        @Nullable
+        public Long getModified() {
+            return modified;
+        }
+    }
+
+    /**
+     * What a {@link FtpDeployer} has transferred.
+     */
+    public static class Report {
+        private final int uploadedFiles;
+        private final long uploadedBytes;
+        private final int deletedFiles;
+        private final int retries;
+        private final long elapsedMillis;
+
+        public Report(int uploadedFiles, long uploadedBytes, int deletedFiles, int retries, long elapsedMillis) {
+            this.uploadedFiles = uploadedFiles;
+            this.uploadedBytes = uploadedBytes;
+            this.deletedFiles = deletedFiles;
+            this.retries = retries;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getUploadedFiles() {
+            return uploadedFiles;
+        }
+
+        public long getUploadedBytes() {
+            return uploadedBytes;
+        }
+
+        public int getDeletedFiles() {
+            return deletedFiles;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Get the upload rate in bytes per second.
+         */
+        public long getThroughput() {
+            return elapsedMillis > 0 ? uploadedBytes * 1000 / elapsedMillis : uploadedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Uploaded %d files (%s) and deleted %d files in %.1f s, %s/s, %d retries",
+                    uploadedFiles, FileUtils.byteCountToDisplaySize(uploadedBytes), deletedFiles,
+                    elapsedMillis / 1000.0, FileUtils.byteCountToDisplaySize(getThroughput()), retries);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class WebAppUtils {
 
@@ -60,6 +61,15 @@ public class WebAppUtils {
             " %s, retrying immediately (%d/%d)";
     public static final String RETRY_FAIL_MESSAGE = "Failed to deploy after %d times of retry.";
     public static final String COPYING_RESOURCES = "Copying resources to staging folder...";
+    public static final String COMPARING_DEPLOYED_FILES = "Comparing the deployed files with the last deployment...";
+    public static final String DEPLOYED_FILES_DIVERGED = "The deployed files changed since the last deployment," +
+            " deploying the whole artifact...";
+    public static final String DEPLOYING_CHANGED_FILES = "Deploying %d changed files and deleting %d files...";
+    public static final String DIFFERENTIAL_DEPLOY_FAILED = "Differential deployment failed: %s," +
+            " deploying the whole artifact...";
+    public static final String RECORDING_DEPLOYED_FILES = "Recording the deployed files...";
+    public static final String DEPLOYED_FILES_NOT_RECORDED = "The deployed files can't be recorded: %s," +
+            " the next deployment ships the whole artifact";
 
     @NotNull
     @AzureOperation(
@@ -71,16 +81,20 @@ public class WebAppUtils {
         System.out.println("\t\t" + pp.ftpUsername());
         System.out.println("\t\t" + pp.ftpPassword());
 
-        FTPClient ftp = new FTPClient();
         URI uri = URI.create("ftp://" + pp.ftpUrl());
-        ftp.connect(uri.getHost(), 21);
+        return getFtpConnection(uri.getHost(), 21, pp.ftpUsername(), pp.ftpPassword());
+    }
+
+    static FTPClient getFtpConnection(String host, int port, String username, String password) throws IOException {
+        FTPClient ftp = new FTPClient();
+        ftp.connect(host, port);
         final int replyCode = ftp.getReplyCode();
         if (!FTPReply.isPositiveCompletion(replyCode)) {
             ftp.disconnect();
             throw new ConnectException("Unable to connect to FTP server");
         }
 
-        if (!ftp.login(pp.ftpUsername(), pp.ftpPassword())) {
+        if (!ftp.login(username, password)) {
             throw new ConnectException("Unable to login to FTP server");
         }
 
@@ -117,11 +131,11 @@ public class WebAppUtils {
             switch (fileType) {
                 case TYPE_WAR:
                     if (toRoot) {
-                        WebAppUtils.removeFtpDirectory(ftp, FTP_WEB_APPS_PATH + ROOT, indicator);
+                        removeFtpDirectory(pp, FTP_WEB_APPS_PATH + ROOT, indicator);
                         ftp.deleteFile(FTP_WEB_APPS_PATH + ROOT + "." + TYPE_WAR);
                         uploadingTryCount = uploadFileToFtp(ftp, FTP_WEB_APPS_PATH + ROOT + "." + TYPE_WAR, input, indicator);
                     } else {
-                        WebAppUtils.removeFtpDirectory(ftp, FTP_WEB_APPS_PATH + artifactName, indicator);
+                        removeFtpDirectory(pp, FTP_WEB_APPS_PATH + artifactName, indicator);
                         ftp.deleteFile(artifactName + "." + TYPE_WAR);
                         uploadingTryCount = uploadFileToFtp(ftp, FTP_WEB_APPS_PATH + artifactName + "." + TYPE_WAR, input, indicator);
                     }
@@ -175,6 +189,12 @@ public class WebAppUtils {
         return uploadingTryCount;
     }
 
+    private static void removeFtpDirectory(PublishingProfile pp, String path, IProgressIndicator indicator) {
+        try (FtpDeployer deployer = new FtpDeployer(pp, indicator)) {
+            deployer.removeDirectory(path);
+        }
+    }
+
     private static void ensureWebAppsFolderExist(FTPClient ftp) {
         int count = 0;
         while (count++ < FTP_MAX_TRY) {
@@ -194,42 +214,6 @@ public class WebAppUtils {
         throw new AzureToolkitRuntimeException(error);
     }
 
-    public static void removeFtpDirectory(FTPClient ftpClient, String path, IProgressIndicator pi) throws IOException {
-        String prefix = "Removing from FTP server: ";
-        FTPFile[] subFiles = ftpClient.listFiles(path);
-        if (subFiles.length > 0) {
-            for (FTPFile ftpFile : subFiles) {
-                if (pi != null && pi.isCanceled()) {
-                    break;
-                }
-                String currentFileName = ftpFile.getName();
-                if (currentFileName.equals(".") || currentFileName.equals("..")) {
-                    continue; // skip
-                }
-
-                String path1 = path + "/" + currentFileName;
-                if (ftpFile.isDirectory()) {
-                    // remove the sub directory
-                    removeFtpDirectory(ftpClient, path1, pi);
-                } else {
-                    // delete the file
-                    if (pi != null) {
-                        pi.setText2(prefix + path1);
-                    }
-                    ftpClient.deleteFile(path1);
-                }
-            }
-        }
-
-        if (pi != null) {
-            pi.setText2(prefix + path);
-        }
-        ftpClient.removeDirectory(path);
-        if (pi != null) {
-            pi.setText2("");
-        }
-    }
-
     public static boolean doesRemoteFileExist(FTPClient ftp, String path, String fileName) throws IOException {
         FTPFile[] files = ftp.listFiles(path);
         for (FTPFile file : files) {
@@ -284,13 +268,28 @@ public class WebAppUtils {
      * @param isDeployToRoot
      * @param progressIndicator
      */
+    public static void deployArtifactsToAppService(WebAppBase deployTarget
+            , File artifact, boolean isDeployToRoot, IProgressIndicator progressIndicator) {
+        deployArtifactsToAppService(deployTarget, artifact, isDeployToRoot, false, progressIndicator);
+    }
+
+    /**
+     * Deploys artifact to Azure App Service, in the differential mode only the files of a war changed since the last
+     * deployment are shipped
+     *
+     * @param deployTarget      the web app or deployment slot
+     * @param artifact          artifact to deploy
+     * @param isDeployToRoot
+     * @param isDifferential
+     * @param progressIndicator
+     */
     @AzureOperation(
         name = "webapp|artifact.upload",
         params = {"artifact.getName()", "deployTarget.name()"},
         type = AzureOperation.Type.SERVICE
     )
-    public static void deployArtifactsToAppService(WebAppBase deployTarget
-            , File artifact, boolean isDeployToRoot, IProgressIndicator progressIndicator) {
+    public static void deployArtifactsToAppService(WebAppBase deployTarget, File artifact, boolean isDeployToRoot,
+                                                   boolean isDifferential, IProgressIndicator progressIndicator) {
         if (!(deployTarget instanceof WebApp || deployTarget instanceof DeploymentSlot)) {
             final String error = "the deployment target is not a valid (deployment slot of) Web App";
             final String action = "select a valid Web App or deployment slot to deploy the artifact";
@@ -300,10 +299,16 @@ public class WebAppUtils {
         String stopMessage = deployTarget instanceof WebApp ? STOP_WEB_APP : STOP_DEPLOYMENT_SLOT;
         progressIndicator.setText(stopMessage);
         deployTarget.stop();
-        // deploy with zip/war deploy according to file type
-        boolean deployResult = isJarBaseOnFileName(artifact.getPath()) ?
-                deployWebAppToJavaSERuntime(deployTarget, artifact, progressIndicator) :
-                deployWebAppToWebContainer(deployTarget, artifact, isDeployToRoot, progressIndicator);
+        // deploy with zip/war deploy according to file type, a jar runs as a whole so only a war can be differential
+        final boolean deployResult;
+        if (isJarBaseOnFileName(artifact.getPath())) {
+            deployResult = deployWebAppToJavaSERuntime(deployTarget, artifact, progressIndicator);
+        } else if (isDifferential) {
+            deployResult = deployWebAppToWebContainerDifferentially(deployTarget, artifact, isDeployToRoot,
+                    progressIndicator);
+        } else {
+            deployResult = deployWebAppToWebContainer(deployTarget, artifact, isDeployToRoot, progressIndicator);
+        }
         if (deployResult) {
             String successMessage = deployTarget instanceof WebApp ?
                     DEPLOY_SUCCESS_WEB_APP : DEPLOY_SUCCESS_DEPLOYMENT_SLOT;
@@ -366,7 +371,7 @@ public class WebAppUtils {
     public static boolean deployWebAppToWebContainer(WebAppBase deployTarget
             , File artifact, boolean isDeployToRoot, IProgressIndicator progressIndicator) {
         int retryCount = 0;
-        String webappPath = isDeployToRoot ? null : FilenameUtils.getBaseName(artifact.getName()).replaceAll("#", StringUtils.EMPTY);
+        String webappPath = isDeployToRoot ? null : getWebappPath(artifact);
         while (retryCount++ < DEPLOY_MAX_TRY) {
             try {
                 if (deployTarget instanceof WebApp) {
@@ -384,6 +389,94 @@ public class WebAppUtils {
         throw new AzureToolkitRuntimeException(error, action);
     }
 
+    /**
+     * Deploys only the files of a war added, modified or deleted since the last successful deployment to the target,
+     * falls back to deploying the whole war when there is no manifest of that deployment or the deployed files no
+     * longer match it by their size and modified time.
+     */
+    public static boolean deployWebAppToWebContainerDifferentially(WebAppBase deployTarget
+            , File artifact, boolean isDeployToRoot, IProgressIndicator progressIndicator) {
+        final String webappPath = isDeployToRoot ? ROOT : getWebappPath(artifact);
+        final String targetPath = FTP_WEB_APPS_PATH + webappPath;
+        final String manifestTarget = deployTarget.id() + targetPath;
+        final DeployManifest manifest;
+        try {
+            manifest = DeployManifest.fromWar(artifact);
+        } catch (final IOException e) {
+            final String error = String.format("failed to read the artifact[%s]", artifact.getName());
+            throw new AzureToolkitRuntimeException(error, e);
+        }
+        final DeployManifest previous = DeployManifest.load(manifestTarget);
+        // until this deployment succeeds, what is deployed is unknown
+        DeployManifest.remove(manifestTarget);
+        boolean deployResult = false;
+        if (previous != null) {
+            deployResult = deployChangedFiles(deployTarget, artifact, targetPath, manifest, previous,
+                    progressIndicator);
+            if (!deployResult && progressIndicator.isCanceled()) {
+                // some of the changed files may be shipped, the next deployment ships the whole war
+                return false;
+            }
+        }
+        if (!deployResult) {
+            deployResult = deployWebAppToWebContainer(deployTarget, artifact, isDeployToRoot, progressIndicator);
+        }
+        if (deployResult) {
+            saveManifest(deployTarget, targetPath, manifest, manifestTarget, progressIndicator);
+        }
+        return deployResult;
+    }
+
+    /**
+     * Saves the manifest with the time each file was modified on the server, so that the next deployment can tell
+     * whether the files were changed since, even if their size is the same.
+     */
+    private static void saveManifest(WebAppBase deployTarget, String targetPath, DeployManifest manifest,
+                                     String manifestTarget, IProgressIndicator progressIndicator) {
+        try (FtpDeployer deployer = new FtpDeployer(deployTarget.getPublishingProfile(), progressIndicator)) {
+            progressIndicator.setText(RECORDING_DEPLOYED_FILES);
+            if (manifest.recordDeployed(deployer.listFiles(targetPath))) {
+                manifest.save(manifestTarget);
+            } else {
+                progressIndicator.setText(String.format(DEPLOYED_FILES_NOT_RECORDED,
+                        "they differ from the artifact or have no modified time"));
+            }
+        } catch (final AzureToolkitRuntimeException e) {
+            progressIndicator.setText(String.format(DEPLOYED_FILES_NOT_RECORDED, e.getMessage()));
+        }
+    }
+
+    private static boolean deployChangedFiles(WebAppBase deployTarget, File artifact, String targetPath,
+                                              DeployManifest manifest, DeployManifest previous,
+                                              IProgressIndicator progressIndicator) {
+        try (FtpDeployer deployer = new FtpDeployer(deployTarget.getPublishingProfile(), progressIndicator)) {
+            progressIndicator.setText(COMPARING_DEPLOYED_FILES);
+            if (!previous.matches(deployer.listFiles(targetPath))) {
+                progressIndicator.setText(DEPLOYED_FILES_DIVERGED);
+                return false;
+            }
+            final List<String> changedFiles = manifest.getChangedFiles(previous);
+            final List<String> deletedFiles = manifest.getDeletedFiles(previous);
+            progressIndicator.setText(String.format(DEPLOYING_CHANGED_FILES, changedFiles.size(), deletedFiles.size()));
+            deployer.deleteFiles(deletedFiles.stream().map(path -> targetPath + "/" + path).collect(Collectors.toList()));
+            final File stagingFolder = Files.createTempDirectory(TEMP_FOLDER_PREFIX).toFile();
+            try {
+                DeployManifest.extract(artifact, changedFiles, stagingFolder);
+                progressIndicator.setText(deployer.uploadDirectory(stagingFolder, targetPath).toString());
+            } finally {
+                FileUtils.deleteQuietly(stagingFolder);
+            }
+            return true;
+        } catch (final IOException | AzureToolkitRuntimeException e) {
+            progressIndicator.setText(String.format(DIFFERENTIAL_DEPLOY_FAILED, e.getMessage()));
+            return false;
+        }
+    }
+
+    private static String getWebappPath(File artifact) {
+        return FilenameUtils.getBaseName(artifact.getName()).replaceAll("#", StringUtils.EMPTY);
+    }
+
     public static class WebAppException extends Exception {
         /**
          *
@@ -5,11 +5,17 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -90,4 +96,53 @@ public class RedisConnectionPoolsTest {
         RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
         verify(jedisPoolMock, times(0)).destroy();
     }
+
+    @Test
+    public void testGetJedisOfDatabases() throws Exception {
+        RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, 0);
+        RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, 1);
+        RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, 1);
+        verify(azureRedisMvpModelMock, times(1)).getRedisCache(anyString(), anyString());
+        assertEquals(2, RedisConnectionPools.getInstance().getPoolMetrics().size());
+        verify(jedisMock, times(0)).select(anyInt());
+        RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
+        verify(jedisPoolMock, times(2)).destroy();
+    }
+
+    @Test
+    public void testReleaseLeastRecentlyUsedPool() throws Exception {
+        int maxCaches = RedisConnectionPools.getInstance().getMaxCaches();
+        RedisConnectionPools.getInstance().setMaxCaches(2);
+        try {
+            RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID + 1);
+            RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID + 2);
+            RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID + 1);
+            verify(jedisPoolMock, times(0)).destroy();
+            RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID + 3);
+            verify(jedisPoolMock, times(1)).destroy();
+            List<String> ids = new ArrayList<>();
+            for (RedisPoolMetrics metrics : RedisConnectionPools.getInstance().getPoolMetrics()) {
+                ids.add(metrics.getId());
+            }
+            assertEquals(Arrays.asList(MOCK_REDIS_ID + 1, MOCK_REDIS_ID + 3), ids);
+        } finally {
+            RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID + 1);
+            RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID + 3);
+            RedisConnectionPools.getInstance().setMaxCaches(maxCaches);
+        }
+    }
+
+    @Test
+    public void testReleasePoolWhileBorrowing() throws Exception {
+        when(jedisPoolMock.getResource()).thenAnswer(invocation -> {
+            // released by another explorer between the pool lookup and the borrowing
+            RedisConnectionPools.getInstance().releasePool(MOCK_REDIS_ID);
+            verify(jedisPoolMock, times(0)).destroy();
+            return jedisMock;
+        });
+
+        RedisConnectionPools.getInstance().getJedis(MOCK_SUBSCRIPTION, MOCK_REDIS_ID);
+        verify(jedisPoolMock, times(1)).destroy();
+        assertEquals(0, RedisConnectionPools.getInstance().getPoolMetrics().size());
+    }
 }
@@ -5,6 +5,8 @@
 
 package com.microsoft.azuretools.core.mvp.model.rediscache;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -20,8 +22,13 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.util.Arrays;
+
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
@@ -35,6 +42,15 @@ public class RedisExplorerMvpModelTest {
     @Mock
     private Jedis jedisMock;
 
+    @Mock
+    private Pipeline pipelineMock;
+
+    @Mock
+    private Response<String> typeResponseMock;
+
+    @Mock
+    private Response<Long> longResponseMock;
+
     private static final String MOCK_SUBSCRIPTION = "00000000-0000-0000-0000-000000000000";
     private static final String MOCK_REDIS_ID = "test-id";
     private static final int MOCK_DB = 0;
@@ -50,6 +66,7 @@ public class RedisExplorerMvpModelTest {
         PowerMockito.mockStatic(RedisConnectionPools.class);
         when(RedisConnectionPools.getInstance()).thenReturn(redisConnectionPoolsMock);
         when(redisConnectionPoolsMock.getJedis(anyString(), anyString())).thenReturn(jedisMock);
+        when(redisConnectionPoolsMock.getJedis(anyString(), anyString(), anyInt())).thenReturn(jedisMock);
     }
 
     @After
@@ -67,21 +84,41 @@ public class RedisExplorerMvpModelTest {
     @Test
     public void testScanKeys() throws Exception {
         RedisExplorerMvpModel.getInstance().scanKeys(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).scan(Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class));
     }
 
+    @Test
+    public void testScanKeyInfos() throws Exception {
+        when(jedisMock.scan(Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class)))
+                .thenReturn(new ScanResult<String>(MOCK_CURSOR, Arrays.asList(MOCK_KEY, MOCK_KEY)));
+        when(jedisMock.pipelined()).thenReturn(pipelineMock);
+        when(pipelineMock.type(anyString())).thenReturn(typeResponseMock);
+        when(pipelineMock.ttl(anyString())).thenReturn(longResponseMock);
+        when(pipelineMock.llen(anyString())).thenReturn(longResponseMock);
+        when(typeResponseMock.get()).thenReturn("list");
+        when(longResponseMock.get()).thenReturn(MOCK_LEN);
+
+        ScanResult<RedisKeyInfo> result = RedisExplorerMvpModel.getInstance().scanKeyInfos(MOCK_SUBSCRIPTION,
+                MOCK_REDIS_ID, MOCK_DB, MOCK_CURSOR, MOCK_PATTERN, 1000);
+        verify(pipelineMock, times(2)).sync();
+        verify(jedisMock, times(0)).type(anyString());
+        assertEquals(2, result.getResult().size());
+        assertEquals("list", result.getResult().get(0).getType());
+        assertEquals(MOCK_LEN, result.getResult().get(0).getSize().longValue());
+    }
+
     @Test
     public void testGetKeyType() throws Exception {
         RedisExplorerMvpModel.getInstance().getKeyType(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).type(Mockito.eq(MOCK_KEY));
     }
 
     @Test
     public void testGetStringValue() throws Exception {
         RedisExplorerMvpModel.getInstance().getStringValue(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).get(Mockito.eq(MOCK_KEY));
     }
 
@@ -90,14 +127,14 @@ public class RedisExplorerMvpModelTest {
         when(jedisMock.llen(anyString())).thenReturn(MOCK_LEN);
 
         RedisExplorerMvpModel.getInstance().getListValue(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).lrange(Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.eq(MOCK_LEN));
     }
 
     @Test
     public void testGetSetValue() throws Exception {
         RedisExplorerMvpModel.getInstance().getSetValue(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).sscan(Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class));
     }
 
@@ -106,21 +143,21 @@ public class RedisExplorerMvpModelTest {
         when(jedisMock.zcard(anyString())).thenReturn(MOCK_LEN);
 
         RedisExplorerMvpModel.getInstance().getZSetValue(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).zrangeWithScores(Mockito.eq(MOCK_KEY), Mockito.eq(0L), Mockito.eq(MOCK_LEN));
     }
 
     @Test
     public void testGetHashValue() throws Exception {
         RedisExplorerMvpModel.getInstance().getHashValue(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY, MOCK_CURSOR);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).hscan(Mockito.eq(MOCK_KEY), Mockito.eq(MOCK_CURSOR), Mockito.any(ScanParams.class));
     }
 
     @Test
     public void testCheckKeyExistance() throws Exception {
         RedisExplorerMvpModel.getInstance().checkKeyExistance(MOCK_SUBSCRIPTION, MOCK_REDIS_ID, MOCK_DB, MOCK_KEY);
-        verify(jedisMock, times(1)).select(Mockito.eq(MOCK_DB));
+        verify(jedisMock, times(0)).select(Mockito.anyInt());
         verify(jedisMock, times(1)).exists(Mockito.eq(MOCK_KEY));
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployManifestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String INDEX = "index.jsp";
+    private static final String LIBRARY = "WEB-INF/lib/library.jar";
+    private static final String CLASS = "WEB-INF/classes/Main.class";
+    private static final long MODIFIED = 1600000000000L;
+
+    @Test
+    public void testChangedAndDeletedFiles() throws Exception {
+        final Map<String, String> content = new LinkedHashMap<>();
+        content.put(INDEX, "index");
+        content.put(LIBRARY, "library");
+        final DeployManifest previous = DeployManifest.fromWar(createWar("previous.war", content));
+
+        content.put(INDEX, "new index");
+        content.remove(LIBRARY);
+        content.put(CLASS, "class");
+        final DeployManifest manifest = DeployManifest.fromWar(createWar("current.war", content));
+
+        assertEquals(2, manifest.getChangedFiles(previous).size());
+        assertTrue(manifest.getChangedFiles(previous).contains(INDEX));
+        assertTrue(manifest.getChangedFiles(previous).contains(CLASS));
+        assertEquals(Collections.singletonList(LIBRARY), manifest.getDeletedFiles(previous));
+    }
+
+    @Test
+    public void testMatches() throws Exception {
+        final DeployManifest manifest = DeployManifest.fromWar(
+                createWar("app.war", Collections.singletonMap(INDEX, "index")));
+
+        final Map<String, FtpDeployer.RemoteFile> deployedFiles = new HashMap<>();
+        deployedFiles.put(INDEX, new FtpDeployer.RemoteFile(5L, MODIFIED));
+        assertTrue(manifest.recordDeployed(deployedFiles));
+        assertTrue(manifest.matches(deployedFiles));
+
+        deployedFiles.put(INDEX, new FtpDeployer.RemoteFile(6L, MODIFIED));
+        assertFalse(manifest.matches(deployedFiles));
+
+        deployedFiles.put(INDEX, new FtpDeployer.RemoteFile(5L, MODIFIED));
+        deployedFiles.put(LIBRARY, new FtpDeployer.RemoteFile(7L, MODIFIED));
+        assertFalse(manifest.matches(deployedFiles));
+    }
+
+    @Test
+    public void testMatchesSameSizeWithDifferentContent() throws Exception {
+        final DeployManifest manifest = DeployManifest.fromWar(
+                createWar("app.war", Collections.singletonMap(INDEX, "index")));
+        assertTrue(manifest.recordDeployed(
+                Collections.singletonMap(INDEX, new FtpDeployer.RemoteFile(5L, MODIFIED))));
+
+        // another deployment replaced the file with some content of the same size
+        assertFalse(manifest.matches(
+                Collections.singletonMap(INDEX, new FtpDeployer.RemoteFile(5L, MODIFIED + 1000))));
+    }
+
+    @Test
+    public void testMatchesWithoutModifiedTime() throws Exception {
+        final DeployManifest manifest = DeployManifest.fromWar(
+                createWar("app.war", Collections.singletonMap(INDEX, "index")));
+        final Map<String, FtpDeployer.RemoteFile> deployedFiles =
+                Collections.singletonMap(INDEX, new FtpDeployer.RemoteFile(5L, null));
+
+        assertFalse(manifest.recordDeployed(deployedFiles));
+        assertFalse(manifest.matches(deployedFiles));
+    }
+
+    @Test
+    public void testExtract() throws Exception {
+        final Map<String, String> content = new LinkedHashMap<>();
+        content.put(INDEX, "index");
+        content.put(CLASS, "class");
+        final File war = createWar("app.war", content);
+        final File staging = folder.newFolder("staging");
+
+        DeployManifest.extract(war, Collections.singletonList(CLASS), staging);
+
+        assertEquals("class", new String(Files.readAllBytes(new File(staging, CLASS).toPath()),
+                StandardCharsets.UTF_8));
+        assertFalse(new File(staging, INDEX).exists());
+    }
+
+    private File createWar(String name, Map<String, String> content) throws IOException {
+        final File war = new File(folder.getRoot(), name);
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(war))) {
+            for (final Map.Entry<String, String> entry : content.entrySet()) {
+                output.putNextEntry(new ZipEntry(entry.getKey()));
+                output.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+        return war;
+    }
+}
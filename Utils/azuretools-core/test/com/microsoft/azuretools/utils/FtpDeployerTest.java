@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azuretools.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.apache.ftpserver.FtpServer;
+import org.apache.ftpserver.FtpServerFactory;
+import org.apache.ftpserver.ftplet.DefaultFtpReply;
+import org.apache.ftpserver.ftplet.DefaultFtplet;
+import org.apache.ftpserver.ftplet.FtpException;
+import org.apache.ftpserver.ftplet.FtpReply;
+import org.apache.ftpserver.ftplet.FtpRequest;
+import org.apache.ftpserver.ftplet.FtpSession;
+import org.apache.ftpserver.ftplet.FtpletResult;
+import org.apache.ftpserver.listener.ListenerFactory;
+import org.apache.ftpserver.usermanager.impl.BaseUser;
+import org.apache.ftpserver.usermanager.impl.ConcurrentLoginPermission;
+import org.apache.ftpserver.usermanager.impl.WritePermission;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FtpDeployerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String LISTENER_NAME = "default";
+    private static final String MOCK_USER = "user";
+    private static final String MOCK_PASSWORD = "password";
+    private static final String MOCK_APP_PATH = "/webapps/app";
+    private static final int CONNECTIONS = 4;
+    private static final int DIRECTORIES = 5;
+    private static final int FILES_PER_DIRECTORY = 20;
+
+    private FtpServer server;
+    private ServerFaults faults;
+    private File serverRoot;
+    private int port;
+
+    @Before
+    public void setUp() throws Exception {
+        serverRoot = folder.newFolder("server");
+        assertTrue(new File(serverRoot, "webapps").mkdir());
+
+        final FtpServerFactory serverFactory = new FtpServerFactory();
+        final ListenerFactory listenerFactory = new ListenerFactory();
+        // any free port, the one taken is read once the server is started
+        listenerFactory.setPort(0);
+        serverFactory.addListener(LISTENER_NAME, listenerFactory.createListener());
+        faults = new ServerFaults();
+        serverFactory.setFtplets(Collections.singletonMap("faults", faults));
+
+        final BaseUser user = new BaseUser();
+        user.setName(MOCK_USER);
+        user.setPassword(MOCK_PASSWORD);
+        user.setHomeDirectory(serverRoot.getAbsolutePath());
+        user.setAuthorities(Arrays.asList(new WritePermission(), new ConcurrentLoginPermission(0, 0)));
+        serverFactory.getUserManager().save(user);
+
+        server = serverFactory.createServer();
+        server.start();
+        port = serverFactory.getListener(LISTENER_NAME).getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testUploadDirectory() throws Exception {
+        final File app = createTree(folder.newFolder("app"));
+
+        final FtpDeployer.Report report;
+        try (FtpDeployer deployer = createDeployer()) {
+            report = deployer.uploadDirectory(app, MOCK_APP_PATH);
+        }
+
+        assertEquals(DIRECTORIES * FILES_PER_DIRECTORY, report.getUploadedFiles());
+        for (int i = 0; i < DIRECTORIES; i++) {
+            for (int j = 0; j < FILES_PER_DIRECTORY; j++) {
+                final String path = String.format("webapps/app/dir%d/sub/file%d.txt", i, j);
+                assertEquals(content(i, j), new String(Files.readAllBytes(new File(serverRoot, path).toPath()),
+                        StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testRemoveDirectory() throws Exception {
+        createTree(new File(serverRoot, "webapps/app"));
+
+        final FtpDeployer.Report report;
+        try (FtpDeployer deployer = createDeployer()) {
+            report = deployer.removeDirectory(MOCK_APP_PATH);
+        }
+
+        assertEquals(DIRECTORIES * FILES_PER_DIRECTORY, report.getDeletedFiles());
+        assertFalse(new File(serverRoot, "webapps/app").exists());
+        assertTrue(new File(serverRoot, "webapps").exists());
+    }
+
+    @Test
+    public void testListFiles() throws Exception {
+        createTree(new File(serverRoot, "webapps/app"));
+
+        final Map<String, FtpDeployer.RemoteFile> files;
+        try (FtpDeployer deployer = createDeployer()) {
+            files = deployer.listFiles(MOCK_APP_PATH);
+        }
+
+        assertEquals(DIRECTORIES * FILES_PER_DIRECTORY, files.size());
+        final FtpDeployer.RemoteFile file = files.get("dir1/sub/file2.txt");
+        assertEquals(content(1, 2).length(), file.getSize());
+        // the server supports MLSD, which tells the modified time
+        assertNotNull(file.getModified());
+    }
+
+    @Test
+    public void testListFilesWithoutMlsd() throws Exception {
+        createTree(new File(serverRoot, "webapps/app"));
+        faults.featuresHidden = true;
+
+        final Map<String, FtpDeployer.RemoteFile> files;
+        try (FtpDeployer deployer = createDeployer()) {
+            files = deployer.listFiles(MOCK_APP_PATH);
+        }
+
+        assertEquals(DIRECTORIES * FILES_PER_DIRECTORY, files.size());
+        final FtpDeployer.RemoteFile file = files.get("dir1/sub/file2.txt");
+        assertEquals(content(1, 2).length(), file.getSize());
+        // LIST doesn't tell the modified time precisely enough to be used
+        assertNull(file.getModified());
+    }
+
+    @Test
+    public void testRemoveMissingDirectory() throws Exception {
+        final FtpDeployer.Report report;
+        try (FtpDeployer deployer = createDeployer()) {
+            report = deployer.removeDirectory(MOCK_APP_PATH);
+        }
+
+        assertEquals(0, report.getDeletedFiles());
+    }
+
+    @Test
+    public void testUploadFileReplacesIt() throws Exception {
+        final File war = folder.newFile("app.war");
+        Files.write(war.toPath(), "new".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(serverRoot, "webapps/app.war").toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+        final FtpDeployer.Report report;
+        try (FtpDeployer deployer = createDeployer()) {
+            report = deployer.uploadFile(war, "/webapps/app.war");
+        }
+
+        assertEquals(1, report.getUploadedFiles());
+        assertEquals(3, report.getUploadedBytes());
+        assertEquals("new", new String(Files.readAllBytes(new File(serverRoot, "webapps/app.war").toPath()),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUploadFileRetried() throws Exception {
+        final File war = folder.newFile("app.war");
+        Files.write(war.toPath(), "new".getBytes(StandardCharsets.UTF_8));
+        faults.failingStore = "/webapps/app.war";
+
+        final FtpDeployer.Report report;
+        try (FtpDeployer deployer = createDeployer()) {
+            report = deployer.uploadFile(war, "/webapps/app.war");
+        }
+
+        assertEquals(1, report.getRetries());
+        assertEquals(1, report.getUploadedFiles());
+        assertEquals("new", new String(Files.readAllBytes(new File(serverRoot, "webapps/app.war").toPath()),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUploadDirectoryCanceled() throws Exception {
+        final File app = createTree(folder.newFolder("app"));
+
+        try (FtpDeployer deployer = createDeployer(new CanceledIndicator())) {
+            deployer.uploadDirectory(app, MOCK_APP_PATH);
+            fail("a canceled upload shouldn't be taken as complete");
+        } catch (AzureToolkitRuntimeException e) {
+            assertTrue(e.getMessage().contains("canceled"));
+        }
+        assertFalse(new File(serverRoot, "webapps/app/dir0/sub/file0.txt").exists());
+    }
+
+    private FtpDeployer createDeployer() {
+        return createDeployer(null);
+    }
+
+    private FtpDeployer createDeployer(IProgressIndicator indicator) {
+        return new FtpDeployer("localhost", port, MOCK_USER, MOCK_PASSWORD, CONNECTIONS, indicator);
+    }
+
+    private static File createTree(File root) throws IOException {
+        for (int i = 0; i < DIRECTORIES; i++) {
+            final File directory = new File(root, String.format("dir%d/sub", i));
+            assertTrue(directory.mkdirs());
+            for (int j = 0; j < FILES_PER_DIRECTORY; j++) {
+                Files.write(new File(directory, String.format("file%d.txt", j)).toPath(),
+                        content(i, j).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return root;
+    }
+
+    private static String content(int directory, int file) {
+        return String.format("content of file %d in directory %d", file, directory);
+    }
+
+    /**
+     * Makes the server refuse the first STOR of a file, or tell no features so that MLSD isn't used.
+     */
+    private static class ServerFaults extends DefaultFtplet {
+        private final Set<String> failedStores = ConcurrentHashMap.newKeySet();
+        private volatile String failingStore;
+        private volatile boolean featuresHidden;
+
+        @Override
+        public FtpletResult beforeCommand(FtpSession session, FtpRequest request) throws FtpException, IOException {
+            final String command = request.getCommand().toUpperCase();
+            if ("FEAT".equals(command) && featuresHidden) {
+                session.write(new DefaultFtpReply(FtpReply.REPLY_502_COMMAND_NOT_IMPLEMENTED, "Not implemented."));
+                return FtpletResult.SKIP;
+            }
+            if ("STOR".equals(command) && request.getArgument().equals(failingStore)
+                    && failedStores.add(request.getArgument())) {
+                session.write(new DefaultFtpReply(FtpReply.REPLY_451_REQUESTED_ACTION_ABORTED, "Try again."));
+                return FtpletResult.SKIP;
+            }
+            return super.beforeCommand(session, request);
+        }
+    }
+
+    private static class CanceledIndicator implements IProgressIndicator {
+        @Override
+        public void setText(String text) {
+        }
+
+        @Override
+        public void setText2(String text2) {
+        }
+
+        @Override
+        public void setFraction(double fraction) {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return true;
+        }
+
+        @Override
+        public void notifyComplete() {
+        }
+    }
+}
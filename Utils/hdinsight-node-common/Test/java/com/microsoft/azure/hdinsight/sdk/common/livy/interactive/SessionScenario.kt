@@ -31,6 +31,7 @@ import cucumber.api.java.en.And
 import cucumber.api.java.en.Given
 import cucumber.api.java.en.Then
 import org.assertj.core.api.Assertions.assertThat
+import rx.Observable
 import rx.subjects.PublishSubject
 import java.net.URI
 import kotlin.test.fail
@@ -41,6 +42,7 @@ class SessionScenario {
     var code: String = ""
     var result: Map<String, String>? = null
     var userAgent: String? = null
+    var watchedSessions: MutableList<Session> = mutableListOf()
 
     @Before
     fun setUp() {
@@ -64,6 +66,13 @@ class SessionScenario {
                 .single()
     }
 
+    @Given("^create the Spark interactive session, and add it to the watched sessions$")
+    fun createSparkSessionAndWatch() {
+        watchedSessions.add(sessionMock!!.create()
+                .toBlocking()
+                .single())
+    }
+
     @Then("^check the returned livy interactive session after creating should be$")
     fun checkCreatedSparkSession(expect: Map<String, String>) {
         expect.keys.forEach { when(it) {
@@ -95,6 +104,23 @@ class SessionScenario {
         assertThat(appIdGot).isEqualTo(appIdExpect)
     }
 
+    @Then("^check getting app IDs of the watched sessions together should be$")
+    fun checkGettingAppIdsTogether(appIdsExpect: Map<String, String>) {
+        val appIdsGot = Observable
+                .merge(watchedSessions.map { session -> session.appId.map { session.id.toString() to it } })
+                .toList()
+                .toBlocking()
+                .single()
+                .toMap()
+
+        assertThat(appIdsGot).isEqualTo(appIdsExpect)
+    }
+
+    @Then("^check the get operation request not sent to '(.*)' when watching the sessions$")
+    fun checkNoGetRequest(urlExpect: String) {
+        WireMock.verify(0, WireMock.getRequestedFor(urlEqualTo(urlExpect)))
+    }
+
     @And("^kill the livy Spark interactive session$")
     fun killSession() {
         sessionMock!!.kill()
@@ -15,12 +15,36 @@ Feature: Livy Interactive Session Tests
   Scenario: Session.getAppId() IT positive case with mocked http server
     Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
     And setup a mock livy interactive service for GET request '/sessions/6' to return '{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/10.0.0.8/node/containerlogs/container_e04_1517029729598_0086_01_000001/livy","sparkUiUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/hn/proxy/application_1517029729598_0086/"},"log":[]}' with status code 200
+    And setup a mock livy interactive service for GET request '/sessions?from=0&size=1000' to return '{"from":0,"total":1,"sessions":[{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/10.0.0.8/node/containerlogs/container_e04_1517029729598_0086_01_000001/livy","sparkUiUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/hn/proxy/application_1517029729598_0086/"},"log":[]}]}' with status code 200
     And create a livy Spark interactive session instance with name 'testSparkREPL'
     And create the Spark interactive session, and save the response
     Then check the returned livy interactive session after creating should be
       | id        | 6 |
     Then check getting app ID with waiting for livy interactive session application run should be 'application_1517029729598_0086'
 
+  Scenario: Session.getAppId() of two sessions watched together IT positive case with mocked http server
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL1'
+    And create the Spark interactive session, and add it to the watched sessions
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":7,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL2'
+    And create the Spark interactive session, and add it to the watched sessions
+    And setup a mock livy interactive service for GET request '/sessions?from=0&size=1000' to return '{"from":0,"total":2,"sessions":[{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/10.0.0.8/node/containerlogs/container_e04_1517029729598_0086_01_000001/livy","sparkUiUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/hn/proxy/application_1517029729598_0086/"},"log":[]},{"id":7,"appId":"application_1517029729598_0087","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}]}' with status code 200
+    Then check getting app IDs of the watched sessions together should be
+      | 6 | application_1517029729598_0086 |
+      | 7 | application_1517029729598_0087 |
+    And check the get operation request not sent to '/sessions/6' when watching the sessions
+    And check the get operation request not sent to '/sessions/7' when watching the sessions
+
+  Scenario: Session.getAppId() IT positive case with mocked http server when listing sessions fails
+    Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":7,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And setup a mock livy interactive service for GET request '/sessions?from=0&size=1000' to return 'Internal Server Error' with status code 500
+    And setup a mock livy interactive service for GET request '/sessions/7' to return '{"id":7,"appId":"application_1517029729598_0087","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
+    And create a livy Spark interactive session instance with name 'testSparkREPL'
+    And create the Spark interactive session, and add it to the watched sessions
+    Then check getting app IDs of the watched sessions together should be
+      | 7 | application_1517029729598_0087 |
+
   Scenario: Session.kill() IT positive case with mocked http server
     Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
     And setup a mock livy interactive service for DELETE request '/sessions/6' to return '{}' with status code 200
@@ -34,6 +58,7 @@ Feature: Livy Interactive Session Tests
   Scenario: Session.runCodes() IT positive case with mocked http server
     Given setup a mock livy interactive service for POST request '/sessions' to return '{"id":6,"appId":null,"owner":null,"proxyUser":null,"state":"starting","kind":"spark","appInfo":{"driverLogUrl":null,"sparkUiUrl":null},"log":[]}' with status code 200
     And setup a mock livy interactive service for GET request '/sessions/6' to return '{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/10.0.0.8/node/containerlogs/container_e04_1517029729598_0086_01_000001/livy","sparkUiUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/hn/proxy/application_1517029729598_0086/"},"log":[]}' with status code 200
+    And setup a mock livy interactive service for GET request '/sessions?from=0&size=1000' to return '{"from":0,"total":1,"sessions":[{"id":6,"appId":"application_1517029729598_0086","owner":null,"proxyUser":null,"state":"idle","kind":"spark","appInfo":{"driverLogUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/10.0.0.8/node/containerlogs/container_e04_1517029729598_0086_01_000001/livy","sparkUiUrl":"https://zhwe-spkdbg.azurehdinsight.net/yarnui/hn/proxy/application_1517029729598_0086/"},"log":[]}]}' with status code 200
     And create a livy Spark interactive session instance with name 'testSparkREPL'
     And create the Spark interactive session, and save the response
     Then check the returned livy interactive session after creating should be
@@ -16,6 +16,8 @@ import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
 import rx.Observable;
 
 import java.io.IOException;
@@ -61,4 +63,11 @@ public class ADLSGen2OAuthHttpObservable extends OAuthTokenHttpObservable {
 
         return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), filteredHeaders);
     }
+
+    @NotNull
+    @Override
+    protected HttpContext getRequestContext() {
+        // The bearer token goes with every request, only the cookies are read from the shared context
+        return new BasicHttpContext(getHttpContext());
+    }
 }
@@ -34,19 +34,33 @@ public class AzureDataLakeHttpObservable extends AzureHttpObservable {
     @Override
     public Observable<HttpResponse> requestWithHttpResponse(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders) {
         return super.requestWithHttpResponse(httpRequest, entity, parameters, addOrReplaceHeaders)
-                .onErrorResumeNext(err -> {
-                    if (err instanceof HttpErrorStatus) {
-                        HttpErrorStatus status = (HttpErrorStatus) err;
-                        return Observable.error(
-                                new SparkAzureDataLakePoolServiceException(
-                                        status.getStatusCode(),
-                                        err.getMessage(),
-                                        getRequestIdFromHeaders(status.getHeaders()),
-                                        httpRequest.getURI()));
-                    } else {
-                        return Observable.error(err);
-                    }
-                });
+                .onErrorResumeNext(err -> convertToServiceException(httpRequest, err));
+    }
+
+    @Override
+    public <T> Observable<T> requestWithObject(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders, Class<T> clazz) {
+        return super.requestWithObject(httpRequest, entity, parameters, addOrReplaceHeaders, clazz)
+                .onErrorResumeNext(err -> convertToServiceException(httpRequest, err));
+    }
+
+    @Override
+    public <T> Observable<T> requestWithListElements(HttpRequestBase httpRequest, HttpEntity entity, List<NameValuePair> parameters, List<Header> addOrReplaceHeaders, String arrayFieldName, Class<T> clazz) {
+        return super.requestWithListElements(httpRequest, entity, parameters, addOrReplaceHeaders, arrayFieldName, clazz)
+                .onErrorResumeNext(err -> convertToServiceException(httpRequest, err));
+    }
+
+    private <T> Observable<T> convertToServiceException(HttpRequestBase httpRequest, Throwable err) {
+        if (err instanceof HttpErrorStatus) {
+            HttpErrorStatus status = (HttpErrorStatus) err;
+            return Observable.error(
+                    new SparkAzureDataLakePoolServiceException(
+                            status.getStatusCode(),
+                            err.getMessage(),
+                            getRequestIdFromHeaders(status.getHeaders()),
+                            httpRequest.getURI()));
+        } else {
+            return Observable.error(err);
+        }
     }
 
     @NotNull
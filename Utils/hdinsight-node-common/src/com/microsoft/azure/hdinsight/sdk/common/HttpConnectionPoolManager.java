@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The process wide HTTP connection pools shared by all {@link HttpObservable} instances.
+ *
+ * Each pool is identified by the SSL profile of its socket factory and holds a
+ * {@link PoolingHttpClientConnectionManager} bounded per route (scheme, host and port), so all requests to the same
+ * Livy, YARN or ADLS gateway reuse kept-alive connections instead of paying a new TCP and TLS handshake.
+ * The shared clients are stateless: cookies, request configurations and credentials stay per {@link HttpObservable}
+ * instance and are carried by its own {@link org.apache.http.protocol.HttpContext} and headers.
+ */
+public class HttpConnectionPoolManager implements ILogger {
+    public static final String SYSTEM_SSL_PROFILE = "system";
+
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final long DEFAULT_MAX_IDLE_SECONDS = 60;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MS = 2000;
+
+    private static final class LazyHolder {
+        static final HttpConnectionPoolManager INSTANCE = new HttpConnectionPoolManager();
+    }
+
+    public static HttpConnectionPoolManager getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    private static final class Pool {
+        @NotNull
+        private final PoolingHttpClientConnectionManager connectionManager;
+        @NotNull
+        private final CloseableHttpClient httpClient;
+        @NotNull
+        private final IdleConnectionEvictor evictor;
+
+        private Pool(@NotNull PoolingHttpClientConnectionManager connectionManager,
+                     @NotNull CloseableHttpClient httpClient,
+                     @NotNull IdleConnectionEvictor evictor) {
+            this.connectionManager = connectionManager;
+            this.httpClient = httpClient;
+            this.evictor = evictor;
+        }
+    }
+
+    @NotNull
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    private volatile int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+    private volatile int maxTotal = DEFAULT_MAX_TOTAL;
+    private volatile long maxIdleSeconds = DEFAULT_MAX_IDLE_SECONDS;
+
+    private HttpConnectionPoolManager() {
+    }
+
+    /**
+     * Get the shared HTTP client of the specified SSL profile, the pool is created at the first request.
+     *
+     * @param sslProfile the SSL profile name to identify the pool
+     * @param sslSocketFactorySupplier the customized SSL socket factory supplier, returns null for system default one
+     * @return the pooled HTTP client, which is shared and shouldn't be closed by callers
+     */
+    @NotNull
+    public CloseableHttpClient getHttpClient(@NotNull String sslProfile,
+                                             @NotNull Supplier<SSLConnectionSocketFactory> sslSocketFactorySupplier) {
+        return pools.computeIfAbsent(sslProfile, profile -> createPool(sslSocketFactorySupplier.get())).httpClient;
+    }
+
+    /**
+     * Get the shared HTTP client with the system default SSL socket factory.
+     *
+     * @return the pooled HTTP client, which is shared and shouldn't be closed by callers
+     */
+    @NotNull
+    public CloseableHttpClient getSystemHttpClient() {
+        return getHttpClient(SYSTEM_SSL_PROFILE, () -> null);
+    }
+
+    @NotNull
+    private Pool createPool(@Nullable SSLConnectionSocketFactory sslSocketFactory) {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory != null
+                        ? sslSocketFactory
+                        : SSLConnectionSocketFactory.getSystemSocketFactory())
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setValidateAfterInactivity(DEFAULT_VALIDATE_AFTER_INACTIVITY_MS);
+
+        // The connection manager is shared to avoid being shut down by any caller closing the client
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .build();
+
+        IdleConnectionEvictor evictor =
+                new IdleConnectionEvictor(connectionManager, maxIdleSeconds, TimeUnit.SECONDS);
+        evictor.start();
+
+        return new Pool(connectionManager, httpClient, evictor);
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * Set the max connections per route (endpoint) for all pools, including the existing ones.
+     *
+     * @param maxPerRoute the max connections per route
+     */
+    public void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        pools.values().forEach(pool -> pool.connectionManager.setDefaultMaxPerRoute(maxPerRoute));
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Set the max connections in total for each pool, including the existing ones.
+     *
+     * @param maxTotal the max connections of a pool
+     */
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+        pools.values().forEach(pool -> pool.connectionManager.setMaxTotal(maxTotal));
+    }
+
+    public long getMaxIdleSeconds() {
+        return maxIdleSeconds;
+    }
+
+    /**
+     * Set the max idle time of the pooled connections, takes effect for the pools created later.
+     *
+     * @param maxIdleSeconds the max idle time in seconds
+     */
+    public void setMaxIdleSeconds(long maxIdleSeconds) {
+        this.maxIdleSeconds = maxIdleSeconds;
+    }
+
+    /**
+     * Get the total statistics of all pools, keyed by the SSL profile name.
+     *
+     * @return the pool statistics snapshot
+     */
+    @NotNull
+    public Map<String, PoolStats> getTotalStats() {
+        Map<String, PoolStats> stats = new HashMap<>();
+        pools.forEach((profile, pool) -> stats.put(profile, pool.connectionManager.getTotalStats()));
+
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Get the per route (endpoint) statistics of the specified pool.
+     *
+     * @param sslProfile the SSL profile name to identify the pool
+     * @return the per route statistics snapshot, empty if the pool isn't created
+     */
+    @NotNull
+    public Map<String, PoolStats> getRouteStats(@NotNull String sslProfile) {
+        Pool pool = pools.get(sslProfile);
+        if (pool == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, PoolStats> stats = new HashMap<>();
+        pool.connectionManager.getRoutes()
+                .forEach(route -> stats.put(route.getTargetHost().toURI(), pool.connectionManager.getStats(route)));
+
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Close all idle and expired connections immediately, such as the proxy or SSL settings are changed.
+     */
+    public void closeIdleConnections() {
+        pools.values().forEach(pool -> {
+            pool.connectionManager.closeExpiredConnections();
+            pool.connectionManager.closeIdleConnections(0, TimeUnit.SECONDS);
+        });
+    }
+
+    /**
+     * Shut down all pools, the pools will be recreated at the next request.
+     */
+    public void shutdown() {
+        pools.keySet().forEach(profile -> {
+            Pool pool = pools.remove(profile);
+            if (pool == null) {
+                return;
+            }
+
+            pool.evictor.shutdown();
+            pool.connectionManager.shutdown();
+        });
+    }
+}
@@ -30,7 +30,6 @@ import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.HeaderGroup;
 import org.apache.http.protocol.BasicHttpContext;
@@ -43,6 +42,7 @@ import rx.exceptions.Exceptions;
 
 import javax.net.ssl.SSLContext;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.UnknownServiceException;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
@@ -108,12 +108,7 @@ public class HttpObservable implements ILogger {
                 .setProxyPreferredAuthSchemes(Collections.singletonList(AuthSchemes.BASIC))
                 .build();
 
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
-                .setDefaultCookieStore(getCookieStore())
-                .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
-                .build();
+        this.httpClient = getPooledHttpClient();
     }
 
     /**
@@ -131,13 +126,6 @@ public class HttpObservable implements ILogger {
             setDefaultHeader(new BasicHeader(
                     HttpHeaders.AUTHORIZATION, String.format("%s %s", "Basic", new String(encodedAuth))));
         }
-
-        this.httpClient = HttpClients.custom()
-                .useSystemProperties()
-                .setDefaultCookieStore(getCookieStore())
-                .setDefaultRequestConfig(getDefaultRequestConfig())
-                .setSSLSocketFactory(createSSLSocketFactory())
-                .build();
     }
 
     /*
@@ -167,6 +155,7 @@ public class HttpObservable implements ILogger {
 
     public HttpObservable setCookieStore(@NotNull CookieStore cookieStore) {
         this.cookieStore = cookieStore;
+        this.httpContext.setAttribute(HttpClientContext.COOKIE_STORE, cookieStore);
 
         return this;
     }
@@ -211,6 +200,15 @@ public class HttpObservable implements ILogger {
         return httpContext;
     }
 
+    /**
+     * Get the context to execute a request in, the shared one keeps the cookies and the authentication state
+     * between requests.
+     */
+    @NotNull
+    protected HttpContext getRequestContext() {
+        return getHttpContext();
+    }
+
     @Nullable
     public String getUserAgent() {
         return userAgent;
@@ -243,6 +241,23 @@ public class HttpObservable implements ILogger {
         }
     }
 
+    /**
+     * Get the HTTP client shared by all instances with the same SSL settings from the connection pools.
+     * The per instance cookies and request configuration are applied by the HTTP context and requests.
+     *
+     * @return the pooled HTTP client
+     */
+    @NotNull
+    protected CloseableHttpClient getPooledHttpClient() {
+        if (ServiceManager.getServiceProvider(TrustStrategy.class) == null) {
+            return HttpConnectionPoolManager.getInstance().getSystemHttpClient();
+        }
+
+        String sslProfile = isSSLCertificateValidationDisabled() ? "trust-strategy-no-hostname-verifier" : "trust-strategy";
+
+        return HttpConnectionPoolManager.getInstance().getHttpClient(sslProfile, this::createSSLSocketFactory);
+    }
+
     private SSLConnectionSocketFactory createSSLSocketFactory() {
         TrustStrategy ts = ServiceManager.getServiceProvider(TrustStrategy.class);
         SSLConnectionSocketFactory sslSocketFactory = null;
@@ -316,14 +331,103 @@ public class HttpObservable implements ILogger {
                     }
                 },
                 // Resource dispose
+                HttpObservable::closeQuietly);
+    }
+
+    /**
+     * Helper to convert the closeable stream good Http response (2xx) to a specified type by deserializing the
+     * response content stream directly, without buffering the whole content as a String.
+     * If the response is bad, propagate a HttpResponseException
+     *
+     * @param closeableHttpResponse the source closeable stream
+     * @param clazz the target type to convert
+     * @param <T> the target type
+     * @return the specified type class instance
+     */
+    public static <T> Observable<T> toObjectOnlyOkResponse(CloseableHttpResponse closeableHttpResponse,
+                                                           @NotNull final Class<T> clazz) {
+        return Observable.using(
+                // Resource factory
+                () -> closeableHttpResponse,
+                // Observable factory
                 streamResp -> {
                     try {
-                        streamResp.close();
-                    } catch (IOException ignore) {
-                        // The connection will be closed automatically after timeout,
-                        // the exception in closing can be ignored.
+                        StatusLine status = streamResp.getStatusLine();
+
+                        if (status.getStatusCode() >= 300) {
+                            return Observable.error(classifyHttpError(streamResp));
+                        }
+
+                        HttpEntity entity = streamResp.getEntity();
+                        if (entity == null) {
+                            return Observable.error(new HDIException("Unknown HTTP server response: no content"));
+                        }
+
+                        try (InputStream inputStream = entity.getContent()) {
+                            return ObjectConvertUtils.convertJsonStreamToObject(inputStream, clazz)
+                                    .map(Observable::just)
+                                    .orElseGet(() -> Observable.error(new HDIException(
+                                            "Unknown HTTP server response: null content with status " + status)));
+                        }
+                    } catch (IOException e) {
+                        return Observable.error(e);
                     }
-                });
+                },
+                // Resource dispose
+                HttpObservable::closeQuietly);
+    }
+
+    /**
+     * Helper to emit the elements of the array field in the closeable stream good Http response (2xx) JSON content
+     * incrementally, the element is deserialized when it's requested by the downstream, so that the memory usage
+     * doesn't grow with the response size. The response is closed after all elements are emitted or unsubscribed.
+     * If the response is bad, propagate a HttpResponseException
+     *
+     * @param closeableHttpResponse the source closeable stream
+     * @param arrayFieldName the array field name of the root JSON object
+     * @param clazz the array element type to convert
+     * @param <T> the array element type
+     * @return the array elements
+     */
+    public static <T> Observable<T> toListElementsOnlyOkResponse(CloseableHttpResponse closeableHttpResponse,
+                                                                 @NotNull final String arrayFieldName,
+                                                                 @NotNull final Class<T> clazz) {
+        return Observable.using(
+                // Resource factory
+                () -> closeableHttpResponse,
+                // Observable factory
+                streamResp -> {
+                    try {
+                        StatusLine status = streamResp.getStatusLine();
+
+                        if (status.getStatusCode() >= 300) {
+                            return Observable.error(classifyHttpError(streamResp));
+                        }
+
+                        HttpEntity entity = streamResp.getEntity();
+                        if (entity == null) {
+                            return Observable.empty();
+                        }
+
+                        Iterator<T> elements = ObjectConvertUtils.convertJsonStreamToIterator(
+                                entity.getContent(), arrayFieldName, clazz);
+
+                        return Observable.from(() -> elements);
+                    } catch (IOException e) {
+                        return Observable.error(e);
+                    }
+                },
+                // Resource dispose
+                HttpObservable::closeQuietly);
+    }
+
+    private static void closeQuietly(@NotNull CloseableHttpResponse streamResp) {
+        try {
+            streamResp.close();
+        } catch (IOException ignore) {
+            // The connection will be closed automatically after timeout,
+            // the exception in closing can be ignored.
+        }
     }
 
     /**
@@ -369,6 +473,11 @@ public class HttpObservable implements ILogger {
             Optional.ofNullable(addOrReplaceHeaders)
                     .ifPresent(headers -> headers.forEach(httpRequest::setHeader));
 
+            // Apply the instance request configuration since the HTTP client is shared
+            if (httpRequest.getConfig() == null) {
+                httpRequest.setConfig(getDefaultRequestConfig());
+            }
+
             // Set entity for non-entity
             if (httpRequest instanceof HttpEntityEnclosingRequestBase && entity != null) {
                 ((HttpEntityEnclosingRequestBase)httpRequest).setEntity(entity);
@@ -377,7 +486,7 @@ public class HttpObservable implements ILogger {
                 httpRequest.setHeader(entity.getContentType());
             }
 
-            return getHttpClient().execute(httpRequest, getHttpContext());
+            return getHttpClient().execute(httpRequest, getRequestContext());
         });
     }
 
@@ -392,6 +501,28 @@ public class HttpObservable implements ILogger {
                 .flatMap(HttpObservable::toStringOnlyOkResponse);
     }
 
+    /*
+     * RESTful API operations with streaming deserialization of response content for specified type
+     */
+    public <T> Observable<T> requestWithObject(@NotNull final HttpRequestBase httpRequest,
+                                               @Nullable final HttpEntity entity,
+                                               final List<NameValuePair> parameters,
+                                               final List<Header> addOrReplaceHeaders,
+                                               @NotNull final Class<T> clazz) {
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(resp -> HttpObservable.toObjectOnlyOkResponse(resp, clazz));
+    }
+
+    public <T> Observable<T> requestWithListElements(@NotNull final HttpRequestBase httpRequest,
+                                                     @Nullable final HttpEntity entity,
+                                                     final List<NameValuePair> parameters,
+                                                     final List<Header> addOrReplaceHeaders,
+                                                     @NotNull final String arrayFieldName,
+                                                     @NotNull final Class<T> clazz) {
+        return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                .flatMap(resp -> HttpObservable.toListElementsOnlyOkResponse(resp, arrayFieldName, clazz));
+    }
+
     public Observable<HttpResponse> head(@NotNull final String uri,
                                          @NotNull final List<NameValuePair> parameters,
                                          @NotNull final List<Header> addOrReplaceHeaders) {
@@ -402,8 +533,26 @@ public class HttpObservable implements ILogger {
                                  final List<NameValuePair> parameters,
                                  final List<Header> addOrReplaceHeaders,
                                  @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpGet(uri), null, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithObject(new HttpGet(uri), null, parameters, addOrReplaceHeaders, clazz);
+    }
+
+    /**
+     * Get the elements of the array field in the response JSON object incrementally
+     *
+     * @param uri the request URI
+     * @param parameters the request parameters
+     * @param addOrReplaceHeaders the request headers to add or replace
+     * @param arrayFieldName the array field name of the root JSON object
+     * @param clazz the array element type to convert
+     * @param <T> the array element type
+     * @return the array elements, emitted as they are deserialized
+     */
+    public <T> Observable<T> getListElements(@NotNull final String uri,
+                                             final List<NameValuePair> parameters,
+                                             final List<Header> addOrReplaceHeaders,
+                                             @NotNull final String arrayFieldName,
+                                             @NotNull final Class<T> clazz) {
+        return requestWithListElements(new HttpGet(uri), null, parameters, addOrReplaceHeaders, arrayFieldName, clazz);
     }
 
     public <T> Observable<T> put(@NotNull final String uri,
@@ -411,8 +560,7 @@ public class HttpObservable implements ILogger {
                                  final List<NameValuePair> parameters,
                                  final List<Header> addOrReplaceHeaders,
                                  @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPut(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithObject(new HttpPut(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public <T> Observable<T> post(@NotNull final String uri,
@@ -420,8 +568,7 @@ public class HttpObservable implements ILogger {
                                   final List<NameValuePair> parameters,
                                   final List<Header> addOrReplaceHeaders,
                                   @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPost(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithObject(new HttpPost(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public Observable<HttpResponse> delete(@NotNull final String uri,
@@ -435,8 +582,7 @@ public class HttpObservable implements ILogger {
                                    final List<NameValuePair> parameters,
                                    final List<Header> addOrReplaceHeaders,
                                    @NotNull final Class<T> clazz) {
-        return requestWithHttpResponse(new HttpPatch(uri), entity, parameters, addOrReplaceHeaders)
-                .map(resp -> this.convertJsonResponseToObject(resp, clazz));
+        return requestWithObject(new HttpPatch(uri), entity, parameters, addOrReplaceHeaders, clazz);
     }
 
     public Observable<CloseableHttpResponse> executeReqAndCheckStatus(HttpRequestBase httpRequest,
@@ -445,6 +591,8 @@ public class HttpObservable implements ILogger {
                                                                       List<Header> addOrReplaceHeaders,
                                                                       int validStatueCode) {
         return request(httpRequest, entity, parameters, addOrReplaceHeaders)
+                // Only the status and headers are checked, release the connection back to the pool
+                .doOnNext(resp -> EntityUtils.consumeQuietly(resp.getEntity()))
                 .doOnNext(resp -> {
                     int statusCode = resp.getStatusLine().getStatusCode();
                     if (statusCode != validStatueCode) {
@@ -16,9 +16,12 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.HeaderGroup;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
 import rx.Observable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -67,15 +70,30 @@ public class SharedKeyHttpObservable extends HttpObservable {
             headerGroup.addHeader(new BasicHeader("Content-Length", String.valueOf(entity.getContentLength())));
         }
         ofNullable(addOrReplaceHeaders).orElse(emptyList()).forEach(headerGroup::addHeader);
+        // The date is signed into the shared key, so it's refreshed for each request to keep the key valid
+        final Header date = new BasicHeader("x-ms-date", Utility.getGMTTime());
+        headerGroup.updateHeader(date);
         String key = cred.generateSharedKey(httpRequest, headerGroup, ofNullable(parameters).orElse(emptyList()));
 
-        getDefaultHeaderGroup().updateHeader(new BasicHeader("Authorization", key));
+        // The shared key is signed per request, so it's set to the request headers rather than the default headers
+        // to avoid being overwritten by the concurrent requests
+        final List<Header> requestHeaders = new ArrayList<>(ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        requestHeaders.add(date);
+        requestHeaders.add(new BasicHeader("Authorization", key));
 
-        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), ofNullable(addOrReplaceHeaders).orElse(emptyList()));
+        return super.request(httpRequest, entity, ofNullable(parameters).orElse(emptyList()), requestHeaders);
     }
 
     @Override
     public Header[] getDefaultHeaders() throws IOException {
         return defaultHeaders.getAllHeaders();
     }
+
+    @NotNull
+    @Override
+    protected HttpContext getRequestContext() {
+        // Each request carries its own authorization, so the concurrent requests get their own context state,
+        // with the cookies still read from the shared context
+        return new BasicHttpContext(getHttpContext());
+    }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.common.livy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.SessionState;
+import com.microsoft.azure.hdinsight.spark.common.SparkSubmitResponse;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Emitter;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.subscriptions.Subscriptions;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The coalesced state poller of a Livy endpoint, shared by all interactive sessions or batch jobs watching it.
+ *
+ * Each tick fetches the whole list ({@code GET /sessions} or {@code GET /batches}) once, and fans the state out to
+ * all watchers by ID. An ID not in the list (beyond the page or just created), or all IDs when the list can't be
+ * fetched, is fetched individually by its own watcher's fetcher. A fetching failure only affects the watchers of that
+ * ID. The tick is kept at {@link #MIN_TICK_MS} while any watched one is in a transitional state, and doubled up to
+ * {@link #MAX_TICK_MS} when all of them are steady. The poller stops ticking when there is no watcher.
+ *
+ * @param <T> the Livy session or batch response type
+ */
+public class LivyStatePoller<T> implements ILogger {
+    public static final long MIN_TICK_MS = 1000;
+    public static final long MAX_TICK_MS = 8000;
+    public static final int MAX_CONSECUTIVE_FAILURES = 3;
+    public static final int FETCH_PAGE_SIZE = 1000;
+
+    /**
+     * The state fetcher of a watched session or batch, which is provided by the watcher with its own credential.
+     */
+    public interface StateFetcher<T> {
+        /**
+         * Fetch the states of the first {@link #FETCH_PAGE_SIZE} sessions or batches of the endpoint.
+         */
+        @NotNull
+        List<T> fetchAll() throws Exception;
+
+        /**
+         * Fetch the state of the watched session or batch.
+         *
+         * @return the state fetched, null for not found, which ends the watch
+         */
+        @Nullable
+        T fetchOne() throws Exception;
+    }
+
+    private static final Scheduler pollingScheduler = Schedulers.from(Executors.newScheduledThreadPool(
+            2, new ThreadFactoryBuilder().setNameFormat("livy-state-poller-%d").setDaemon(true).build()));
+
+    private static final Map<String, LivyStatePoller<?>> pollers = new ConcurrentHashMap<>();
+
+    /**
+     * Get the shared poller of Livy interactive sessions.
+     *
+     * @param sessionsUrl the Livy sessions URL, such as {@code https://<livy base>/sessions}
+     * @return the poller of the endpoint
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static LivyStatePoller<Session> getSessionPoller(@NotNull URI sessionsUrl) {
+        return (LivyStatePoller<Session>) pollers.computeIfAbsent(
+                "sessions:" + sessionsUrl,
+                url -> new LivyStatePoller<>(Session::getId, session -> isSessionTransitional(session.getState())));
+    }
+
+    /**
+     * Get the shared poller of Livy batches.
+     *
+     * @param batchesUrl the Livy batches URL, such as {@code https://<livy base>/batches}
+     * @return the poller of the endpoint
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public static LivyStatePoller<SparkSubmitResponse> getBatchPoller(@NotNull URI batchesUrl) {
+        return (LivyStatePoller<SparkSubmitResponse>) pollers.computeIfAbsent(
+                "batches:" + batchesUrl,
+                url -> new LivyStatePoller<>(SparkSubmitResponse::getId, SparkSubmitResponse::isAlive));
+    }
+
+    private static boolean isSessionTransitional(@Nullable SessionState state) {
+        return state == null
+                || state == SessionState.NOT_STARTED
+                || state == SessionState.STARTING
+                || state == SessionState.BUSY
+                || state == SessionState.SHUTTING_DOWN;
+    }
+
+    private static final class TimedState<T> {
+        @NotNull
+        private final T state;
+        private final long fetchedAt;
+
+        private TimedState(@NotNull T state, long fetchedAt) {
+            this.state = state;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private static final class Watch<T> {
+        @NotNull
+        private final StateFetcher<T> fetcher;
+        @NotNull
+        private final List<Emitter<T>> emitters = new CopyOnWriteArrayList<>();
+
+        // Only accessed in the worker
+        private int consecutiveFailures = 0;
+
+        private Watch(@NotNull StateFetcher<T> fetcher) {
+            this.fetcher = fetcher;
+        }
+    }
+
+    @NotNull
+    private final Function<T, Integer> idOf;
+    @NotNull
+    private final Predicate<T> isTransitional;
+    @NotNull
+    private final Scheduler.Worker worker = pollingScheduler.createWorker();
+    @NotNull
+    private final Map<Integer, Watch<T>> watches = new ConcurrentHashMap<>();
+    @NotNull
+    private final Map<Integer, TimedState<T>> lastStates = new ConcurrentHashMap<>();
+
+    // Only accessed in the worker, which runs actions sequentially
+    private long tickMs = MIN_TICK_MS;
+
+    // Guarded by this
+    @NotNull
+    private Subscription nextTick = Subscriptions.unsubscribed();
+    private boolean immediateTickPending = false;
+
+    private LivyStatePoller(@NotNull Function<T, Integer> idOf, @NotNull Predicate<T> isTransitional) {
+        this.idOf = idOf;
+        this.isTransitional = isTransitional;
+    }
+
+    /**
+     * Watch the state of the session or batch, the first state is fetched at once.
+     *
+     * The fetcher is kept with the ID while it's watched. Only the latest state is kept for a slow watcher.
+     *
+     * @param id the session or batch ID
+     * @param stateFetcher the state fetcher with the watcher's credential
+     * @return the state Observable of each tick, which completes when the session or batch is not found, and fails
+     *         after {@link #MAX_CONSECUTIVE_FAILURES} fetching failures of it in a row
+     */
+    @NotNull
+    public Observable<T> watch(int id, @NotNull StateFetcher<T> stateFetcher) {
+        return Observable.<T>create(emitter -> {
+            watches.compute(id, (key, watch) -> {
+                final Watch<T> updated = watch == null ? new Watch<>(stateFetcher) : watch;
+                updated.emitters.add(emitter);
+
+                return updated;
+            });
+            emitter.setCancellation(() -> unwatch(id, emitter));
+
+            tickNow();
+        }, Emitter.BackpressureMode.LATEST)
+                // Keep the polling thread away from the downstream work
+                .observeOn(Schedulers.io());
+    }
+
+    /**
+     * Get the state of the session or batch fetched by a recent tick, without sending any request.
+     *
+     * @param id the session or batch ID
+     * @param maxAgeMs the max age of the state
+     * @return the state fetched within the max age, empty if not watched or too old
+     */
+    @NotNull
+    public Optional<T> getRecentState(int id, long maxAgeMs) {
+        return Optional.ofNullable(lastStates.get(id))
+                .filter(timed -> System.currentTimeMillis() - timed.fetchedAt <= maxAgeMs)
+                .map(timed -> timed.state);
+    }
+
+    private void unwatch(int id, @NotNull Emitter<T> emitter) {
+        watches.computeIfPresent(id, (key, watch) -> {
+            watch.emitters.remove(emitter);
+            if (!watch.emitters.isEmpty()) {
+                return watch;
+            }
+
+            lastStates.remove(id);
+            return null;
+        });
+    }
+
+    private void endWatch(int id, @NotNull Watch<T> watch, @Nullable Throwable error) {
+        // No emitter joins the watch once it's removed
+        if (!watches.remove(id, watch)) {
+            return;
+        }
+
+        lastStates.remove(id);
+        for (final Emitter<T> emitter : watch.emitters) {
+            if (error == null) {
+                emitter.onCompleted();
+            } else {
+                emitter.onError(error);
+            }
+        }
+    }
+
+    private synchronized void tickNow() {
+        if (immediateTickPending) {
+            return;
+        }
+
+        nextTick.unsubscribe();
+        nextTick = worker.schedule(this::tick);
+        immediateTickPending = true;
+    }
+
+    private synchronized void scheduleNextTick(long delayMs) {
+        if (immediateTickPending) {
+            // A new watcher comes during the tick, keep its immediate tick
+            return;
+        }
+
+        nextTick.unsubscribe();
+        nextTick = worker.schedule(this::tick, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        synchronized (this) {
+            immediateTickPending = false;
+        }
+
+        final Optional<Watch<T>> anyWatch = watches.values().stream().findAny();
+        if (!anyWatch.isPresent()) {
+            // Stop ticking, the next watcher starts it again
+            tickMs = MIN_TICK_MS;
+            return;
+        }
+
+        final Map<Integer, T> states = new HashMap<>();
+        try {
+            anyWatch.get().fetcher.fetchAll().forEach(state -> states.put(idOf.apply(state), state));
+        } catch (Exception ex) {
+            log().warn("Failed to list Livy states, fetch them one by one: " + ex);
+        }
+
+        final long now = System.currentTimeMillis();
+        int transitionalCount = 0;
+
+        for (final Map.Entry<Integer, Watch<T>> watched : watches.entrySet()) {
+            final int id = watched.getKey();
+            final Watch<T> watch = watched.getValue();
+
+            T state = states.get(id);
+            if (state == null) {
+                try {
+                    state = watch.fetcher.fetchOne();
+                } catch (Exception ex) {
+                    log().warn("Failed to poll Livy state of " + id + ": " + ex);
+
+                    if (++watch.consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                        endWatch(id, watch, ex);
+                    }
+
+                    continue;
+                }
+
+                if (state == null) {
+                    endWatch(id, watch, null);
+                    continue;
+                }
+            }
+
+            watch.consecutiveFailures = 0;
+            if (isTransitional.test(state)) {
+                transitionalCount++;
+            }
+
+            final TimedState<T> timedState = new TimedState<>(state, now);
+            // Don't keep the state of an ID just unwatched
+            watches.computeIfPresent(id, (key, current) -> {
+                lastStates.put(id, timedState);
+
+                return current;
+            });
+
+            for (final Emitter<T> emitter : watch.emitters) {
+                emitter.onNext(state);
+            }
+        }
+
+        tickMs = transitionalCount > 0 ? MIN_TICK_MS : Math.min(tickMs * 2, MAX_TICK_MS);
+        scheduleNextTick(tickMs);
+    }
+}
@@ -11,12 +11,15 @@ import com.microsoft.azure.hdinsight.common.HDInsightLoader;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
 import com.microsoft.azure.hdinsight.sdk.common.HttpResponse;
+import com.microsoft.azure.hdinsight.sdk.common.errorresponse.NotFoundHttpErrorStatus;
+import com.microsoft.azure.hdinsight.sdk.common.livy.LivyStatePoller;
 import com.microsoft.azure.hdinsight.sdk.common.livy.MemorySize;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.exceptions.ApplicationNotStartException;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.exceptions.SessionNotStartException;
 import com.microsoft.azure.hdinsight.sdk.common.livy.interactive.exceptions.StatementExecutionError;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.SessionKind;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.SessionState;
+import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api.GetSessionsResponse;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api.PostSessions;
 import com.microsoft.azure.hdinsight.spark.common.Deployable;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
@@ -25,10 +28,11 @@ import com.microsoft.azuretools.telemetry.AppInsightsClient;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.http.NameValuePair;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicNameValuePair;
 import rx.Observable;
 import rx.Scheduler;
-import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 
 import java.io.ByteArrayInputStream;
@@ -46,7 +50,6 @@ import static com.microsoft.azure.hdinsight.common.MessageInfoType.Debug;
 import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
 import static com.microsoft.azure.hdinsight.common.MessageInfoType.Warning;
 import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
-import static java.lang.Thread.sleep;
 import static rx.exceptions.Exceptions.propagate;
 
 public abstract class Session implements AutoCloseable, Closeable, ILogger {
@@ -365,8 +368,7 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
     public Observable<String> getAppId() {
         return appId != null ?
                Observable.just(appId) :
-               this.get()
-                   .repeatWhen(ob -> ob.delay(1, TimeUnit.SECONDS))
+               this.watch()
                    .takeUntil(session -> session.appId != null)
                    .filter(session -> session.appId != null)
                    .timeout(3, TimeUnit.MINUTES)
@@ -596,6 +598,46 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
                 .get(uri.toString(), null, null, com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session.class);
     }
 
+    /**
+     * To watch the session status by the poller shared with other sessions of the same Livy endpoint.
+     *
+     * @return an updated Session instance Observable for each polling
+     */
+    public Observable<Session> watch() {
+        return LivyStatePoller.getSessionPoller(baseUrl.resolve(REST_SEGMENT_SESSION))
+                .watch(getId(), new LivyStatePoller.StateFetcher<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session>() {
+                    @Override
+                    public List<com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session> fetchAll() {
+                        final List<NameValuePair> params = Arrays.asList(
+                                new BasicNameValuePair("from", "0"),
+                                new BasicNameValuePair("size", String.valueOf(LivyStatePoller.FETCH_PAGE_SIZE)));
+
+                        return Optional.ofNullable(getHttp()
+                                        .setUserAgent(getUserAgent())
+                                        .get(baseUrl.resolve(REST_SEGMENT_SESSION).toString(),
+                                             params,
+                                             null,
+                                             GetSessionsResponse.class)
+                                        .toBlocking()
+                                        .singleOrDefault(null))
+                                .map(GetSessionsResponse::getSessions)
+                                .orElse(Collections.emptyList());
+                    }
+
+                    @Nullable
+                    @Override
+                    public com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session fetchOne() {
+                        return getSessionRequest()
+                                .onErrorResumeNext(err -> err instanceof NotFoundHttpErrorStatus
+                                                          ? Observable.empty()
+                                                          : Observable.error(err))
+                                .toBlocking()
+                                .singleOrDefault(null);
+                    }
+                })
+                .map(this::updateWithResponse);
+    }
+
     public Observable<Map<String, String>> runStatement(final Statement statement) {
         return awaitReady()
                 .flatMap(session -> statement
@@ -611,18 +653,8 @@ public abstract class Session implements AutoCloseable, Closeable, ILogger {
     }
 
     public Observable<Session> awaitReady(final @Nullable Scheduler scheduler) {
-        return get()
-                .repeatWhen(ob -> scheduler != null ?
-                                  // Use specified scheduler to delay
-                                  ob.doOnNext(any -> {
-                                      try {
-                                          sleep(1000);
-                                      } catch (InterruptedException ignored) {
-                                      }
-                                  }) :
-                                  // Use the default delay scheduler if scheduler not specified
-                                  ob.delay(1, TimeUnit.SECONDS),
-                            scheduler != null ? scheduler : Schedulers.trampoline())
+        // Observe the status on the specified scheduler, such as the one showing progress
+        return (scheduler != null ? watch().observeOn(scheduler) : watch())
                 .takeUntil(Session::isStatementRunnable)
                 .reduce(new ImmutablePair<>(this, getLastLogs()), (sesLogsPair, ses) -> {
                     List<String> currentLogs = ses.getLastLogs();
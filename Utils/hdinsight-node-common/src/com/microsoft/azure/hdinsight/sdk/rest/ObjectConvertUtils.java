@@ -6,9 +6,12 @@
 package com.microsoft.azure.hdinsight.sdk.rest;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
@@ -16,20 +19,118 @@ import org.apache.http.HttpEntity;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public final class ObjectConvertUtils {
     private static JsonFactory jsonFactory = new JsonFactory();
     private static ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
     private static XmlMapper xmlMapper = new XmlMapper();
+    private static Map<Class<?>, ObjectReader> jsonReaders = new ConcurrentHashMap<>();
+
+    @NotNull
+    private static ObjectReader getJsonReader(@NotNull Class<?> tClass) {
+        return jsonReaders.computeIfAbsent(tClass, objectMapper::readerFor);
+    }
 
     public static  <T> Optional<T> convertJsonToObject(@NotNull String jsonString, @NotNull Class<T> tClass) throws IOException {
         return Optional.ofNullable(objectMapper.readValue(jsonString, tClass));
     }
 
+    /**
+     * Deserialize the JSON content from the input stream directly, without buffering the whole content as a String.
+     *
+     * @param inputStream the JSON content stream, which isn't closed by the method
+     * @param tClass the target type class
+     * @param <T> the target type
+     * @return the deserialized object, empty for JSON null
+     * @throws IOException for reading or parsing failures
+     */
+    public static <T> Optional<T> convertJsonStreamToObject(@NotNull InputStream inputStream,
+                                                            @NotNull Class<T> tClass) throws IOException {
+        return Optional.ofNullable(getJsonReader(tClass).readValue(inputStream));
+    }
+
+    /**
+     * Deserialize the elements of the array field in the root JSON object one by one from the input stream lazily,
+     * so that only one element is held in memory at a time. Such as the {@code paths} field of
+     * <code>{"paths": [{...}, {...}]}</code>.
+     *
+     * @param inputStream the JSON content stream, which isn't closed by the method and should be kept open until the
+     *                    iteration is done
+     * @param arrayFieldName the array field name of the root JSON object
+     * @param tClass the array element type class
+     * @param <T> the array element type
+     * @return the lazy iterator of array elements, empty if the array field is not found or null,
+     *         the reading or parsing failures during iteration are thrown as {@link UncheckedIOException}
+     * @throws IOException for reading or parsing failures before the first element
+     */
+    public static <T> Iterator<T> convertJsonStreamToIterator(@NotNull InputStream inputStream,
+                                                              @NotNull String arrayFieldName,
+                                                              @NotNull Class<T> tClass) throws IOException {
+        final JsonParser parser = jsonFactory.createParser(inputStream);
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The JSON content is not an object with array field " + arrayFieldName);
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            final JsonToken valueToken = parser.nextToken();
+
+            if (fieldName.equals(arrayFieldName) && valueToken == JsonToken.START_ARRAY) {
+                return new JsonArrayElementIterator<>(parser, getJsonReader(tClass));
+            }
+
+            parser.skipChildren();
+        }
+
+        return Collections.emptyIterator();
+    }
+
+    private static final class JsonArrayElementIterator<T> implements Iterator<T> {
+        @NotNull
+        private final JsonParser parser;
+        @NotNull
+        private final ObjectReader reader;
+        private JsonToken current;
+
+        private JsonArrayElementIterator(@NotNull JsonParser parser, @NotNull ObjectReader reader) throws IOException {
+            this.parser = parser;
+            this.reader = reader;
+            this.current = parser.nextToken();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null && current != JsonToken.END_ARRAY;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                final T element = reader.readValue(parser);
+                current = parser.nextToken();
+
+                return element;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
     public static <T> T convertToObjectQuietly(@NotNull String jsonString, @NotNull Class<T> tClass) {
         try {
             return objectMapper.readValue(jsonString, tClass);
@@ -39,6 +140,20 @@ public final class ObjectConvertUtils {
         return null;
     }
 
+    /**
+     * Deserialize the JSON content in the byte array range, without decoding it into a String first.
+     *
+     * @return the object deserialized, or null for the malformed JSON content
+     */
+    public static <T> T convertToObjectQuietly(@NotNull byte[] jsonBytes, int offset, int length, @NotNull Class<T> tClass) {
+        try {
+            return getJsonReader(tClass).readValue(jsonBytes, offset, length);
+        } catch (IOException e) {
+            // ignore the exception
+        }
+        return null;
+    }
+
     public static <T> Optional<T> convertEntityToObject(@NotNull HttpEntity entity, @NotNull Class<T> tClass) throws IOException {
         final String type = entity.getContentType().getValue().toLowerCase();
 
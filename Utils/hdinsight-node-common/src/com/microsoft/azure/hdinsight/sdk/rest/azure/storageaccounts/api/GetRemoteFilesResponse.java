@@ -13,7 +13,9 @@ import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class GetRemoteFilesResponse {
-    @JsonProperty(value = "paths")
+    public static final String PATHS_FIELD = "paths";
+
+    @JsonProperty(value = PATHS_FIELD)
     private List<RemoteFile> remoteFiles;
 
     public List<RemoteFile> getRemoteFiles(){
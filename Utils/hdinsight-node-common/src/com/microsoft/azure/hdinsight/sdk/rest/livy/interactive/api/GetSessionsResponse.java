@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.api;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.microsoft.azure.hdinsight.sdk.rest.IConvertible;
 import com.microsoft.azure.hdinsight.sdk.rest.livy.interactive.Session;
 
@@ -24,6 +25,7 @@ import java.util.List;
  * Query Parameters Supported
  *   None
  */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GetSessionsResponse implements IConvertible {
     private int             from;           // The start index to fetch sessions
     private int             size;           // Number of sessions to fetch
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.sdk.storage.adlsgen2;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import rx.Observable;
+import rx.Observer;
+import rx.schedulers.Schedulers;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
+import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
+
+/**
+ * The ADLS Gen2 file uploader, which reads the source file in fixed-size chunks and keeps several
+ * {@code action=append&position=N} requests in flight, then flushes the file once all chunks are appended.
+ *
+ * The failed chunk is retried individually. The appended chunks are remembered by the uploader instance, so
+ * re-subscribing {@link #upload(Observer)} after a failure resumes the upload by appending the missing chunks only
+ * before the final flush.
+ */
+public class ADLSGen2ChunkedUploader implements ILogger {
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final int DEFAULT_CHUNK_RETRIES = 3;
+    public static final int DEFAULT_FLUSH_RETRIES = 2;
+
+    private static final long PROGRESS_REPORT_INTERVAL_MS = 1000;
+
+    @NotNull
+    private final ADLSGen2FSOperation op;
+    @NotNull
+    private final String destFilePath;
+    @NotNull
+    private final File src;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int chunkRetries;
+
+    @NotNull
+    private final Set<Long> appendedPositions = ConcurrentHashMap.newKeySet();
+    @NotNull
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private long lastReportTime = 0;
+    @Nullable
+    private volatile Observer<SparkLogLine> logSubject;
+
+    public ADLSGen2ChunkedUploader(@NotNull ADLSGen2FSOperation op,
+                                   @NotNull String destFilePath,
+                                   @NotNull File src) {
+        this(op, destFilePath, src, DEFAULT_CHUNK_SIZE, DEFAULT_PARALLELISM, DEFAULT_CHUNK_RETRIES);
+    }
+
+    public ADLSGen2ChunkedUploader(@NotNull ADLSGen2FSOperation op,
+                                   @NotNull String destFilePath,
+                                   @NotNull File src,
+                                   int chunkSize,
+                                   int parallelism,
+                                   int chunkRetries) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("The chunk size and parallelism should be positive.");
+        }
+
+        this.op = op;
+        this.destFilePath = destFilePath;
+        this.src = src;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.chunkRetries = chunkRetries;
+    }
+
+    /**
+     * Upload the file, or resume the previous failed upload of the instance.
+     *
+     * @param logSubject the observer to report the upload progress and throughput, null for no report
+     * @return true for the file uploaded and flushed
+     */
+    @NotNull
+    public Observable<Boolean> upload(@Nullable Observer<SparkLogLine> logSubject) {
+        return Observable.defer(() -> {
+            this.logSubject = logSubject;
+
+            if (!src.isFile()) {
+                return Observable.error(new IllegalArgumentException("Can not find the artifact " + src));
+            }
+
+            final long fileLength = src.length();
+            final int chunkCount = (int) ((fileLength + chunkSize - 1) / chunkSize);
+            final long startTime = System.currentTimeMillis();
+            final long resumedBytes = uploadedBytes.get();
+
+            if (resumedBytes > 0) {
+                report(String.format("Resume uploading %s from %s.",
+                        src.getName(), FileUtils.byteCountToDisplaySize(resumedBytes)));
+            }
+
+            op.prepareAppendData();
+
+            return Observable.range(0, chunkCount)
+                    .map(index -> (long) index * chunkSize)
+                    .filter(position -> !appendedPositions.contains(position))
+                    .flatMap(position -> appendChunk(position, fileLength).subscribeOn(Schedulers.io()),
+                             parallelism)
+                    .doOnNext(ignored -> reportProgress(fileLength, resumedBytes, startTime, false))
+                    .toList()
+                    .flatMap(ignored -> op.flushData(destFilePath, fileLength).retry(DEFAULT_FLUSH_RETRIES))
+                    .doOnNext(ignored -> reportProgress(fileLength, resumedBytes, startTime, true));
+        });
+    }
+
+    @NotNull
+    private Observable<Long> appendChunk(long position, long fileLength) {
+        final int length = (int) Math.min(chunkSize, fileLength - position);
+
+        return Observable.fromCallable(() -> readChunk(position, length))
+                .flatMap(data -> op.appendData(
+                        destFilePath, position, new ByteArrayEntity(data, ContentType.APPLICATION_OCTET_STREAM)))
+                .doOnError(err -> log().warn(String.format(
+                        "Append data to %s at position %d failed: %s", destFilePath, position, err.getMessage())))
+                .retry(chunkRetries)
+                .map(ignored -> {
+                    if (appendedPositions.add(position)) {
+                        uploadedBytes.addAndGet(length);
+                    }
+
+                    return position;
+                });
+    }
+
+    @NotNull
+    private byte[] readChunk(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        try (FileChannel channel = FileChannel.open(src.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException(String.format(
+                            "The artifact %s is changed during uploading, got EOF at %d.",
+                            src, position + buffer.position()));
+                }
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private synchronized void reportProgress(long fileLength, long resumedBytes, long startTime, boolean flushed) {
+        final long now = System.currentTimeMillis();
+
+        if (!flushed && now - lastReportTime < PROGRESS_REPORT_INTERVAL_MS) {
+            return;
+        }
+
+        lastReportTime = now;
+
+        final long uploaded = uploadedBytes.get();
+        final double elapsedSeconds = Math.max(now - startTime, 1) / 1000.0;
+        final double throughputMBps = (uploaded - resumedBytes) / elapsedSeconds / FileUtils.ONE_MB;
+
+        report(String.format("%s %s: %s / %s (%d%%), %.2f MB/s",
+                flushed ? "Uploaded" : "Uploading",
+                src.getName(),
+                FileUtils.byteCountToDisplaySize(uploaded),
+                FileUtils.byteCountToDisplaySize(fileLength),
+                fileLength == 0 ? 100 : uploaded * 100 / fileLength,
+                throughputMBps));
+    }
+
+    private synchronized void report(@NotNull String message) {
+        log().info(message);
+
+        final Observer<SparkLogLine> subject = logSubject;
+        if (subject != null) {
+            subject.onNext(new SparkLogLine(TOOL, Info, message));
+        }
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+}
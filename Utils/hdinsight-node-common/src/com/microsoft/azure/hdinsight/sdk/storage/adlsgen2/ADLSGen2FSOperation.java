@@ -13,19 +13,13 @@ import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 import com.microsoft.azuretools.azurecommons.helpers.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.BufferedHttpEntity;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.message.BasicHeader;
 import rx.Observable;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,15 +36,9 @@ public class ADLSGen2FSOperation {
     @NotNull
     private List<NameValuePair> createFileReqParams;
 
-    @NotNull
-    private List<NameValuePair> appendReqParams;
-
     @NotNull
     private ADLSGen2ParamsBuilder listReqBuilder;
 
-    @NotNull
-    private ADLSGen2ParamsBuilder flushReqParamsBuilder;
-
     public ADLSGen2FSOperation(@NotNull HttpObservable http) {
         this.http = http;
         this.createDirReqParams = new ADLSGen2ParamsBuilder()
@@ -60,14 +48,6 @@ public class ADLSGen2FSOperation {
         this.createFileReqParams = new ADLSGen2ParamsBuilder()
                 .setResource("file")
                 .build();
-
-        this.appendReqParams = new ADLSGen2ParamsBuilder()
-                .setAction("append")
-                .setPosition(0)
-                .build();
-
-        this.flushReqParamsBuilder = new ADLSGen2ParamsBuilder()
-                .setAction("flush");
     }
 
     public Observable<Boolean> createDir(String dirPath) {
@@ -110,48 +90,53 @@ public class ADLSGen2FSOperation {
                 .map(ignore -> true);
     }
 
-    public Observable<Boolean> uploadData(String destFilePath, File src) {
-        return appendData(destFilePath, src)
-                .flatMap(len -> flushData(destFilePath, len));
-    }
-
     public Observable<RemoteFile> list(String rootPath, String relativePath) {
         this.listReqBuilder = new ADLSGen2ParamsBuilder()
                 .enableRecursive(false)
                 .setResource("filesystem");
 
-        return http.get(
+        // Emit the remote files as they are parsed from the response stream to keep the memory usage flat
+        return http.getListElements(
                 StringUtils.stripEnd(rootPath, "/"),
                 listReqBuilder.setDirectory(relativePath).build(),
                 null,
-                GetRemoteFilesResponse.class)
-                .flatMap(pathList -> Observable.from(pathList.getRemoteFiles()));
+                GetRemoteFilesResponse.PATHS_FIELD,
+                RemoteFile.class);
     }
 
-    private Observable<Long> appendData(String filePath, File src) {
-        try {
-            InputStreamEntity reqEntity = new InputStreamEntity(
-                    new FileInputStream(src),
-                    -1,
-                    ContentType.APPLICATION_OCTET_STREAM);
-            BufferedHttpEntity entity = new BufferedHttpEntity(reqEntity);
-            long len = entity.getContentLength();
-
-            HttpPatch req = new HttpPatch(filePath);
-            http.setContentType("application/octet-stream");
-
-            return http.executeReqAndCheckStatus(req, entity, this.appendReqParams, Collections.emptyList(), 202)
-                    .map(ignore -> len);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not find the aritifact"));
-        } catch (IOException e) {
-            throw new RuntimeException(new IllegalArgumentException("Can not read the aritfact"));
-        }
+    /**
+     * Append the data to the specified position of the file, the data isn't committed until flushed.
+     *
+     * @param filePath the file path
+     * @param position the position to append, the appending requests of different positions can be concurrent
+     * @param entity the data to append
+     * @return true for the data appended
+     */
+    public Observable<Boolean> appendData(String filePath, long position, HttpEntity entity) {
+        HttpPatch req = new HttpPatch(filePath);
+        List<NameValuePair> appendReqParams = new ADLSGen2ParamsBuilder()
+                .setAction("append")
+                .setPosition(position)
+                .build();
+
+        return http.executeReqAndCheckStatus(req, entity, appendReqParams, Collections.emptyList(), 202)
+                .map(ignore -> true);
+    }
+
+    /**
+     * Set the request content type for appending data, should be called before appending.
+     */
+    public void prepareAppendData() {
+        http.setContentType("application/octet-stream");
     }
 
-    private Observable<Boolean> flushData(String filePath, long flushLen) {
+    public Observable<Boolean> flushData(String filePath, long flushLen) {
         HttpPatch req = new HttpPatch(filePath);
-        List<NameValuePair> flushReqParams = this.flushReqParamsBuilder.setPosition(flushLen).build();
+        // Build the parameters for each flush, since the builder accumulates the position parameters
+        List<NameValuePair> flushReqParams = new ADLSGen2ParamsBuilder()
+                .setAction("flush")
+                .setPosition(flushLen)
+                .build();
         http.setContentType("application/json");
 
         return http.executeReqAndCheckStatus(req, null, flushReqParams, Collections.emptyList(), 200)
@@ -9,6 +9,7 @@ import com.microsoft.azure.hdinsight.common.AbfsUri;
 import com.microsoft.azure.hdinsight.common.UriUtil;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azure.hdinsight.sdk.storage.adlsgen2.ADLSGen2ChunkedUploader;
 import com.microsoft.azure.hdinsight.sdk.storage.adlsgen2.ADLSGen2FSOperation;
 import com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine;
 import com.microsoft.azure.hdinsight.spark.jobs.JobUtils;
@@ -21,8 +22,36 @@ import rx.exceptions.Exceptions;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ADLSGen2Deploy implements Deployable, ILogger {
+    /**
+     * The upload of an artifact which isn't flushed yet, whose appended chunks are kept by the uploader.
+     */
+    private static final class PendingUpload {
+        @NotNull
+        private final String filePath;
+        private final long length;
+        private final long lastModified;
+        @NotNull
+        private final ADLSGen2ChunkedUploader uploader;
+
+        private PendingUpload(@NotNull String filePath, @NotNull File src, @NotNull ADLSGen2ChunkedUploader uploader) {
+            this.filePath = filePath;
+            this.length = src.length();
+            this.lastModified = src.lastModified();
+            this.uploader = uploader;
+        }
+
+        private boolean isOf(@NotNull File src) {
+            return src.length() == length && src.lastModified() == lastModified;
+        }
+    }
+
+    // The failed uploads by the destination root path and the artifact path, to be resumed by the next deployment
+    private static final Map<String, PendingUpload> pendingUploads = new ConcurrentHashMap<>();
+
     @NotNull
     public HttpObservable http;
 
@@ -44,9 +73,22 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
         // four steps to upload via adls gen2 rest api
         // 1.put request to create new dir
         // 2.put request to create new file(artifact) which is empty
-        // 3.patch request to append data to file
+        // 3.patch requests to append data chunks to file in parallel
         // 4.patch request to flush data to file
+        // A failed upload of the same artifact is resumed from step 3, keeping the file and the appended chunks
+        return Observable.defer(() -> {
+            final String uploadKey = destinationRootPath + "|" + src.getAbsolutePath();
+            final PendingUpload pending = pendingUploads.get(uploadKey);
+            if (pending != null && pending.isOf(src)) {
+                log().info(String.format("Resume uploading %s to %s.", src, pending.filePath));
+                return upload(uploadKey, pending, logSubject);
+            }
 
+            return createAndUpload(uploadKey, src, logSubject);
+        });
+    }
+
+    private Observable<String> createAndUpload(String uploadKey, File src, Observer<SparkLogLine> logSubject) {
         final URI destURI = getUploadDir();
 
         //remove request / end otherwise invalid url response
@@ -75,9 +117,22 @@ public class ADLSGen2Deploy implements Deployable, ILogger {
                  })
                  .doOnNext(ignore -> log().info(String.format("Create filesystem %s successfully.", dirPath)))
                  .flatMap(ignore -> op.createFile(filePath, "0755"))
-                 .flatMap(ignore -> op.uploadData(filePath, src))
-                 .doOnNext(ignore -> log().info(String.format("Append data to file %s successfully.", filePath)))
-                 .map(ignored -> AbfsUri.parse(filePath).getUri().toString());
+                 .flatMap(ignore -> {
+                     final PendingUpload created =
+                             new PendingUpload(filePath, src, new ADLSGen2ChunkedUploader(op, filePath, src));
+                     pendingUploads.put(uploadKey, created);
+
+                     return upload(uploadKey, created, logSubject);
+                 });
+    }
+
+    private Observable<String> upload(String uploadKey, PendingUpload pending, Observer<SparkLogLine> logSubject) {
+        return pending.uploader.upload(logSubject)
+                .doOnNext(ignore -> {
+                    pendingUploads.remove(uploadKey, pending);
+                    log().info(String.format("Append data to file %s successfully.", pending.filePath));
+                })
+                .map(ignored -> AbfsUri.parse(pending.filePath).getUri().toString());
     }
 
     public static String getForbiddenErrorHints(String fileSystemRootPath) {
@@ -5,7 +5,6 @@
 
 package com.microsoft.azure.hdinsight.spark.common;
 
-import com.gargoylesoftware.htmlunit.Cache;
 import com.microsoft.azure.hdinsight.common.ClusterManagerEx;
 import com.microsoft.azure.hdinsight.common.logger.ILogger;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
@@ -14,6 +13,7 @@ import com.microsoft.azure.hdinsight.sdk.cluster.YarnCluster;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
 import com.microsoft.azure.hdinsight.sdk.common.HttpResponse;
+import com.microsoft.azure.hdinsight.sdk.common.livy.LivyStatePoller;
 import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.App;
 import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.AppAttempt;
@@ -28,7 +28,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import rx.Observable;
 import rx.Observer;
-import rx.Subscriber;
 import rx.subjects.PublishSubject;
 
 import java.io.File;
@@ -131,11 +130,6 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
      */
     private int delaySeconds = 10;
 
-    /**
-     * The global cache for fetched Yarn UI page by browser
-     */
-    private final Cache globalCache = JobUtils.getGlobalCache();
-
     /**
      * The driver log conversion mode
      */
@@ -498,6 +492,13 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                     "please configure Spark cluster which the Spark job will be submitted.");
         }
 
+        // The state fetched by the shared poller recently is good enough
+        final Optional<SparkSubmitResponse> recentStatus = LivyStatePoller.getBatchPoller(getConnectUri())
+                .getRecentState(batchId, LivyStatePoller.MIN_TICK_MS);
+        if (recentStatus.isPresent()) {
+            return recentStatus.get().getState();
+        }
+
         int retries = 0;
 
         do {
@@ -895,43 +896,13 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
                     "please configure Spark cluster which the Spark job will be submitted."));
         }
 
-        return Observable.create((Subscriber<? super SimpleImmutableEntry<String, String>> ob) -> {
-            try {
-                boolean isJobActive;
-                SparkBatchJobState state = SparkBatchJobState.NOT_STARTED;
-                String diagnostics = "";
-
-                do {
-                    final HttpResponse httpResponse = this.getSubmission().getBatchSparkJobStatus(
-                            this.getConnectUri().toString(), batchId);
-
-                    if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
-                        final SparkSubmitResponse jobResp = ObjectConvertUtils.convertJsonToObject(
-                                httpResponse.getMessage(), SparkSubmitResponse.class)
-                                                                              .orElseThrow(() -> new UnknownServiceException(
-                                        "Bad spark job response: " + httpResponse.getMessage()));
-
-                        state = SparkBatchJobState.valueOf(jobResp.getState().toUpperCase());
-                        diagnostics = String.join("\n", jobResp.getLog());
-
-                        isJobActive = !isDone(state.toString());
-                    } else {
-                        isJobActive = false;
-                    }
-
-
-                    // Retry interval
-                    sleep(1000);
-                } while (isJobActive);
-
-                ob.onNext(new SimpleImmutableEntry<>(state.toString(), diagnostics));
-                ob.onCompleted();
-            } catch (final IOException ex) {
-                ob.onError(ex);
-            } catch (final InterruptedException ignored) {
-                ob.onCompleted();
-            }
-        });
+        // Take the last status when the job is done, or gone with the watch completed
+        return watchStatus()
+                .takeUntil(status -> isDone(status.getState()))
+                .map(status -> new SimpleImmutableEntry<>(
+                        SparkBatchJobState.valueOf(status.getState().toUpperCase()).toString(),
+                        String.join("\n", status.getLog())))
+                .lastOrDefault(new SimpleImmutableEntry<>(SparkBatchJobState.NOT_STARTED.toString(), ""));
     }
 
     protected Observable<String> getJobLogAggregationDoneObservable() {
@@ -1162,15 +1133,79 @@ public class SparkBatchJob implements ISparkBatchJob, ILogger {
         });
     }
 
+    /**
+     * Watch the job status (from livy) by the poller shared with other batch jobs of the same Livy endpoint
+     *
+     * @return the Spark job status observable for each polling
+     */
+    @NotNull
+    protected Observable<SparkSubmitResponse> watchStatus() {
+        if (getConnectUri() == null) {
+            return Observable.error(new SparkJobNotConfiguredException("Can't get Spark job connection URI, " +
+                    "please configure Spark cluster which the Spark job will be submitted."));
+        }
+
+        return LivyStatePoller.getBatchPoller(getConnectUri())
+                .watch(getBatchId(), new LivyStatePoller.StateFetcher<SparkSubmitResponse>() {
+                    @Override
+                    public List<SparkSubmitResponse> fetchAll() throws IOException {
+                        final HttpResponse httpResponse = getSubmission().getAllBatchesSparkJobs(String.format(
+                                "%s?from=0&size=%d", getConnectUri(), LivyStatePoller.FETCH_PAGE_SIZE));
+
+                        if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
+                            return ObjectConvertUtils.convertJsonToObject(
+                                    httpResponse.getMessage(), SparkBatchListResponse.class)
+                                    .map(SparkBatchListResponse::getSessions)
+                                    .orElseThrow(() -> new UnknownServiceException(
+                                            "Bad spark batches response: " + httpResponse.getMessage()));
+                        }
+
+                        throw new UnknownServiceException("Failed to get Spark batches: " + httpResponse.getMessage());
+                    }
+
+                    @Nullable
+                    @Override
+                    public SparkSubmitResponse fetchOne() throws IOException {
+                        final HttpResponse httpResponse = getSubmission().getBatchSparkJobStatus(
+                                getConnectUri().toString(), getBatchId());
+
+                        if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
+                            return ObjectConvertUtils.convertJsonToObject(
+                                    httpResponse.getMessage(), SparkSubmitResponse.class)
+                                    .orElseThrow(() -> new UnknownServiceException(
+                                            "Bad spark job response: " + httpResponse.getMessage()));
+                        }
+
+                        // The job is gone, end the watch as the job done
+                        log().warn("Failed to get Spark job status: " + httpResponse.getMessage());
+                        return null;
+                    }
+                });
+    }
+
     @NotNull
     @Override
     public Observable<String> awaitStarted() {
-        return getStatus()
-                .map(status -> new SimpleImmutableEntry<>(status.getState(), String.join("\n", status.getLog())))
-                .retry(getRetriesMax())
-                .repeatWhen(ob -> ob.doOnNext(ignored -> getCtrlSubject().onNext(
-                        new SparkLogLine(TOOL, Info, "The Spark job is starting...")))
-                                    .delay(getDelaySeconds(), TimeUnit.SECONDS))
+        return Observable.defer(() -> {
+            // The shared poller ticks faster for a starting job, report the starting at the delay interval only
+            final long reportIntervalMillis = TimeUnit.SECONDS.toMillis(getDelaySeconds());
+            // Reported at the first starting status
+            final long[] lastReportMillis = { System.currentTimeMillis() - reportIntervalMillis };
+
+            return watchStatus()
+                    .map(status -> new SimpleImmutableEntry<>(status.getState(), String.join("\n", status.getLog())))
+                    .doOnNext(stateLogPair -> {
+                        if (isDone(stateLogPair.getKey()) || isRunning(stateLogPair.getKey())) {
+                            return;
+                        }
+
+                        final long now = System.currentTimeMillis();
+                        if (now - lastReportMillis[0] >= reportIntervalMillis) {
+                            lastReportMillis[0] = now;
+                            getCtrlSubject().onNext(new SparkLogLine(TOOL, Info, "The Spark job is starting..."));
+                        }
+                    });
+        })
                 .takeUntil(stateLogPair -> isDone(stateLogPair.getKey()) || isRunning(stateLogPair.getKey()))
                 .filter(stateLogPair -> isDone(stateLogPair.getKey()) || isRunning(stateLogPair.getKey()))
                 .flatMap(stateLogPair -> {
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The response body of getting Livy batches, for the URI {@code http://<livy base>/batches}
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SparkBatchListResponse {
+    private int from;                           // The start index of the batches fetched
+    private int total;                          // The total number of batches
+    private List<SparkSubmitResponse> sessions; // The batches fetched
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<SparkSubmitResponse> getSessions() {
+        return sessions == null ? Collections.emptyList() : sessions;
+    }
+}
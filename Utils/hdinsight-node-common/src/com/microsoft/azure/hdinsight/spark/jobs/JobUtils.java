@@ -5,11 +5,6 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
-import com.gargoylesoftware.htmlunit.BrowserVersion;
-import com.gargoylesoftware.htmlunit.Cache;
-import com.gargoylesoftware.htmlunit.FailingHttpStatusCodeException;
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.*;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -75,27 +70,20 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Observer;
 import rx.Single;
-import rx.Subscription;
-import rx.schedulers.Schedulers;
 
 import java.awt.*;
 import java.io.*;
 import java.lang.reflect.Type;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.UnknownServiceException;
 import java.util.*;
 import java.util.List;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.microsoft.azure.hdinsight.common.MessageInfoType.Info;
 import static com.microsoft.azure.hdinsight.spark.common.log.SparkLogLine.TOOL;
-import static org.apache.http.HttpHeaders.AUTHORIZATION;
 import static rx.exceptions.Exceptions.propagate;
 
 public class JobUtils {
@@ -195,8 +183,6 @@ public class JobUtils {
         }
     }
 
-    private static final Cache globalCache = new Cache();
-
     private static final String DRIVER_LOG_INFO_URL = "%s/yarnui/jobhistory/logs/%s/port/%s/%s/%s/livy";
 
     public static ApplicationMasterLogs getYarnLogs(@NotNull ApplicationKey key) throws ExecutionException, HDIException {
@@ -242,85 +228,7 @@ public class JobUtils {
                                                       @NotNull String type,
                                                       long start,
                                                       int size) {
-        final WebClient HTTP_WEB_CLIENT = new WebClient(BrowserVersion.CHROME);
-        HTTP_WEB_CLIENT.getOptions().setUseInsecureSSL(HttpObservable.isSSLCertificateValidationDisabled());
-        HTTP_WEB_CLIENT.setCache(globalCache);
-
-        if (authCode != null) {
-            HTTP_WEB_CLIENT.addRequestHeader(AUTHORIZATION, authCode);
-        }
-
-        return getInformationFromYarnLogDom(HTTP_WEB_CLIENT, baseUrl, type, start, size);
-    }
-
-    private static String getInformationFromYarnLogDom(@NotNull WebClient client,
-                                                      @NotNull String baseUrl,
-                                                      @NotNull String type,
-                                                      long start,
-                                                      int size) {
-        URI url = null;
-
-        try {
-            url = new URI(baseUrl + "/").resolve(
-                    String.format("%s?start=%d", type, start) +
-                            (size <= 0 ? "" : String.format("&&end=%d", start + size)));
-            final HtmlPage htmlPage = client.getPage(url.toString());
-
-            final Iterator<DomElement> iterator = htmlPage.getElementById("navcell").getNextElementSibling().getChildElements().iterator();
-
-            final HashMap<String, String> logTypeMap = new HashMap<>();
-            final AtomicReference<String> logType = new AtomicReference<>();
-            String logs = "";
-
-            while (iterator.hasNext()) {
-                final DomElement node = iterator.next();
-
-                if (node instanceof HtmlParagraph) {
-                    // In history server, need to read log type paragraph in page
-                    final Pattern logTypePattern = Pattern.compile("Log Type:\\s+(\\S+)");
-
-                    Optional.ofNullable(node.getFirstChild())
-                            .map(DomNode::getTextContent)
-                            .map(String::trim)
-                            .map(logTypePattern::matcher)
-                            .filter(Matcher::matches)
-                            .map(matcher -> matcher.group(1))
-                            .ifPresent(logType::set);
-                } else if (node instanceof HtmlPreformattedText) {
-                    // In running, no log type paragraph in page
-                    logs = Optional.ofNullable(node.getFirstChild())
-                                .map(DomNode::getTextContent)
-                                .orElse("");
-
-                    if (logType.get() != null) {
-                        // Only get the first <pre>...</pre>
-                        logTypeMap.put(logType.get(), logs);
-
-                        logType.set(null);
-                    }
-                }
-            }
-
-            return logTypeMap.getOrDefault(type, logs);
-        } catch (final FailingHttpStatusCodeException httpError) {
-            // If the URL is wrong, will get 200 response with content:
-            //      Unable to locate 'xxx' log for container
-            //  OR
-            //      Logs not available for <user>. Aggregation may not be complete, Check back later or try the nodemanager at...
-            //  OR
-            //      Cannot get container logs without ...
-            //
-            // if fetching Yarn log hits the gap between the job running and stop, will get the status 403
-            // the log is moving to job history server, just wait and retry.
-            if (httpError.getStatusCode() != HttpStatus.SC_FORBIDDEN) {
-                LOGGER.warn("The GET request to " + url + " responded error: " + httpError.getMessage());
-            }
-        } catch (final URISyntaxException e) {
-            LOGGER.error("baseUrl has syntax error: " + baseUrl);
-        } catch (final Exception e) {
-            LOGGER.warn("get Spark job log Error", e);
-        }
-        return "";
+        return YarnContainerLogReader.getInstance().read(authCode, baseUrl, type, start, size <= 0 ? -1 : start + size);
     }
 
     /**
@@ -338,71 +246,7 @@ public class JobUtils {
                                                              @NotNull final String containerLogUrl,
                                                              @NotNull final String type,
                                                              final int blockSize) {
-        final int retryIntervalMs = 1000;
-
-        if (blockSize <= 0)
-            return Observable.empty();
-
-        return Observable.create((Observable.OnSubscribe<String>) ob -> {
-            long nextStart = 0;
-            String remainedLine = "";
-            String logs;
-            Thread currentThread = Thread.currentThread();
-
-            // Refer to the Observable.window() operation:
-            //    http://reactivex.io/documentation/operators/window.html
-            // The event from `stop` observable will stop the log fetch
-            Optional<Subscription> stopSubscriptionOptional = Optional.ofNullable(stop).map(stopOb ->
-                    stopOb.subscribe(any -> currentThread.interrupt()));
-
-            try {
-                while (!ob.isUnsubscribed()) {
-                    logs = JobUtils.getInformationFromYarnLogDom(
-                            authCode, containerLogUrl, type, nextStart, blockSize);
-                    int lastLineBreak = logs.lastIndexOf('\n');
-
-                    if (lastLineBreak < 0) {
-                        // No linebreak found
-                        if (logs.isEmpty()) {
-                            // Remained line is a full line since the backend producing logs line by line
-                            ob.onNext(remainedLine);
-                            remainedLine = "";
-                        } else {
-                            remainedLine += logs;
-                            nextStart += logs.length();
-                        }
-                    } else {
-                        long handledLength = new BufferedReader(new StringReader(
-                                                remainedLine + logs.substring(0, lastLineBreak)))
-                                .lines()
-                                .map(line -> {
-                                    ob.onNext(line);
-
-                                    // Count the line length with linebreak
-                                    // We need to handle this since the web client may convert the LF to CRLF
-                                    return (line.length() + 1);
-                                })
-                                .reduce(Integer::sum)
-                                .orElse(0);
-
-                        nextStart += handledLength - remainedLine.length();
-                        remainedLine = "";
-                    }
-
-                    Thread.sleep(retryIntervalMs);
-                }
-            } catch (InterruptedException ignore) {
-            } finally {
-                // Get the rest logs from history server
-                // Don't worry about the log is moved to history server, the YarnUI can do URL redirect by itself
-                logs = JobUtils.getInformationFromYarnLogDom(authCode, containerLogUrl, type, nextStart, 0);
-
-                new BufferedReader(new StringReader(remainedLine + logs)).lines().forEach(ob::onNext);
-            }
-
-            ob.onCompleted();
-            stopSubscriptionOptional.ifPresent(Subscription::unsubscribe);
-        }).subscribeOn(Schedulers.io());
+        return YarnLogTailer.getInstance().tail(authCode, stop, containerLogUrl, type, blockSize);
     }
 
     public static HttpEntity getEntity(@NotNull final IClusterDetail clusterDetail, @NotNull final String url) throws IOException, HDIException {
@@ -491,36 +335,30 @@ public class JobUtils {
                                                @Nullable Observer<SparkLogLine> newLogSubject,
                                                @Nullable CallableSingleArg<Void, Long> uploadInProcessCallback) throws Exception {
         if(storageAccount.getAccountType() == StorageAccountType.BLOB) {
-            try (final FileInputStream fileInputStream = new FileInputStream(file)) {
-                try (final BufferedInputStream bufferedInputStream = new BufferedInputStream(fileInputStream)) {
-                    final HDStorageAccount blobStorageAccount = (HDStorageAccount) storageAccount;
-                    final BlobContainer container = getSparkClusterContainer(blobStorageAccount, containerName);
-                    if (container == null) {
-                        throw new IllegalArgumentException("Can't get the valid container.");
-                    }
+            final HDStorageAccount blobStorageAccount = (HDStorageAccount) storageAccount;
+            final BlobContainer container = getSparkClusterContainer(blobStorageAccount, containerName);
+            if (container == null) {
+                throw new IllegalArgumentException("Can't get the valid container.");
+            }
 
-                    final String path = String.format("SparkSubmission/%s/%s", uploadFolderPath, file.getName());
-                    final String uploadedPath = String.format("wasbs://%s@%s/%s", containerName, blobStorageAccount.getFullStorageBlobName(), path);
+            final String path = String.format("SparkSubmission/%s/%s", uploadFolderPath, file.getName());
+            final String uploadedPath = String.format("wasbs://%s@%s/%s", containerName, blobStorageAccount.getFullStorageBlobName(), path);
 
-                    ctrlInfo(legacyLogSubject, newLogSubject,
-                             String.format("Begin uploading file %s to Azure Blob Storage Account %s ...",
-                                           file.getPath(), uploadedPath));
+            ctrlInfo(legacyLogSubject, newLogSubject,
+                     String.format("Begin uploading file %s to Azure Blob Storage Account %s ...",
+                                   file.getPath(), uploadedPath));
 
-                    StorageClientSDKManager.getManager().uploadBlobFileContent(
-                            blobStorageAccount.getConnectionString(),
-                            container,
-                            path,
-                            bufferedInputStream,
-                            uploadInProcessCallback,
-                            1024 * 1024,
-                            file.length());
+            StorageClientSDKManager.getManager().uploadBlobFileContent(
+                    blobStorageAccount.getConnectionString(),
+                    container,
+                    path,
+                    file,
+                    uploadInProcessCallback);
 
-                    ctrlInfo(legacyLogSubject, newLogSubject,
-                             String.format("Submit file to azure blob '%s' successfully.", uploadedPath));
+            ctrlInfo(legacyLogSubject, newLogSubject,
+                     String.format("Submit file to azure blob '%s' successfully.", uploadedPath));
 
-                    return uploadedPath;
-                }
-            }
+            return uploadedPath;
         } else if(storageAccount.getAccountType() == StorageAccountType.ADLS) {
             final String uploadPath = String.format("adl://%s.azuredatalakestore.net%s%s", storageAccount.getName(), storageAccount.getDefaultContainerOrRootPath(), "SparkSubmission");
             ctrlInfo(legacyLogSubject, newLogSubject,
@@ -844,10 +682,6 @@ public class JobUtils {
         });
     }
 
-    public static Cache getGlobalCache() {
-        return globalCache;
-    }
-
     public static AbstractMap.SimpleImmutableEntry<Integer, List<Header>>
     authenticate(IClusterDetail clusterDetail) throws HDIException, IOException {
         final SparkBatchSubmission submission = SparkBatchSubmission.getInstance();
@@ -7,10 +7,15 @@ package com.microsoft.azure.hdinsight.spark.jobs;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.microsoft.azure.hdinsight.common.JobViewManager;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.Application;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.Attempt;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.executor.Executor;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job;
@@ -21,43 +26,80 @@ import com.microsoft.azure.hdinsight.sdk.rest.yarn.rm.ApplicationMasterLogs;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * The caches of the Spark and Yarn application information for the job view.
+ *
+ * The information of finished applications is immutable and kept until evicted by size, while the one of running
+ * applications is reloaded at the next access once it's older than {@link #RUNNING_APP_REFRESH_SECONDS}.
+ * The application list of a cluster is always reloaded by that interval since new applications keep coming.
+ */
 public class JobViewCacheManager {
-    private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Job>>() {
+    public static final long RUNNING_APP_REFRESH_SECONDS = 30;
+    public static final int TASK_LOADING_PARALLELISM = 8;
+
+    private static final ExecutorService taskLoadingExecutor = Executors.newFixedThreadPool(
+            TASK_LOADING_PARALLELISM,
+            new ThreadFactoryBuilder().setNameFormat("spark-task-loader-%d").setDaemon(true).build());
+
+    /**
+     * The loader of application information, which skips reloading once the application is finished.
+     */
+    private abstract static class ApplicationInfoLoader<V> extends CacheLoader<ApplicationKey, V> {
+        protected boolean isImmutable(@NotNull ApplicationKey key, @NotNull V oldValue) {
+            return isApplicationFinished(key);
+        }
+
+        @Override
+        public ListenableFuture<V> reload(ApplicationKey key, V oldValue) throws Exception {
+            return isImmutable(key, oldValue) ? Futures.immediateFuture(oldValue) : super.reload(key, oldValue);
+        }
+    }
+
+    @NotNull
+    private static CacheBuilder<Object, Object> newCacheBuilder() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(100)
+                .initialCapacity(20)
+                .refreshAfterWrite(RUNNING_APP_REFRESH_SECONDS, TimeUnit.SECONDS)
+                .recordStats();
+    }
+
+    private static final LoadingCache<ApplicationKey, List<Job>> sparkJobLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<List<Job>>() {
                 @Override
                 public List<Job> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getLastAttemptJobsFromApp(key);
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, List<Stage>> sparkStageLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Stage>>() {
+    private static final LoadingCache<ApplicationKey, List<Stage>> sparkStageLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<List<Stage>>() {
                 @Override
                 public List<Stage> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllStageFromApp(key);
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Executor>>() {
+    private static final LoadingCache<ApplicationKey, List<Executor>> sparkExecutorLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<List<Executor>>() {
                 @Override
                 public List<Executor> load(ApplicationKey key) throws Exception {
                     return SparkRestUtil.getAllExecutorFromApp(key);
                 }
             });
 
-    private static final LoadingCache<String, List<Application>> sparkApplicationsLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
+    private static final LoadingCache<String, List<Application>> sparkApplicationsLocalCache = newCacheBuilder()
             .build(new CacheLoader<String, List<Application>>() {
                 @Override
                 public List<Application> load(String key) throws Exception {
@@ -65,54 +107,103 @@ public class JobViewCacheManager {
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<Task>>() {
+    private static final LoadingCache<ApplicationKey, List<Task>> sparkTasksSummaryLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<List<Task>>() {
                 @Override
                 public List<Task> load(ApplicationKey key) throws Exception {
-                    List<Task> allTasks = new ArrayList<>();
-                    List<Stage> stages = sparkStageLocalCache.get(key);
-                    for (Stage stage: stages) {
-                        int stageId = stage.getStageId();
-                        int attemptedId = stage.getAttemptId();
-                        List<Task> tasks = SparkRestUtil.getSparkTasks(key, stageId, attemptedId);
-                        allTasks.addAll(tasks);
-                    }
-                    return allTasks;
+                    return loadTasksConcurrently(key, sparkStageLocalCache.get(key));
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, ApplicationMasterLogs>() {
+    private static final LoadingCache<ApplicationKey, ApplicationMasterLogs> yarnAppLogLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<ApplicationMasterLogs>() {
                 @Override
                 public ApplicationMasterLogs load(ApplicationKey key) throws Exception {
                     return JobUtils.getYarnLogs(key);
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, App> yarnApplicationLocalCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, App>() {
+    private static final LoadingCache<ApplicationKey, App> yarnApplicationLocalCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<App>() {
+                @Override
+                protected boolean isImmutable(@NotNull ApplicationKey key, @NotNull App oldValue) {
+                    return oldValue.getState() != null && oldValue.isFinished();
+                }
+
                 @Override
                 public App load(ApplicationKey key) throws Exception {
                     return YarnRestUtil.getApp(key);
                 }
             });
 
-    private static final LoadingCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = CacheBuilder.newBuilder()
-            .maximumSize(100)
-            .initialCapacity(20)
-            .build(new CacheLoader<ApplicationKey, List<JobStartEventLog>>() {
+    private static final LoadingCache<ApplicationKey, List<JobStartEventLog>> sparkJobStartEventLogCache = newCacheBuilder()
+            .build(new ApplicationInfoLoader<List<JobStartEventLog>>() {
                 @Override
                 public List<JobStartEventLog> load(ApplicationKey key) throws Exception {
-                    return SparkRestUtil.getSparkEventLogs(key);
+                    try {
+                        return SparkRestUtil.getSparkEventLogs(key).toList().toBlocking().single();
+                    } catch (RuntimeException ex) {
+                        // The checked exceptions are wrapped by the blocking observable
+                        throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+                    }
                 }
             });
 
+    /**
+     * Fetch the task lists of stages on the bounded executor concurrently, keeping the stage order in the result.
+     */
+    private static List<Task> loadTasksConcurrently(@NotNull ApplicationKey key,
+                                                    @NotNull List<Stage> stages) throws Exception {
+        final List<CompletableFuture<List<Task>>> stageTasks = stages.stream()
+                .map(stage -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return SparkRestUtil.getSparkTasks(key, stage.getStageId(), stage.getAttemptId());
+                    } catch (Exception ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, taskLoadingExecutor))
+                .collect(Collectors.toList());
+
+        final List<Task> allTasks = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Task>> tasks : stageTasks) {
+                allTasks.addAll(tasks.join());
+            }
+        } catch (CompletionException ex) {
+            stageTasks.forEach(tasks -> tasks.cancel(false));
+
+            throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+        }
+
+        return allTasks;
+    }
+
+    /**
+     * Check whether the application is finished with the cached information only, no request is sent.
+     */
+    private static boolean isApplicationFinished(@NotNull ApplicationKey key) {
+        final App yarnApp = yarnApplicationLocalCache.getIfPresent(key);
+        if (yarnApp != null && yarnApp.getState() != null && yarnApp.isFinished()) {
+            return true;
+        }
+
+        final List<Application> apps = sparkApplicationsLocalCache.getIfPresent(key.getClusterDetails().getName());
+        if (apps == null) {
+            return false;
+        }
+
+        return apps.stream()
+                .filter(app -> app.getId().equalsIgnoreCase(key.getAppId()))
+                .findFirst()
+                .map(app -> !app.getAttempts().isEmpty()
+                        && app.getAttempts().stream().allMatch(JobViewCacheManager::isAttemptCompleted))
+                .orElse(false);
+    }
+
+    private static boolean isAttemptCompleted(@NotNull Attempt attempt) {
+        return Boolean.parseBoolean(attempt.getCompleted());
+    }
+
     public static List<JobStartEventLog> getJobStartEventLogs(@NotNull ApplicationKey key) throws ExecutionException {
         return sparkJobStartEventLogCache.get(key);
     }
@@ -154,4 +245,24 @@ public class JobViewCacheManager {
     public static List<Stage> getStages(@NotNull ApplicationKey key) throws ExecutionException {
         return sparkStageLocalCache.get(key);
     }
+
+    /**
+     * Get the hit, miss and load time statistics of all caches, keyed by the cache name.
+     *
+     * @return the statistics snapshot
+     */
+    @NotNull
+    public static Map<String, CacheStats> getCacheStats() {
+        final Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("sparkApplications", sparkApplicationsLocalCache.stats());
+        stats.put("sparkJobs", sparkJobLocalCache.stats());
+        stats.put("sparkStages", sparkStageLocalCache.stats());
+        stats.put("sparkTasks", sparkTasksSummaryLocalCache.stats());
+        stats.put("sparkExecutors", sparkExecutorLocalCache.stats());
+        stats.put("sparkJobStartEventLogs", sparkJobStartEventLogCache.stats());
+        stats.put("yarnApplications", yarnApplicationLocalCache.stats());
+        stats.put("yarnLogs", yarnAppLogLocalCache.stats());
+
+        return stats;
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azure.hdinsight.sdk.rest.ObjectConvertUtils;
+import com.microsoft.azure.hdinsight.sdk.rest.spark.event.JobStartEventLog;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The streaming Spark event log parser to pick out the {@code SparkListenerJobStart} events.
+ *
+ * The event log is a JSON object per line, which could be gigabytes for long running applications. The parser reads
+ * the log stream by bytes, decides whether a line is a job start event by its leading bytes (Spark always writes the
+ * {@code Event} field first), and skips the rest bytes of the other lines without buffering them. Only the job start
+ * lines are buffered and deserialized.
+ */
+public class SparkEventLogParser implements Iterator<JobStartEventLog> {
+    public static final String JOB_START_EVENT = "SparkListenerJobStart";
+
+    private static final byte[] EVENT_FIELD_PREFIX = "{\"Event\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JOB_START_EVENT_PREFIX =
+            ("{\"Event\":\"" + JOB_START_EVENT + "\"").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JOB_START_EVENT_VALUE = ("\"" + JOB_START_EVENT + "\"").getBytes(StandardCharsets.UTF_8);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 8 * 1024;
+
+    private enum LineState {
+        // Not enough bytes to decide
+        PENDING,
+        // A job start event line, or a line in unknown format to check with the whole line
+        BUFFERING,
+        // Not a job start event line, skip bytes till the line end
+        SKIPPING
+    }
+
+    @NotNull
+    private final InputStream eventLog;
+    @NotNull
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private int readPosition = 0;
+    private int readLimit = 0;
+
+    @NotNull
+    private byte[] line = new byte[INITIAL_LINE_BUFFER_SIZE];
+    private int lineLength = 0;
+    @NotNull
+    private LineState lineState = LineState.PENDING;
+
+    @Nullable
+    private JobStartEventLog next = null;
+    private boolean eof = false;
+
+    /**
+     * Create the parser on the event log stream, which is read lazily by iterating and isn't closed by the parser.
+     *
+     * @param eventLog the Spark event log stream
+     */
+    public SparkEventLogParser(@NotNull InputStream eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && !eof) {
+                next = readNextJobStartEvent();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public JobStartEventLog next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final JobStartEventLog event = next;
+        next = null;
+
+        return event;
+    }
+
+    @Nullable
+    private JobStartEventLog readNextJobStartEvent() throws IOException {
+        while (true) {
+            if (readPosition >= readLimit) {
+                readLimit = eventLog.read(readBuffer);
+                readPosition = 0;
+
+                if (readLimit < 0) {
+                    eof = true;
+                    readLimit = 0;
+
+                    // The last line without line break
+                    return completeLine();
+                }
+            }
+
+            final int lineEnd = indexOfLineBreak(readBuffer, readPosition, readLimit);
+            final int chunkEnd = lineEnd < 0 ? readLimit : lineEnd;
+
+            if (lineState != LineState.SKIPPING) {
+                appendToLine(readBuffer, readPosition, chunkEnd - readPosition);
+                checkLinePrefix();
+            }
+
+            if (lineEnd < 0) {
+                readPosition = readLimit;
+                continue;
+            }
+
+            readPosition = lineEnd + 1;
+            final JobStartEventLog event = completeLine();
+
+            if (event != null) {
+                return event;
+            }
+        }
+    }
+
+    private void checkLinePrefix() {
+        if (lineState != LineState.PENDING) {
+            return;
+        }
+
+        final int matched = matchedPrefixLength(line, lineLength, JOB_START_EVENT_PREFIX);
+
+        if (matched == JOB_START_EVENT_PREFIX.length) {
+            lineState = LineState.BUFFERING;
+        } else if (matched < lineLength) {
+            // Diverged after the Event field name is another event in Spark standard format, otherwise the line is
+            // in unknown format, such as pretty printed JSON, which is checked with the whole line
+            lineState = matched >= EVENT_FIELD_PREFIX.length ? LineState.SKIPPING : LineState.BUFFERING;
+        }
+    }
+
+    @Nullable
+    private JobStartEventLog completeLine() {
+        try {
+            if (lineState == LineState.SKIPPING || lineLength == 0) {
+                return null;
+            }
+
+            // The PENDING state is for a short line, which is checked the same as a line in unknown format
+            if (indexOf(line, lineLength, JOB_START_EVENT_VALUE) < 0) {
+                return null;
+            }
+
+            final JobStartEventLog event =
+                    ObjectConvertUtils.convertToObjectQuietly(line, 0, lineLength, JobStartEventLog.class);
+
+            return event != null && JOB_START_EVENT.equalsIgnoreCase(event.getEvent()) ? event : null;
+        } finally {
+            lineLength = 0;
+            lineState = LineState.PENDING;
+        }
+    }
+
+    private void appendToLine(@NotNull byte[] bytes, int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+
+        System.arraycopy(bytes, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private static int indexOfLineBreak(@NotNull byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int matchedPrefixLength(@NotNull byte[] bytes, int length, @NotNull byte[] prefix) {
+        final int end = Math.min(length, prefix.length);
+
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] != prefix[i]) {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    private static int indexOf(@NotNull byte[] bytes, int length, @NotNull byte[] target) {
+        outer:
+        for (int i = 0; i <= length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+}
@@ -5,7 +5,6 @@
 
 package com.microsoft.azure.hdinsight.spark.jobs;
 
-import com.microsoft.azure.hdinsight.common.HDInsightLoader;
 import com.microsoft.azure.hdinsight.sdk.cluster.IClusterDetail;
 import com.microsoft.azure.hdinsight.sdk.common.HDIException;
 import com.microsoft.azure.hdinsight.sdk.rest.AttemptWithAppId;
@@ -18,21 +17,18 @@ import com.microsoft.azure.hdinsight.sdk.rest.spark.job.Job;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.stage.Stage;
 import com.microsoft.azure.hdinsight.sdk.rest.spark.task.Task;
 import com.microsoft.azuretools.azurecommons.helpers.NotNull;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
-import org.json.JSONObject;
+import rx.Observable;
 
-
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.Charset;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 public class SparkRestUtil {
     public static final String SPARK_REST_API_ENDPOINT = "%s/sparkhistory/api/v1/applications/%s";
@@ -83,39 +79,60 @@ public class SparkRestUtil {
         return tasks.orElse(RestUtil.getEmptyList(Task.class));
     }
 
-    public static List<JobStartEventLog> getSparkEventLogs(@NotNull ApplicationKey key) throws HDIException, IOException {
-        String url = String.format("%s/logs", key.getAppId());
-        String eventLogsPath = String.format("%s/SparkEventLogs/%s/eventLogs.zip", HDInsightLoader.getHDInsightHelper().getPluginRootPath(), key.getAppId());
-        File file = new File(eventLogsPath);
-        HttpEntity entity = getSparkRestEntity(key.getClusterDetails(), url);
-        InputStream inputStream = entity.getContent();
-        FileUtils.copyInputStreamToFile(inputStream, file);
-        IOUtils.closeQuietly(inputStream);
-
-        ZipFile zipFile = new ZipFile(file);
-        List<? extends ZipEntry> entities =  Collections.list(zipFile.entries());
-        // every application has an attempt in event log
-        // and the entity name should be in formation "{appId}_{attemptId}"
-        String entityName = String.format("%s_%s", key.getAppId(), entities.size());
-        ZipEntry lastEntity = zipFile.getEntry(entityName);
-        if (lastEntity == null) {
-            throw new HDIException(String.format("No Spark event log entity found for app: %s", key.getAppId()));
+    /**
+     * Get the job start events of the last attempt from the Spark event logs zip, emitted while they are parsed.
+     *
+     * The zip is read from the HTTP response stream directly once subscribed, and the event log entry of the last
+     * attempt is parsed on the fly with backpressure, so neither the zip nor the event log is held in disk or memory.
+     */
+    @NotNull
+    public static Observable<JobStartEventLog> getSparkEventLogs(@NotNull ApplicationKey key) {
+        return Observable.defer(() -> {
+            // every application has an attempt in event log
+            // and the entity name should be in formation "{appId}_{attemptId}"
+            final String lastAttemptEntryName;
+            final InputStream eventLogsZip;
+            try {
+                final AttemptWithAppId lastAttempt = getLastAttemptFromLocalCache(key);
+                if (lastAttempt == null) {
+                    throw new HDIException(String.format("No Spark attempt found for app: %s", key.getAppId()));
+                }
+
+                lastAttemptEntryName = String.format("%s_%s", key.getAppId(), lastAttempt.getAttemptId());
+                eventLogsZip = getSparkRestEntity(key.getClusterDetails(), String.format("%s/logs", key.getAppId()))
+                        .getContent();
+            } catch (Exception ex) {
+                return Observable.error(ex);
+            }
+
+            return Observable.using(
+                    () -> new ZipInputStream(eventLogsZip),
+                    zipInputStream -> parseEventLogEntry(key, zipInputStream, lastAttemptEntryName),
+                    IOUtils::closeQuietly);
+        });
+    }
+
+    @NotNull
+    private static Observable<JobStartEventLog> parseEventLogEntry(@NotNull ApplicationKey key,
+                                                                   @NotNull ZipInputStream zipInputStream,
+                                                                   @NotNull String entryName) {
+        try {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                if (zipEntry.getName().equals(entryName)) {
+                    final Iterable<JobStartEventLog> jobStartEvents = () -> new SparkEventLogParser(zipInputStream);
+
+                    return Observable.from(jobStartEvents)
+                            .onErrorResumeNext(err -> Observable.error(
+                                    err instanceof UncheckedIOException ? err.getCause() : err));
+                }
+            }
+        } catch (IOException ex) {
+            return Observable.error(ex);
         }
-        InputStream zipFileInputStream = zipFile.getInputStream(lastEntity);
-        String entityContent = IOUtils.toString(zipFileInputStream, Charset.forName("utf-8"));
-
-        String[] lines = entityContent.split("\n");
-        List<JobStartEventLog> jobStartEvents = Arrays.stream(lines)
-                .filter(line -> {
-                    JSONObject jsonObject = new JSONObject(line);
-                    String eventName = jsonObject.getString("Event");
-                    return eventName.equalsIgnoreCase("SparkListenerJobStart");
-                    })
-                .map(oneLine -> ObjectConvertUtils.convertToObjectQuietly(oneLine, JobStartEventLog.class))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
 
-        return jobStartEvents;
+        return Observable.error(
+                new HDIException(String.format("No Spark event log entity found for app: %s", key.getAppId())));
     }
 
     private static AttemptWithAppId getLastAttemptFromLocalCache(@NotNull ApplicationKey key) throws ExecutionException, HDIException {
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azure.hdinsight.sdk.common.HttpObservable;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Yarn container log reader to fetch logs from YarnUI container log pages (NodeManager for running containers
+ * and job history server for finished ones).
+ *
+ * The page is fetched by the pooled HTTP client of {@link HttpObservable} and parsed from the response stream by a
+ * plain HTML parser, rather than rendered by a browser emulator.
+ */
+public class YarnContainerLogReader implements ILogger {
+    private static final Pattern LOG_TYPE_PATTERN = Pattern.compile("Log Type:\\s+(\\S+)");
+
+    private static final class LazyHolder {
+        static final YarnContainerLogReader INSTANCE = new YarnContainerLogReader();
+    }
+
+    public static YarnContainerLogReader getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    @NotNull
+    private final HttpObservable http;
+
+    public YarnContainerLogReader() {
+        this(new HttpObservable());
+    }
+
+    public YarnContainerLogReader(@NotNull HttpObservable http) {
+        this.http = http;
+    }
+
+    /**
+     * Read the log of the container in byte range [start, end).
+     *
+     * @param authCode the authCode in request's Authorization header
+     * @param baseUrl the container log base URL
+     * @param type the log type, such as stderr, stdout and directory.info
+     * @param start the start offset of the log
+     * @param end the end offset (exclusive) of the log, the negative value to read to the end
+     * @return the log read, empty string for any failures
+     */
+    @NotNull
+    public String read(@Nullable String authCode,
+                       @NotNull String baseUrl,
+                       @NotNull String type,
+                       long start,
+                       long end) {
+        URI url = null;
+
+        try {
+            url = new URI(baseUrl + "/").resolve(
+                    String.format("%s?start=%d", type, start) + (end < 0 ? "" : String.format("&&end=%d", end)));
+
+            final HttpGet request = new HttpGet(url);
+            request.setConfig(http.getDefaultRequestConfig());
+            Optional.ofNullable(http.getUserAgent())
+                    .ifPresent(userAgent -> request.setHeader(HttpHeaders.USER_AGENT, userAgent));
+
+            if (authCode != null) {
+                request.setHeader(HttpHeaders.AUTHORIZATION, authCode);
+            }
+
+            // Each request has its own context to keep the cookies from leaking between clusters
+            try (CloseableHttpResponse response = http.getHttpClient().execute(request, HttpClientContext.create())) {
+                final int statusCode = response.getStatusLine().getStatusCode();
+
+                if (statusCode >= HttpStatus.SC_MULTIPLE_CHOICES) {
+                    // If the URL is wrong, will get 200 response with content:
+                    //      Unable to locate 'xxx' log for container
+                    //  OR
+                    //      Logs not available for <user>. Aggregation may not be complete, Check back later or try the nodemanager at...
+                    //  OR
+                    //      Cannot get container logs without ...
+                    //
+                    // if fetching Yarn log hits the gap between the job running and stop, will get the status 403
+                    // the log is moving to job history server, just wait and retry.
+                    if (statusCode != HttpStatus.SC_FORBIDDEN) {
+                        log().warn("The GET request to " + url + " responded error: " + response.getStatusLine());
+                    }
+
+                    return "";
+                }
+
+                final HttpEntity entity = response.getEntity();
+                if (entity == null) {
+                    return "";
+                }
+
+                final Charset charset = ContentType.getOrDefault(entity).getCharset();
+
+                try (InputStream content = entity.getContent()) {
+                    final Document page = Jsoup.parse(content, charset == null ? null : charset.name(), url.toString());
+
+                    return parseLogs(page, type);
+                }
+            }
+        } catch (final URISyntaxException e) {
+            log().error("baseUrl has syntax error: " + baseUrl);
+        } catch (final IOException e) {
+            log().warn("get Spark job log Error", e);
+        }
+
+        return "";
+    }
+
+    /**
+     * Extract the log of the specified type from the YarnUI container log page.
+     *
+     * In running, there is no log type paragraph in the page, the content of the last {@code <pre>} is the log.
+     * In history server, the log type paragraph is followed by the {@code <pre>} of that type.
+     *
+     * @param page the YarnUI container log page
+     * @param type the log type
+     * @return the log extracted, empty string if the page isn't a container log page
+     */
+    @NotNull
+    static String parseLogs(@NotNull Document page, @NotNull String type) {
+        final Element navCell = page.getElementById("navcell");
+        final Element contentCell = navCell == null ? null : navCell.nextElementSibling();
+
+        if (contentCell == null) {
+            return "";
+        }
+
+        final Map<String, String> logTypeMap = new HashMap<>();
+        String logType = null;
+        String logs = "";
+
+        for (final Element node : contentCell.children()) {
+            if (node.tagName().equals("p")) {
+                // In history server, need to read log type paragraph in page
+                final Matcher matcher = LOG_TYPE_PATTERN.matcher(getFirstChildText(node).trim());
+
+                if (matcher.matches()) {
+                    logType = matcher.group(1);
+                }
+            } else if (node.tagName().equals("pre")) {
+                // In running, no log type paragraph in page
+                logs = getFirstChildText(node);
+
+                if (logType != null) {
+                    // Only get the first <pre>...</pre>
+                    logTypeMap.put(logType, logs);
+
+                    logType = null;
+                }
+            }
+        }
+
+        return logTypeMap.getOrDefault(type, logs);
+    }
+
+    @NotNull
+    private static String getFirstChildText(@NotNull Element element) {
+        if (element.childNodeSize() == 0) {
+            return "";
+        }
+
+        final Node firstChild = element.childNode(0);
+
+        if (firstChild instanceof TextNode) {
+            return ((TextNode) firstChild).getWholeText();
+        } else if (firstChild instanceof Element) {
+            return ((Element) firstChild).wholeText();
+        }
+
+        return "";
+    }
+}
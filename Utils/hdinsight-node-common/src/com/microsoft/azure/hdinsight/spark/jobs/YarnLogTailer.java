@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.hdinsight.spark.jobs;
+
+import com.microsoft.azure.hdinsight.common.logger.ILogger;
+import com.microsoft.azuretools.azurecommons.helpers.NotNull;
+import com.microsoft.azuretools.azurecommons.helpers.Nullable;
+import rx.Observable;
+import rx.Producer;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.subscriptions.Subscriptions;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Yarn container log tailing engine.
+ *
+ * All tailed logs share a small scheduler, no thread is parked between two polls of a log. Each log is polled
+ * adaptively: the interval is reset to the minimum one when new logs are flowing, and doubled up to the maximum one
+ * when the log is idle. The polling only happens when the downstream has requested lines, so a slow consumer
+ * pauses the fetching rather than buffering the whole log in memory.
+ */
+public class YarnLogTailer implements ILogger {
+    public static final long DEFAULT_MIN_INTERVAL_MS = 250;
+    public static final long DEFAULT_MAX_INTERVAL_MS = 8000;
+    public static final int DEFAULT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final class LazyHolder {
+        static final YarnLogTailer INSTANCE = new YarnLogTailer(
+                YarnContainerLogReader.getInstance(),
+                Schedulers.from(createDaemonScheduledExecutor(DEFAULT_THREADS)),
+                DEFAULT_MIN_INTERVAL_MS,
+                DEFAULT_MAX_INTERVAL_MS);
+    }
+
+    public static YarnLogTailer getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    @NotNull
+    private static ScheduledExecutorService createDaemonScheduledExecutor(int threads) {
+        final AtomicInteger threadIndex = new AtomicInteger();
+
+        return Executors.newScheduledThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "yarn-log-tailer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @NotNull
+    private final YarnContainerLogReader reader;
+    @NotNull
+    private final Scheduler scheduler;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+
+    public YarnLogTailer(@NotNull YarnContainerLogReader reader,
+                         @NotNull Scheduler scheduler,
+                         long minIntervalMs,
+                         long maxIntervalMs) {
+        this.reader = reader;
+        this.scheduler = scheduler;
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+    }
+
+    /**
+     * Tail the specified Yarn container log type by lines.
+     *
+     * An empty fetch flushes the pending incomplete line as a full line, since the backend produces logs line by
+     * line, and the flushed line is empty if there is no pending line. After the stop event, the rest logs are
+     * fetched from the history server and emitted before completion.
+     *
+     * @param authCode the authCode in request's Authorization header
+     * @param stop the stop observable to cancel the log tailing, refer to Observable.window() operation
+     * @param containerLogUrl the container log url
+     * @param type the log type
+     * @param blockSize the block size for one fetch
+     * @return the log lines Observable
+     */
+    @NotNull
+    public Observable<String> tail(@Nullable final String authCode,
+                                   @Nullable final Observable<Object> stop,
+                                   @NotNull final String containerLogUrl,
+                                   @NotNull final String type,
+                                   final int blockSize) {
+        if (blockSize <= 0) {
+            return Observable.empty();
+        }
+
+        return Observable.unsafeCreate(child -> {
+            final LogTail tail = new LogTail(child, scheduler.createWorker(), authCode, containerLogUrl, type, blockSize);
+            final Subscription stopSubscription = stop == null
+                    ? Subscriptions.unsubscribed()
+                    : stop.subscribe(any -> tail.stop(), err -> tail.stop(), tail::stop);
+
+            child.add(Subscriptions.create(() -> {
+                stopSubscription.unsubscribe();
+                tail.worker.unsubscribe();
+            }));
+            child.setProducer(tail);
+        });
+    }
+
+    private final class LogTail implements Producer {
+        @NotNull
+        private final Subscriber<? super String> child;
+        @NotNull
+        private final Scheduler.Worker worker;
+        @Nullable
+        private final String authCode;
+        @NotNull
+        private final String containerLogUrl;
+        @NotNull
+        private final String type;
+        private final int blockSize;
+
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean stopping = false;
+
+        // The following states are only accessed in the worker, which runs actions sequentially
+        @NotNull
+        private final Queue<String> lines = new ArrayDeque<>();
+        @NotNull
+        private final StringBuilder remainedLine = new StringBuilder();
+        private long nextStart = 0;
+        private long intervalMs = minIntervalMs;
+        private long nextPollAt = 0;
+        private boolean pollScheduled = false;
+        private boolean finished = false;
+
+        private LogTail(@NotNull Subscriber<? super String> child,
+                        @NotNull Scheduler.Worker worker,
+                        @Nullable String authCode,
+                        @NotNull String containerLogUrl,
+                        @NotNull String type,
+                        int blockSize) {
+            this.child = child;
+            this.worker = worker;
+            this.authCode = authCode;
+            this.containerLogUrl = containerLogUrl;
+            this.type = type;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!requested.compareAndSet(current, next));
+
+            worker.schedule(this::drain);
+        }
+
+        private void stop() {
+            stopping = true;
+            worker.schedule(this::drain);
+        }
+
+        private void drain() {
+            while (!child.isUnsubscribed()) {
+                emitLines();
+
+                if (!lines.isEmpty()) {
+                    // Wait for the downstream requesting more
+                    return;
+                }
+
+                if (finished) {
+                    child.onCompleted();
+                    worker.unsubscribe();
+                    return;
+                }
+
+                if (requested.get() == 0) {
+                    // No polling without the downstream demand
+                    return;
+                }
+
+                if (stopping) {
+                    fetchRest();
+                    continue;
+                }
+
+                final long delayMs = nextPollAt - worker.now();
+                if (delayMs > 0) {
+                    if (!pollScheduled) {
+                        pollScheduled = true;
+                        worker.schedule(() -> {
+                            pollScheduled = false;
+                            drain();
+                        }, delayMs, TimeUnit.MILLISECONDS);
+                    }
+
+                    return;
+                }
+
+                final int fetchedLength = fetchNext();
+
+                // Speed up when the logs are flowing, poll again at once if the block is full, otherwise back off
+                if (fetchedLength >= blockSize) {
+                    intervalMs = minIntervalMs;
+                    nextPollAt = worker.now();
+                } else {
+                    intervalMs = fetchedLength > 0 ? minIntervalMs : Math.min(intervalMs * 2, maxIntervalMs);
+                    nextPollAt = worker.now() + intervalMs;
+                }
+            }
+        }
+
+        private void emitLines() {
+            while (!lines.isEmpty() && requested.get() > 0 && !child.isUnsubscribed()) {
+                child.onNext(lines.poll());
+                requested.decrementAndGet();
+            }
+        }
+
+        private int fetchNext() {
+            final String logs = reader.read(authCode, containerLogUrl, type, nextStart, nextStart + blockSize);
+            final int lastLineBreak = logs.lastIndexOf('\n');
+
+            if (lastLineBreak < 0) {
+                // No linebreak found
+                if (logs.isEmpty()) {
+                    // Remained line is a full line since the backend producing logs line by line
+                    lines.add(remainedLine.toString());
+                    remainedLine.setLength(0);
+                } else {
+                    remainedLine.append(logs);
+                    nextStart += logs.length();
+                }
+            } else {
+                // The chars after the last linebreak are fetched again in the next poll
+                frameLines(logs, lastLineBreak);
+                flushRemainedLine();
+                nextStart += lastLineBreak + 1;
+            }
+
+            return logs.length();
+        }
+
+        private void fetchRest() {
+            // Get the rest logs from history server
+            // Don't worry about the log is moved to history server, the YarnUI can do URL redirect by itself
+            final String logs = reader.read(authCode, containerLogUrl, type, nextStart, -1);
+
+            frameLines(logs, logs.length());
+            flushRemainedLine();
+
+            finished = true;
+        }
+
+        /**
+         * Split logs[0, end) into lines with the reusable remained line buffer, the first line is prefixed by the
+         * remained line, and the chars after the last linebreak are kept as the remained line.
+         */
+        private void frameLines(@NotNull String logs, int end) {
+            int lineStart = 0;
+
+            for (int i = 0; i < end; i++) {
+                final char c = logs.charAt(i);
+
+                if (c == '\n' || c == '\r') {
+                    remainedLine.append(logs, lineStart, i);
+                    lines.add(remainedLine.toString());
+                    remainedLine.setLength(0);
+
+                    if (c == '\r' && i + 1 < end && logs.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+
+                    lineStart = i + 1;
+                }
+            }
+
+            remainedLine.append(logs, lineStart, end);
+        }
+
+        private void flushRemainedLine() {
+            if (remainedLine.length() > 0) {
+                lines.add(remainedLine.toString());
+                remainedLine.setLength(0);
+            }
+        }
+    }
+}